@@ -0,0 +1,58 @@
+package com.github.marchenkoprojects.prettyjdbc.benchmark;
+
+import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding of commands to a batch and its execution.
+ * Each invocation is rolled back so the table does not grow during the measurement,
+ * therefore the result includes the cost of the rollback.
+ *
+ * @author Oleg Marchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchExecutionBenchmark {
+
+    @Param({"10", "100"})
+    private int batchSize;
+
+    private Connection connection;
+    private Query query;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.create("batch_execution_benchmark_" + batchSize, 0);
+        connection.setAutoCommit(false);
+
+        query = new Query(connection.prepareStatement("INSERT INTO films VALUES (?, ?, ?)"));
+    }
+
+    @Benchmark
+    public int[] executeBatch() throws SQLException {
+        for (int id = 1; id <= batchSize; id++) {
+            query
+                    .setParameter(1, id)
+                    .setParameter(2, "The Hobbit: An Unexpected Journey")
+                    .setParameter(3, (short) 2012)
+                    .addBatch();
+        }
+        int[] updateCounts = query.executeBatch();
+        connection.rollback();
+        return updateCounts;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        query.close();
+        BenchmarkDatabase.destroy(connection);
+    }
+}
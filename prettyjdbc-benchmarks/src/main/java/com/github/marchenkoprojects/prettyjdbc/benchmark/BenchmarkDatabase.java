@@ -0,0 +1,68 @@
+package com.github.marchenkoprojects.prettyjdbc.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * This class creates in-memory HSQLDB databases with the table of films for benchmarks.
+ * Each benchmark state uses its own database, so states of different benchmarks do not affect each other.
+ *
+ * @author Oleg Marchenko
+ */
+final class BenchmarkDatabase {
+    private static final String URL_PREFIX = "jdbc:hsqldb:mem:";
+    private static final String USER = "SA";
+    private static final String PASSWORD = "";
+
+    /**
+     * Creates the database with the table of films and opens a connection to it.
+     *
+     * @param name unique name of the database
+     * @param rowCount number of rows inserted into the table
+     * @return connection to the created database
+     * @throws SQLException if a database access error occurs
+     */
+    static Connection create(String name, int rowCount) throws SQLException {
+        Connection connection = DriverManager.getConnection(URL_PREFIX + name, USER, PASSWORD);
+        try(Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE TABLE films(" +
+                            "id INTEGER NOT NULL PRIMARY KEY, " +
+                            "original_name CHARACTER VARYING(120), " +
+                            "year SMALLINT)");
+        }
+        if (rowCount == 0) return connection;
+
+        try(PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO films VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= rowCount; id++) {
+                preparedStatement.setInt(1, id);
+                preparedStatement.setString(2, "The Lord of the Rings: Part " + id);
+                preparedStatement.setShort(3, (short) (2000 + id % 20));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+        return connection;
+    }
+
+    /**
+     * Drops the database and closes the connection to it.
+     *
+     * @param connection connection to the database
+     * @throws SQLException if a database access error occurs
+     */
+    static void destroy(Connection connection) throws SQLException {
+        try(Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        finally {
+            connection.close();
+        }
+    }
+
+    private BenchmarkDatabase() {
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.marchenkoprojects.prettyjdbc.benchmark;
+
+import com.github.marchenkoprojects.prettyjdbc.query.NamedParameterQuery;
+import com.github.marchenkoprojects.prettyjdbc.util.ParsedQuery;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binding of named parameters to a prepared statement.
+ * The query is not executed, so the result reflects the cost of resolving parameter names
+ * and delegating values to the driver.
+ *
+ * @author Oleg Marchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedParameterQueryBenchmark {
+    private Connection connection;
+    private NamedParameterQuery query;
+    private int id;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.create("named_parameter_query_benchmark", 0);
+
+        ParsedQuery parsedQuery = ParsedQuery.parse(
+                "SELECT id, original_name, year FROM films " +
+                        "WHERE year BETWEEN :fromYear AND :toYear AND original_name LIKE :name AND id <> :id");
+        query = new NamedParameterQuery(connection.prepareStatement(parsedQuery.getNativeQuery()), parsedQuery);
+    }
+
+    @Benchmark
+    public NamedParameterQuery setParameters() {
+        return query
+                .setParameter("fromYear", 2001)
+                .setParameter("toYear", 2003)
+                .setParameter("name", "The Lord of the Rings%")
+                .setParameter("id", ++id);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        query.close();
+        BenchmarkDatabase.destroy(connection);
+    }
+}
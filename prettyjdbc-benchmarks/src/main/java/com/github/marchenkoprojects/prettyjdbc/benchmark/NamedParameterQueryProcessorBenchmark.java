@@ -0,0 +1,46 @@
+package com.github.marchenkoprojects.prettyjdbc.benchmark;
+
+import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures processing of SQL queries with named parameters into their native form.
+ * The processing is performed once for each query that is missing in the query cache of a session factory.
+ *
+ * @author Oleg Marchenko
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedParameterQueryProcessorBenchmark {
+
+    @Param({"SHORT", "LONG"})
+    private QueryLength queryLength;
+
+    @Benchmark
+    public String process() {
+        NamedParameterQueryProcessor processor = new NamedParameterQueryProcessor(queryLength.query);
+        processor.process();
+        return processor.getNativeQuery();
+    }
+
+    public enum QueryLength {
+        SHORT("SELECT id, original_name, year FROM films WHERE id = :id"),
+        LONG("SELECT f.id, f.original_name, f.year FROM films f " +
+                "WHERE f.year BETWEEN :fromYear AND :toYear " +
+                "AND (f.original_name LIKE :name OR f.original_name = 'The Hobbit: An Unexpected Journey') " +
+                "AND f.id NOT IN (:excludedId, :excludedId) " +
+                "ORDER BY f.year DESC, f.original_name LIMIT :limit OFFSET :offset");
+
+        private final String query;
+
+        QueryLength(String query) {
+            this.query = query;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.marchenkoprojects.prettyjdbc.benchmark;
+
+import com.github.marchenkoprojects.prettyjdbc.benchmark.model.Film;
+import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import com.github.marchenkoprojects.prettyjdbc.query.TypedQuery;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ReadOnlyScrollableResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures execution of queries and reading of their results:
+ * caching of the whole result in {@link com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.CachedScrollableResult}
+ * and mapping of rows to objects by the automatically created result mapper.
+ * Statements are prepared once, so the cost of preparation is not included.
+ *
+ * @author Oleg Marchenko
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryExecutionBenchmark {
+    private static final String SELECT_FILMS = "SELECT id, original_name, year FROM films";
+
+    @Param({"10", "1000"})
+    private int rowCount;
+
+    private Connection connection;
+    private Query query;
+    private TypedQuery<Film> typedQuery;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.create("query_execution_benchmark_" + rowCount, rowCount);
+
+        query = new Query(connection.prepareStatement(SELECT_FILMS));
+        typedQuery = new TypedQuery<>(connection.prepareStatement(SELECT_FILMS), Film.class);
+    }
+
+    @Benchmark
+    public ReadOnlyScrollableResult execute() {
+        return query.execute();
+    }
+
+    @Benchmark
+    public List<Film> list() {
+        return typedQuery.list();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        query.close();
+        typedQuery.close();
+        BenchmarkDatabase.destroy(connection);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.marchenkoprojects.prettyjdbc.processor;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * This internal class describes a writable property of the annotated type which is filled from a single column.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultMapperProcessor
+ */
+final class MappedProperty {
+
+    private final String name;
+    private final String normalizedName;
+    private final TypeMirror type;
+    private final String setterName;
+
+    MappedProperty(String name, String normalizedName, TypeMirror type, String setterName) {
+        this.name = name;
+        this.normalizedName = normalizedName;
+        this.type = type;
+        this.setterName = setterName;
+    }
+
+    /**
+     * Returns the name of this property which is used as the prefix of the column index field.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the name in the form used for matching with column labels: without underscores and in lower case.
+     */
+    String getNormalizedName() {
+        return normalizedName;
+    }
+
+    TypeMirror getType() {
+        return type;
+    }
+
+    /**
+     * Returns the name of the setter or <code>null</code>, if the value is assigned to the field directly.
+     */
+    String getSetterName() {
+        return setterName;
+    }
+
+    String getColumnFieldName() {
+        return name + "Column";
+    }
+}
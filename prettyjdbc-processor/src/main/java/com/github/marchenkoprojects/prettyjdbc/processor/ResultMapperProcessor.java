@@ -0,0 +1,237 @@
+package com.github.marchenkoprojects.prettyjdbc.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This annotation processor generates implementations of <code>ResultMapper</code>
+ * for types annotated with <code>@GenerateResultMapper</code>.
+ * <br>
+ * For the type <code>com.example.Film</code> the class <code>com.example.Film_ResultMapper</code> is generated.
+ * It resolves the column indexes by labels only once in the constructor and then fills the properties
+ * by direct calls of setters or field assignments, so no reflection is used at runtime.
+ * The generated classes are found by the library by their names, no additional registration is required.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultMapperSourceWriter
+ */
+public class ResultMapperProcessor extends AbstractProcessor {
+    static final String ANNOTATION_NAME = "com.github.marchenkoprojects.prettyjdbc.mapper.GenerateResultMapper";
+    static final String GENERATED_CLASS_SUFFIX = "_ResultMapper";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION_NAME);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation: annotations) {
+            for (Element element: roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (checkMappableType(element)) {
+                    generateResultMapper((TypeElement) element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean checkMappableType(Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return error(element, "@GenerateResultMapper can only be applied to a class");
+        }
+
+        TypeElement type = (TypeElement) element;
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            return error(type, "Class annotated with @GenerateResultMapper must not be abstract");
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return error(type, "Class annotated with @GenerateResultMapper must not be private");
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+            return error(type, "Nested class annotated with @GenerateResultMapper must be static");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return error(type, "Class annotated with @GenerateResultMapper must not be generic");
+        }
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return error(type, "Local class cannot be annotated with @GenerateResultMapper");
+        }
+
+        for (ExecutableElement constructor: ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return error(type, "Class annotated with @GenerateResultMapper must have a non-private default constructor");
+    }
+
+    private void generateResultMapper(TypeElement type) {
+        List<MappedProperty> properties = new ArrayList<>(findProperties(type).values());
+        if (properties.isEmpty()) {
+            error(type, "Class annotated with @GenerateResultMapper has no writable properties");
+            return;
+        }
+
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = getGeneratedClassName(type);
+        String qualifiedClassName = packageName.isEmpty() ? className : packageName + '.' + className;
+
+        ResultMapperSourceWriter sourceWriter = new ResultMapperSourceWriter(
+                packageName, className, type, properties, findGeneratedAnnotation(), types);
+        try {
+            JavaFileObject sourceFile = filer.createSourceFile(qualifiedClassName, type);
+            try (Writer writer = sourceFile.openWriter()) {
+                sourceWriter.write(writer);
+            }
+        }
+        catch (IOException e) {
+            error(type, "Failed to generate " + qualifiedClassName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds writable properties of the type by their normalized names.
+     * Setters take precedence over fields, members inaccessible from the package of the type are skipped.
+     */
+    private Map<String, MappedProperty> findProperties(TypeElement type) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        DeclaredType declaredType = (DeclaredType) type.asType();
+        List<? extends Element> members = elements.getAllMembers(type);
+
+        Map<String, MappedProperty> properties = new LinkedHashMap<>();
+        for (ExecutableElement method: ElementFilter.methodsIn(members)) {
+            String methodName = method.getSimpleName().toString();
+            if (methodName.length() > 3 && methodName.startsWith("set") && method.getParameters().size() == 1
+                    && isAccessible(method, packageElement)) {
+                String name = decapitalize(methodName.substring(3));
+                String normalizedName = normalizeName(name);
+                if (!properties.containsKey(normalizedName)) {
+                    // Type variables of generic superclasses are resolved to the actual type arguments.
+                    ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+                    properties.put(normalizedName,
+                            new MappedProperty(name, normalizedName, methodType.getParameterTypes().get(0), methodName));
+                }
+            }
+        }
+        for (VariableElement field: ElementFilter.fieldsIn(members)) {
+            String name = field.getSimpleName().toString();
+            String normalizedName = normalizeName(name);
+            if (!properties.containsKey(normalizedName) && !field.getModifiers().contains(Modifier.FINAL)
+                    && isAccessible(field, packageElement)) {
+                properties.put(normalizedName, new MappedProperty(name, normalizedName, types.asMemberOf(declaredType, field), null));
+            }
+        }
+        return properties;
+    }
+
+    private boolean isAccessible(Element member, PackageElement packageElement) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) return false;
+        if (modifiers.contains(Modifier.PUBLIC)) return true;
+
+        return elements.getPackageOf(member).equals(packageElement);
+    }
+
+    private TypeElement findGeneratedAnnotation() {
+        TypeElement generatedAnnotation = elements.getTypeElement("javax.annotation.processing.Generated");
+        if (generatedAnnotation == null) {
+            generatedAnnotation = elements.getTypeElement("javax.annotation.Generated");
+        }
+        return generatedAnnotation;
+    }
+
+    private boolean error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    /**
+     * Returns the simple name of the generated class: names of enclosing types are joined with underscores
+     * and the suffix <code>_ResultMapper</code> is appended.
+     */
+    static String getGeneratedClassName(TypeElement type) {
+        StringBuilder className = new StringBuilder(type.getSimpleName());
+        for (Element enclosing = type.getEnclosingElement(); enclosing.getKind() != ElementKind.PACKAGE;
+             enclosing = enclosing.getEnclosingElement()) {
+            className.insert(0, '_').insert(0, enclosing.getSimpleName());
+        }
+        return className.append(GENERATED_CLASS_SUFFIX).toString();
+    }
+
+    /**
+     * Normalizes the property name the same way as the library does with column labels.
+     */
+    static String normalizeName(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,276 @@
+package com.github.marchenkoprojects.prettyjdbc.processor;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This internal class writes the source code of the result mapper generated for the annotated type.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultMapperProcessor
+ */
+final class ResultMapperSourceWriter {
+    private static final String RESULT_MAPPER_NAME = "com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper";
+    private static final String BEAN_PROPERTY_NAME = "com.github.marchenkoprojects.prettyjdbc.util.BeanProperty";
+
+    private final String packageName;
+    private final String className;
+    private final TypeElement type;
+    private final List<MappedProperty> properties;
+    private final TypeElement generatedAnnotation;
+    private final Types types;
+    private boolean uncheckedCasts;
+
+    ResultMapperSourceWriter(String packageName, String className, TypeElement type, List<MappedProperty> properties,
+                             TypeElement generatedAnnotation, Types types) {
+        this.packageName = packageName;
+        this.className = className;
+        this.type = type;
+        this.properties = properties;
+        this.generatedAnnotation = generatedAnnotation;
+        this.types = types;
+    }
+
+    /**
+     * Writes the source code of the generated class.
+     *
+     * @param writer the writer of the source file
+     * @throws IOException if an I/O error occurs
+     */
+    void write(Writer writer) throws IOException {
+        String typeName = type.getQualifiedName().toString();
+
+        // The body is written first because it determines whether unchecked casts must be suppressed.
+        StringBuilder mapBody = new StringBuilder(2048);
+        writeMapBody(mapBody, typeName);
+
+        StringBuilder out = new StringBuilder(4096);
+        if (!packageName.isEmpty()) {
+            line(out, 0, "package " + packageName + ";");
+            line(out, 0, "");
+        }
+        if (generatedAnnotation != null) {
+            line(out, 0, "@" + generatedAnnotation.getQualifiedName() + "(\"" + ResultMapperProcessor.class.getName() + "\")");
+        }
+        line(out, 0, "public final class " + className + " implements " + RESULT_MAPPER_NAME + "<" + typeName + "> {");
+        line(out, 0, "");
+        for (MappedProperty property: properties) {
+            line(out, 1, "private final int " + property.getColumnFieldName() + ";");
+        }
+        line(out, 0, "");
+        writeConstructor(out);
+        line(out, 0, "");
+        line(out, 1, "@Override");
+        if (uncheckedCasts) {
+            line(out, 1, "@SuppressWarnings(\"unchecked\")");
+        }
+        line(out, 1, "public " + typeName + " map(java.sql.ResultSet resultSet) throws java.sql.SQLException {");
+        out.append(mapBody);
+        line(out, 1, "}");
+        line(out, 0, "}");
+
+        writer.write(out.toString());
+    }
+
+    /**
+     * Writes the constructor which resolves the column indexes by labels. The first column with a matching label wins.
+     */
+    private void writeConstructor(StringBuilder out) {
+        line(out, 1, "public " + className + "(java.lang.String[] columnLabels) {");
+        for (MappedProperty property: properties) {
+            line(out, 2, "int " + property.getColumnFieldName() + " = 0;");
+        }
+        line(out, 2, "for (int i = columnLabels.length; i > 0; i--) {");
+        line(out, 3, "switch (" + BEAN_PROPERTY_NAME + ".normalizeName(columnLabels[i - 1])) {");
+        for (MappedProperty property: properties) {
+            line(out, 4, "case \"" + property.getNormalizedName() + "\":");
+            line(out, 5, property.getColumnFieldName() + " = i;");
+            line(out, 5, "break;");
+        }
+        line(out, 3, "}");
+        line(out, 2, "}");
+
+        StringBuilder noMatchCondition = new StringBuilder();
+        for (MappedProperty property: properties) {
+            if (noMatchCondition.length() > 0) {
+                noMatchCondition.append(" && ");
+            }
+            noMatchCondition.append(property.getColumnFieldName()).append(" == 0");
+        }
+        line(out, 2, "if (" + noMatchCondition + ") {");
+        line(out, 3, "throw new java.lang.IllegalStateException(\"Result mapper for type '" + type.getSimpleName() + "' not found: \" +");
+        line(out, 5, "\"no columns \" + java.util.Arrays.toString(columnLabels) + \" match its properties\");");
+        line(out, 2, "}");
+        for (MappedProperty property: properties) {
+            line(out, 2, "this." + property.getColumnFieldName() + " = " + property.getColumnFieldName() + ";");
+        }
+        line(out, 1, "}");
+    }
+
+    private void writeMapBody(StringBuilder out, String typeName) {
+        line(out, 2, typeName + " bean = new " + typeName + "();");
+        for (MappedProperty property: properties) {
+            line(out, 2, "if (" + property.getColumnFieldName() + " > 0) {");
+            writePropertyAssignment(out, property);
+            line(out, 2, "}");
+        }
+        line(out, 2, "return bean;");
+    }
+
+    private void writePropertyAssignment(StringBuilder out, MappedProperty property) {
+        String column = property.getColumnFieldName();
+        TypeMirror propertyType = property.getType();
+        TypeKind kind = propertyType.getKind();
+
+        if (kind == TypeKind.CHAR) {
+            line(out, 3, "java.lang.String value = resultSet.getString(" + column + ");");
+            line(out, 3, "if (value != null && !value.isEmpty()) {");
+            line(out, 4, assignment(property, "value.charAt(0)"));
+            line(out, 3, "}");
+            return;
+        }
+        if (kind.isPrimitive()) {
+            line(out, 3, propertyType + " value = resultSet." + primitiveGetter(kind) + "(" + column + ");");
+            line(out, 3, "if (!resultSet.wasNull()) {");
+            line(out, 4, assignment(property, "value"));
+            line(out, 3, "}");
+            return;
+        }
+        if (kind == TypeKind.ARRAY && ((ArrayType) propertyType).getComponentType().getKind() == TypeKind.BYTE) {
+            line(out, 3, assignment(property, "resultSet.getBytes(" + column + ")"));
+            return;
+        }
+        if (kind != TypeKind.DECLARED) {
+            writeObjectAssignment(out, property);
+            return;
+        }
+
+        TypeElement propertyElement = (TypeElement) ((DeclaredType) propertyType).asElement();
+        String propertyTypeName = propertyElement.getQualifiedName().toString();
+        if (propertyElement.getKind() == ElementKind.ENUM) {
+            line(out, 3, "java.lang.String value = resultSet.getString(" + column + ");");
+            line(out, 3, assignment(property, "value == null ? null : " + propertyTypeName + ".valueOf(value)"));
+            return;
+        }
+
+        switch (propertyTypeName) {
+            case "java.lang.Boolean":
+                writeBoxedAssignment(out, property, TypeKind.BOOLEAN);
+                break;
+            case "java.lang.Byte":
+                writeBoxedAssignment(out, property, TypeKind.BYTE);
+                break;
+            case "java.lang.Short":
+                writeBoxedAssignment(out, property, TypeKind.SHORT);
+                break;
+            case "java.lang.Integer":
+                writeBoxedAssignment(out, property, TypeKind.INT);
+                break;
+            case "java.lang.Long":
+                writeBoxedAssignment(out, property, TypeKind.LONG);
+                break;
+            case "java.lang.Float":
+                writeBoxedAssignment(out, property, TypeKind.FLOAT);
+                break;
+            case "java.lang.Double":
+                writeBoxedAssignment(out, property, TypeKind.DOUBLE);
+                break;
+            case "java.lang.Character":
+                line(out, 3, "java.lang.String value = resultSet.getString(" + column + ");");
+                line(out, 3, assignment(property, "value == null || value.isEmpty() ? null : value.charAt(0)"));
+                break;
+            case "java.lang.String":
+                line(out, 3, assignment(property, "resultSet.getString(" + column + ")"));
+                break;
+            case "java.math.BigDecimal":
+                line(out, 3, assignment(property, "resultSet.getBigDecimal(" + column + ")"));
+                break;
+            case "java.sql.Date":
+                line(out, 3, assignment(property, "resultSet.getDate(" + column + ")"));
+                break;
+            case "java.sql.Time":
+                line(out, 3, assignment(property, "resultSet.getTime(" + column + ")"));
+                break;
+            case "java.sql.Timestamp":
+                line(out, 3, assignment(property, "resultSet.getTimestamp(" + column + ")"));
+                break;
+            case "java.time.LocalDate":
+                line(out, 3, "java.sql.Date value = resultSet.getDate(" + column + ");");
+                line(out, 3, assignment(property, "value == null ? null : value.toLocalDate()"));
+                break;
+            case "java.time.LocalTime":
+                line(out, 3, "java.sql.Time value = resultSet.getTime(" + column + ");");
+                line(out, 3, assignment(property, "value == null ? null : value.toLocalTime()"));
+                break;
+            case "java.time.LocalDateTime":
+                line(out, 3, "java.sql.Timestamp value = resultSet.getTimestamp(" + column + ");");
+                line(out, 3, assignment(property, "value == null ? null : value.toLocalDateTime()"));
+                break;
+            default:
+                writeObjectAssignment(out, property);
+        }
+    }
+
+    private void writeBoxedAssignment(StringBuilder out, MappedProperty property, TypeKind primitiveKind) {
+        String primitiveName = primitiveKind.name().toLowerCase(Locale.ROOT);
+        line(out, 3, primitiveName + " value = resultSet." + primitiveGetter(primitiveKind) + "(" + property.getColumnFieldName() + ");");
+        line(out, 3, assignment(property, "resultSet.wasNull() ? null : value"));
+    }
+
+    private void writeObjectAssignment(StringBuilder out, MappedProperty property) {
+        TypeMirror erasure = types.erasure(property.getType());
+        String getObject = "resultSet.getObject(" + property.getColumnFieldName() + ", " + erasure + ".class)";
+        if (types.isSameType(erasure, property.getType())) {
+            line(out, 3, assignment(property, getObject));
+        }
+        else {
+            uncheckedCasts = true;
+            line(out, 3, assignment(property, "(" + property.getType() + ") " + getObject));
+        }
+    }
+
+    private static String assignment(MappedProperty property, String value) {
+        if (property.getSetterName() != null) {
+            return "bean." + property.getSetterName() + "(" + value + ");";
+        }
+        return "bean." + property.getName() + " = " + value + ";";
+    }
+
+    private static String primitiveGetter(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "getBoolean";
+            case BYTE:
+                return "getByte";
+            case SHORT:
+                return "getShort";
+            case INT:
+                return "getInt";
+            case LONG:
+                return "getLong";
+            case FLOAT:
+                return "getFloat";
+            case DOUBLE:
+                return "getDouble";
+            default:
+                throw new IllegalArgumentException("Unsupported primitive type: " + kind);
+        }
+    }
+
+    private static void line(StringBuilder out, int indent, String text) {
+        for (int i = 0; i < indent; i++) {
+            out.append("    ");
+        }
+        out.append(text).append('\n');
+    }
+}
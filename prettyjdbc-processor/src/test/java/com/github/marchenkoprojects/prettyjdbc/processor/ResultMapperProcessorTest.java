@@ -0,0 +1,136 @@
+package com.github.marchenkoprojects.prettyjdbc.processor;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+import com.github.marchenkoprojects.prettyjdbc.mapper.bean.BeanResultMapperFactory;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class ResultMapperProcessorTest {
+
+    private static final String FILM_SOURCE =
+            "package com.example;\n" +
+            "\n" +
+            "import com.github.marchenkoprojects.prettyjdbc.mapper.GenerateResultMapper;\n" +
+            "\n" +
+            "@GenerateResultMapper\n" +
+            "public class Film {\n" +
+            "    private int id;\n" +
+            "    private String originalName;\n" +
+            "    private Integer year;\n" +
+            "    java.time.LocalDate releaseDate;\n" +
+            "\n" +
+            "    public int getId() { return id; }\n" +
+            "    public void setId(int id) { this.id = id; }\n" +
+            "    public String getOriginalName() { return originalName; }\n" +
+            "    public void setOriginalName(String originalName) { this.originalName = originalName; }\n" +
+            "    public Integer getYear() { return year; }\n" +
+            "    public void setYear(Integer year) { this.year = year; }\n" +
+            "    public java.time.LocalDate getReleaseDate() { return releaseDate; }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratedResultMapper() throws Exception {
+        File outputDirectory = temporaryFolder.newFolder();
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(outputDirectory, "com.example.Film", FILM_SOURCE);
+        Assert.assertTrue(diagnostics.getDiagnostics().toString(), diagnostics.getDiagnostics().stream()
+                .noneMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR));
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getInt(1)).thenReturn(7);
+        Mockito.when(resultSet.getString(2)).thenReturn("The Matrix");
+        Mockito.when(resultSet.getInt(3)).thenReturn(1999);
+        Mockito.when(resultSet.getDate(4)).thenReturn(Date.valueOf("1999-03-31"));
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] {outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> filmClass = classLoader.loadClass("com.example.Film");
+            Class<?> mapperClass = classLoader.loadClass("com.example.Film_ResultMapper");
+            ResultMapper<Object> resultMapper = (ResultMapper<Object>) mapperClass
+                    .getConstructor(String[].class)
+                    .newInstance((Object) new String[] {"ID", "ORIGINAL_NAME", "year", "release_date", "unknown"});
+
+            Object film = resultMapper.map(resultSet);
+            Assert.assertEquals(filmClass.getMethod("getId").invoke(film), 7);
+            Assert.assertEquals(filmClass.getMethod("getOriginalName").invoke(film), "The Matrix");
+            Assert.assertEquals(filmClass.getMethod("getYear").invoke(film), 1999);
+            Assert.assertEquals(filmClass.getMethod("getReleaseDate").invoke(film), LocalDate.of(1999, 3, 31));
+
+            ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+            Mockito.when(metaData.getColumnCount()).thenReturn(1);
+            Mockito.when(metaData.getColumnLabel(1)).thenReturn("id");
+            Assert.assertEquals(BeanResultMapperFactory.getResultMapper(filmClass, metaData).getClass(), mapperClass);
+        }
+    }
+
+    @Test
+    public void testAbstractClassIsRejected() throws Exception {
+        String source =
+                "package com.example;\n" +
+                "\n" +
+                "@com.github.marchenkoprojects.prettyjdbc.mapper.GenerateResultMapper\n" +
+                "public abstract class AbstractFilm {\n" +
+                "    private int id;\n" +
+                "    public void setId(int id) { this.id = id; }\n" +
+                "}\n";
+
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(temporaryFolder.newFolder(), "com.example.AbstractFilm", source);
+        Assert.assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR));
+    }
+
+    private static DiagnosticCollector<JavaFileObject> compile(File outputDirectory, String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        List<String> options = Arrays.asList(
+                "-d", outputDirectory.getPath(),
+                "-classpath", System.getProperty("java.class.path"));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+                Collections.singletonList(new SourceFile(className, source)));
+        task.setProcessors(Collections.singletonList(new ResultMapperProcessor()));
+        task.call();
+        return diagnostics;
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
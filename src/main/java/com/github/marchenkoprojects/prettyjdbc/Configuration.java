@@ -0,0 +1,385 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.query.QueryListener;
+import com.github.marchenkoprojects.prettyjdbc.session.ConnectionReleaseMode;
+import com.github.marchenkoprojects.prettyjdbc.session.RepeatedQueryMode;
+import com.github.marchenkoprojects.prettyjdbc.util.DefaultExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * This class contains settings of a {@link SessionFactory} and the sessions created by it.
+ * The configuration is copied when the session factory is created,
+ * so subsequent changes do not affect already created factories.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see SessionFactory#create(DataSourceSupplier, Configuration)
+ */
+public class Configuration {
+    /**
+     * Default maximum number of processed SQL queries with named parameters that are cached by a session factory.
+     */
+    public static final int DEFAULT_QUERY_CACHE_SIZE = 256;
+
+    private int queryCacheSize = DEFAULT_QUERY_CACHE_SIZE;
+    private int statementCacheSize;
+    private boolean lazyConnectionAcquisition;
+    private ConnectionReleaseMode connectionReleaseMode = ConnectionReleaseMode.ON_CLOSE;
+    private Executor executor;
+    private int fetchSize;
+    private long maxRows;
+    private int maxAdaptiveFetchSize;
+    private long slowQueryThreshold;
+    private int repeatedQueryLimit;
+    private RepeatedQueryMode repeatedQueryMode = RepeatedQueryMode.WARN;
+    private final List<QueryListener> queryListeners = new ArrayList<>(2);
+
+    public Configuration() {
+    }
+
+    public Configuration(Configuration configuration) {
+        if (configuration == null) {
+            throw new NullPointerException("Configuration is null");
+        }
+        this.queryCacheSize = configuration.queryCacheSize;
+        this.statementCacheSize = configuration.statementCacheSize;
+        this.lazyConnectionAcquisition = configuration.lazyConnectionAcquisition;
+        this.connectionReleaseMode = configuration.connectionReleaseMode;
+        this.executor = configuration.executor;
+        this.fetchSize = configuration.fetchSize;
+        this.maxRows = configuration.maxRows;
+        this.maxAdaptiveFetchSize = configuration.maxAdaptiveFetchSize;
+        this.slowQueryThreshold = configuration.slowQueryThreshold;
+        this.repeatedQueryLimit = configuration.repeatedQueryLimit;
+        this.repeatedQueryMode = configuration.repeatedQueryMode;
+        this.queryListeners.addAll(configuration.queryListeners);
+    }
+
+    /**
+     * Returns the maximum number of processed SQL queries with named parameters that are cached by a session factory.
+     *
+     * @return the maximum size of query cache
+     */
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of processed SQL queries with named parameters that are cached by a session factory.
+     * When the maximum size is reached then the least recently used query will be evicted.
+     *
+     * @param queryCacheSize the maximum size of query cache, <code>0</code> disables caching
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public Configuration setQueryCacheSize(int queryCacheSize) {
+        if (queryCacheSize < 0) {
+            throw new IllegalArgumentException("Query cache size is negative");
+        }
+        this.queryCacheSize = queryCacheSize;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of prepared statements that are cached within a single session.
+     *
+     * @return the maximum size of statement cache
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of prepared statements that are cached within a single session.
+     * When a query is closed, its statement is returned to the cache and reused by the next query with the same SQL
+     * created in the session; queries used at the same time always have their own statements.
+     * When the maximum size is reached then the least recently used statement will be closed and evicted.
+     * <br>
+     * By default the statement cache is disabled.
+     *
+     * @param statementCacheSize the maximum size of statement cache, <code>0</code> disables caching
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public Configuration setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size is negative");
+        }
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Returns <code>true</code> if sessions acquire connections lazily.
+     *
+     * @return <code>true</code> if lazy connection acquisition is enabled
+     */
+    public boolean isLazyConnectionAcquisition() {
+        return lazyConnectionAcquisition;
+    }
+
+    /**
+     * Enables or disables lazy connection acquisition by sessions.
+     * A lazy session borrows a connection from the data source only when the first query or transaction is created.
+     * Thus sessions that never access the database do not hold connections at all.
+     * <br>
+     * By default a connection is acquired when the session is opened.
+     *
+     * @param lazyConnectionAcquisition <code>true</code> to acquire connections lazily
+     * @return instance of this configuration
+     * @see #setConnectionReleaseMode(ConnectionReleaseMode)
+     */
+    public Configuration setLazyConnectionAcquisition(boolean lazyConnectionAcquisition) {
+        this.lazyConnectionAcquisition = lazyConnectionAcquisition;
+        return this;
+    }
+
+    /**
+     * Returns the mode in which sessions return their connections back to the data source.
+     *
+     * @return the connection release mode
+     */
+    public ConnectionReleaseMode getConnectionReleaseMode() {
+        return connectionReleaseMode;
+    }
+
+    /**
+     * Sets the mode in which sessions return their connections back to the data source.
+     * <br>
+     * By default a connection is held until the session is closed ({@link ConnectionReleaseMode#ON_CLOSE}).
+     *
+     * @param connectionReleaseMode the connection release mode
+     * @return instance of this configuration
+     */
+    public Configuration setConnectionReleaseMode(ConnectionReleaseMode connectionReleaseMode) {
+        if (connectionReleaseMode == null) {
+            throw new NullPointerException("Connection release mode is null");
+        }
+        this.connectionReleaseMode = connectionReleaseMode;
+        return this;
+    }
+
+    /**
+     * Returns the executor of asynchronous query operations.
+     *
+     * @return the configured executor or the {@link DefaultExecutor} if it is not set
+     */
+    public Executor getExecutor() {
+        return executor != null ? executor : DefaultExecutor.get();
+    }
+
+    /**
+     * Sets the executor of asynchronous query operations, such as {@link com.github.marchenkoprojects.prettyjdbc.query.Query#executeAsync()}.
+     * Database operations block the executing thread, so the executor should not be shared with non-blocking tasks.
+     * <br>
+     * By default the operations are executed by the {@link DefaultExecutor}.
+     *
+     * @param executor the executor of asynchronous operations
+     * @return instance of this configuration
+     */
+    public Configuration setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("Executor is null");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Returns the default number of rows that queries fetch from the database at a time.
+     *
+     * @return the default fetch size or <code>0</code> if the default value of the driver is used
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the default number of rows that queries fetch from the database at a time.
+     * It can be overridden for a single query by the method {@link com.github.marchenkoprojects.prettyjdbc.query.Query#setFetchSize(int)}.
+     * <br>
+     * By default the value of the driver is used.
+     *
+     * @param fetchSize the default fetch size, <code>0</code> to use the value of the driver
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the fetch size is negative
+     */
+    public Configuration setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size is negative");
+        }
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Returns the default limit of the number of rows that the results of queries can contain.
+     *
+     * @return the default maximum number of rows or <code>0</code> if there is no limit
+     */
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Sets the default limit of the number of rows that the results of queries can contain.
+     * It can be overridden for a single query by the method {@link com.github.marchenkoprojects.prettyjdbc.query.Query#setMaxRows(long)}.
+     * <br>
+     * By default the number of rows is not limited.
+     *
+     * @param maxRows the default maximum number of rows, <code>0</code> for no limit
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the maximum number of rows is negative
+     */
+    public Configuration setMaxRows(long maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("Max rows is negative");
+        }
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    /**
+     * Returns the default maximum fetch size of the adaptive fetch size of queries.
+     *
+     * @return the default maximum fetch size or <code>0</code> if the adaptive fetch size is disabled
+     */
+    public int getMaxAdaptiveFetchSize() {
+        return maxAdaptiveFetchSize;
+    }
+
+    /**
+     * Enables the adaptive fetch size of queries by default.
+     * It can be overridden for a single query by the method
+     * {@link com.github.marchenkoprojects.prettyjdbc.query.Query#setMaxAdaptiveFetchSize(int)}.
+     * <br>
+     * By default the adaptive fetch size is disabled.
+     *
+     * @param maxAdaptiveFetchSize the default maximum fetch size, <code>0</code> disables the adaptive fetch size
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the maximum fetch size is negative
+     */
+    public Configuration setMaxAdaptiveFetchSize(int maxAdaptiveFetchSize) {
+        if (maxAdaptiveFetchSize < 0) {
+            throw new IllegalArgumentException("Max adaptive fetch size is negative");
+        }
+        this.maxAdaptiveFetchSize = maxAdaptiveFetchSize;
+        return this;
+    }
+
+    /**
+     * Returns the time after which the execution of a query is logged as slow.
+     *
+     * @return the slow query threshold in milliseconds or <code>0</code> if logging is disabled
+     */
+    public long getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    /**
+     * Sets the time after which the execution of a query is logged as slow.
+     * The record is logged at the level <code>WARNING</code> by the logger
+     * <code>com.github.marchenkoprojects.prettyjdbc.query.SlowQueryLog</code> and contains the native SQL,
+     * the values of parameters, the number of rows and the code which executed the query.
+     * It can be overridden for a single query by the method
+     * {@link com.github.marchenkoprojects.prettyjdbc.query.Query#setSlowQueryThreshold(long)}.
+     * <br>
+     * By default logging is disabled because the values of parameters are captured while it is enabled.
+     *
+     * @param slowQueryThreshold the slow query threshold in milliseconds, <code>0</code> disables logging
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public Configuration setSlowQueryThreshold(long slowQueryThreshold) {
+        if (slowQueryThreshold < 0) {
+            throw new IllegalArgumentException("Slow query threshold is negative");
+        }
+        this.slowQueryThreshold = slowQueryThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of executions of the same query within a session or a transaction.
+     *
+     * @return the repeated query limit or <code>0</code> if detection is disabled
+     */
+    public int getRepeatedQueryLimit() {
+        return repeatedQueryLimit;
+    }
+
+    /**
+     * Enables detection of the N+1 problem: sessions count executions of queries by their normalized SQL
+     * (literals replaced by <code>?</code>) and report the queries executed more times than the limit
+     * according to the {@link #setRepeatedQueryMode(RepeatedQueryMode) repeated query mode}.
+     * The executions are counted within a transaction or, without transactions, within the whole session;
+     * batches are not counted.
+     * <br>
+     * By default detection is disabled because it is intended for diagnostics and tests.
+     *
+     * @param repeatedQueryLimit the maximum number of executions of the same query, <code>0</code> disables detection
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public Configuration setRepeatedQueryLimit(int repeatedQueryLimit) {
+        if (repeatedQueryLimit < 0) {
+            throw new IllegalArgumentException("Repeated query limit is negative");
+        }
+        this.repeatedQueryLimit = repeatedQueryLimit;
+        return this;
+    }
+
+    /**
+     * Returns the mode in which sessions report the queries executed more times than the repeated query limit.
+     *
+     * @return the repeated query mode
+     */
+    public RepeatedQueryMode getRepeatedQueryMode() {
+        return repeatedQueryMode;
+    }
+
+    /**
+     * Sets the mode in which sessions report the queries executed more times than the repeated query limit.
+     * <br>
+     * By default a warning is logged ({@link RepeatedQueryMode#WARN}).
+     *
+     * @param repeatedQueryMode the repeated query mode
+     * @return instance of this configuration
+     * @see #setRepeatedQueryLimit(int)
+     */
+    public Configuration setRepeatedQueryMode(RepeatedQueryMode repeatedQueryMode) {
+        if (repeatedQueryMode == null) {
+            throw new NullPointerException("Repeated query mode is null");
+        }
+        this.repeatedQueryMode = repeatedQueryMode;
+        return this;
+    }
+
+    /**
+     * Returns the listeners of the execution of queries in the order of registration.
+     *
+     * @return unmodifiable list of query listeners
+     */
+    public List<QueryListener> getQueryListeners() {
+        return Collections.unmodifiableList(queryListeners);
+    }
+
+    /**
+     * Registers the listener of the execution of queries created by sessions of the session factory,
+     * e.g. {@link com.github.marchenkoprojects.prettyjdbc.metrics.QueryMetrics} to collect latency histograms.
+     * Listeners are notified in the order of registration.
+     *
+     * @param queryListener the query listener
+     * @return instance of this configuration
+     */
+    public Configuration addQueryListener(QueryListener queryListener) {
+        if (queryListener == null) {
+            throw new NullPointerException("Query listener is null");
+        }
+        this.queryListeners.add(queryListener);
+        return this;
+    }
+}
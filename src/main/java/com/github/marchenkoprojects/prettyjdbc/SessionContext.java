@@ -0,0 +1,97 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.session.SessionWorkWithResult;
+
+/**
+ * This internal class holds the current session of the executing thread.
+ * A session is either bound to the thread explicitly until it is unbound
+ * or bound within the scope of a work ({@link SessionContext#callInScope(Session, SessionWorkWithResult)}).
+ * The scoped session takes precedence over the explicitly bound one.
+ * <br>
+ * This implementation is based on {@link ThreadLocal}. The multi-release jar contains the implementation
+ * for Java 25 and later where the scoped session is based on <code>java.lang.ScopedValue</code>,
+ * which is cheap for virtual threads and cannot leak to tasks reusing the same thread.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see SessionFactory
+ */
+final class SessionContext {
+    /**
+     * Session of the current scope.
+     */
+    private static final ThreadLocal<Session> SCOPED_SESSION = new ThreadLocal<>();
+    /**
+     * Active session within the current thread.
+     * <br>
+     * <b>Warning:</b> The lifecycle of this session is manually managed.
+     */
+    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+
+    /**
+     * Returns the session of the current scope or the session explicitly bound to the current thread.
+     *
+     * @return the current session or <code>null</code> if there is no session
+     */
+    static Session current() {
+        Session session = SCOPED_SESSION.get();
+        if (session != null) {
+            return session;
+        }
+        return CURRENT_SESSION.get();
+    }
+
+    /**
+     * Returns the session explicitly bound to the current thread.
+     *
+     * @return the bound session or <code>null</code> if there is no bound session
+     */
+    static Session bound() {
+        return CURRENT_SESSION.get();
+    }
+
+    /**
+     * Binds the session to the current thread until it is unbound.
+     *
+     * @param session the session to bind
+     */
+    static void bind(Session session) {
+        CURRENT_SESSION.set(session);
+    }
+
+    /**
+     * Unbinds the session from the current thread.
+     */
+    static void unbind() {
+        CURRENT_SESSION.remove();
+    }
+
+    /**
+     * Executes the work with the session as the current session.
+     * The previous current session is restored after the work has been completed.
+     *
+     * @param session the session of the scope
+     * @param work the work to execute
+     * @param <R> type of result of work
+     * @return result of work
+     */
+    static <R> R callInScope(Session session, SessionWorkWithResult<R> work) {
+        Session previousSession = SCOPED_SESSION.get();
+        SCOPED_SESSION.set(session);
+        try {
+            return work.execute(session);
+        }
+        finally {
+            if (previousSession == null) {
+                SCOPED_SESSION.remove();
+            }
+            else {
+                SCOPED_SESSION.set(previousSession);
+            }
+        }
+    }
+
+    private SessionContext() {
+    }
+}
@@ -1,11 +1,15 @@
 package com.github.marchenkoprojects.prettyjdbc;
 
+import com.github.marchenkoprojects.prettyjdbc.session.ConnectionReleaseMode;
 import com.github.marchenkoprojects.prettyjdbc.session.InternalSession;
 import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.session.SessionWork;
+import com.github.marchenkoprojects.prettyjdbc.session.SessionWorkWithResult;
+import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryCache;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.SQLException;
+import java.util.concurrent.Executor;
 
 import static com.github.marchenkoprojects.prettyjdbc.session.InternalSession.safeCloseSession;
 
@@ -16,26 +20,33 @@ import static com.github.marchenkoprojects.prettyjdbc.session.InternalSession.sa
  * The internal state of the <code>SessionFactory</code> is immutable so it is thread safe!
  * <br>
  * To create a session factory, use the method {@link SessionFactory#create(DataSourceSupplier)}
- * which accepts a {@link DataSourceSupplier}.
+ * which accepts a {@link DataSourceSupplier} or the method {@link SessionFactory#create(DataSourceSupplier, Configuration)}
+ * which additionally accepts a {@link Configuration}.
  * If there is no {@link DataSource}, use the method {@link SessionFactory#newSession(Connection)}
  * which helps in a simple way to create {@link Session} instances.
+ * <br>
+ * The current session of a thread can be bound within the scope of a work by the method {@link SessionFactory#doInSession(SessionWork)}:
+ * the session is opened before and closed after the work, and it cannot leak to other tasks executed by the same thread.
+ * On Java 25 and later the scope is based on <code>ScopedValue</code>, so it is cheap even for millions of virtual threads.
  *
  * @author Oleg Marchenko
  *
  * @see Session
  */
 public final class SessionFactory implements Unwrapable<DataSource> {
-    /**
-     * Active session within the current thread.
-     * <br>
-     * <b>Warning:</b> The lifecycle of this session is manually managed.
-     */
-    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
 
     private final DataSource dataSource;
+    private final Configuration configuration;
+
+    /**
+     * Cache of processed SQL queries with named parameters shared between all sessions of this factory.
+     */
+    private final NamedParameterQueryCache queryCache;
 
-    private SessionFactory(DataSource dataSource) {
+    private SessionFactory(DataSource dataSource, Configuration configuration) {
         this.dataSource = dataSource;
+        this.configuration = configuration;
+        this.queryCache = new NamedParameterQueryCache(configuration.getQueryCacheSize());
     }
 
     /**
@@ -48,26 +59,50 @@ public final class SessionFactory implements Unwrapable<DataSource> {
         return dataSource;
     }
 
+    /**
+     * Returns a copy of the configuration of this <code>SessionFactory</code>.
+     *
+     * @return the configuration of this factory
+     */
+    public Configuration getConfiguration() {
+        return new Configuration(configuration);
+    }
+
+    /**
+     * Returns the executor of asynchronous query operations of sessions of this factory.
+     *
+     * @return the executor of asynchronous operations
+     * @see Configuration#setExecutor(Executor)
+     */
+    public Executor getExecutor() {
+        return configuration.getExecutor();
+    }
+
+    /**
+     * Returns the cache of processed SQL queries with named parameters shared between all sessions of this factory.
+     * The cache provides statistics of hits, misses and evictions.
+     *
+     * @return the query cache of this factory
+     */
+    public NamedParameterQueryCache getQueryCache() {
+        return queryCache;
+    }
+
     /**
      * Creates a new {@link Session} between Java application and relational database.
      * The session will be obtained as is and management must occur from outside.
      * Usually work with this method occurs in conjunction with try-with-resources
      * because the session is {@link AutoCloseable}.
+     * <br>
+     * <b>Note:</b> When the connection of the session is acquired and released depends on the configuration.
      *
      * @return successfully created session
      * @see Session
+     * @see Configuration#setLazyConnectionAcquisition(boolean)
+     * @see Configuration#setConnectionReleaseMode(ConnectionReleaseMode)
      */
     public Session openSession() {
-        return newSession(getConnection());
-    }
-
-    private Connection getConnection() {
-        try {
-            return dataSource.getConnection();
-        }
-        catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return new InternalSession(dataSource, configuration, queryCache);
     }
 
     /**
@@ -97,6 +132,9 @@ public final class SessionFactory implements Unwrapable<DataSource> {
      * <b>Note:</b> The current session will be bound with the current thread that called this method.
      * <br>
      * <b>Warning:</b> When the thread has completed work, the current session should be closed manually!
+     * <br>
+     * Within the work executed by the method {@link SessionFactory#doInSession(SessionWork)}
+     * the session of the work is returned and no session is bound to the thread.
      *
      * @return the current session within the thread
      * @see Session
@@ -106,7 +144,7 @@ public final class SessionFactory implements Unwrapable<DataSource> {
     }
 
     private Session openOrObtainSession() {
-        Session session = CURRENT_SESSION.get();
+        Session session = SessionContext.current();
         if (session == null) {
             session = openSession();
             doBindSession(session);
@@ -114,6 +152,47 @@ public final class SessionFactory implements Unwrapable<DataSource> {
         return session;
     }
 
+    /**
+     * Opens a new session, executes the work with it as the current session and closes the session.
+     * Within the work the method {@link SessionFactory#getSession()} returns this session.
+     * Unlike the explicit binding ({@link SessionFactory#bindSession(Session)}), the session is bound
+     * only within the scope of the work and does not need to be unbound.
+     *
+     * @param work the work to execute within the session
+     * @see SessionWork
+     */
+    public void doInSession(SessionWork work) {
+        if (work == null) {
+            throw new NullPointerException("Session work is null");
+        }
+
+        callInSession(session -> {
+            work.execute(session);
+            return null;
+        });
+    }
+
+    /**
+     * Opens a new session, executes the work with it as the current session and closes the session.
+     * Within the work the method {@link SessionFactory#getSession()} returns this session.
+     * Unlike the explicit binding ({@link SessionFactory#bindSession(Session)}), the session is bound
+     * only within the scope of the work and does not need to be unbound.
+     *
+     * @param work the work to execute within the session
+     * @param <R> type of result of work
+     * @return result of work
+     * @see SessionWorkWithResult
+     */
+    public <R> R callInSession(SessionWorkWithResult<R> work) {
+        if (work == null) {
+            throw new NullPointerException("Session work is null");
+        }
+
+        try(Session session = openSession()) {
+            return SessionContext.callInScope(session, work);
+        }
+    }
+
     /**
      * Creates a new {@link Session} without the need for a <code>SessionFactory</code> instance.
      * The session will be obtained as is and management must occur from outside.
@@ -140,7 +219,7 @@ public final class SessionFactory implements Unwrapable<DataSource> {
     }
 
     private static void doBindSession(Session session) {
-        CURRENT_SESSION.set(session);
+        SessionContext.bind(session);
     }
 
     /**
@@ -154,11 +233,11 @@ public final class SessionFactory implements Unwrapable<DataSource> {
     }
 
     private static void doUnbindSession() {
-        CURRENT_SESSION.remove();
+        SessionContext.unbind();
     }
 
     private static void forcedTerminateCurrentSession() {
-        Session currentSession = CURRENT_SESSION.get();
+        Session currentSession = SessionContext.bound();
         safeCloseSession(currentSession);
     }
 
@@ -169,6 +248,17 @@ public final class SessionFactory implements Unwrapable<DataSource> {
      * @return a new session factory
      */
     public static SessionFactory create(DataSourceSupplier supplier) {
+        return create(supplier, new Configuration());
+    }
+
+    /**
+     * This method is the entry point for creating a configured <code>SessionFactory</code> based on {@link DataSource}.
+     *
+     * @param supplier data source provider
+     * @param configuration settings of the session factory
+     * @return a new session factory
+     */
+    public static SessionFactory create(DataSourceSupplier supplier, Configuration configuration) {
         if (supplier == null) {
             throw new NullPointerException("Data source supplier is null");
         }
@@ -177,6 +267,9 @@ public final class SessionFactory implements Unwrapable<DataSource> {
         if (dataSource == null) {
             throw new NullPointerException("Data source is null");
         }
-        return new SessionFactory(dataSource);
+        if (configuration == null) {
+            throw new NullPointerException("Configuration is null");
+        }
+        return new SessionFactory(dataSource, new Configuration(configuration));
     }
 }
@@ -0,0 +1,30 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a type for which the annotation processor from the module <code>prettyjdbc-processor</code>
+ * generates the implementation of {@link ResultMapper} at compile time.
+ * <br>
+ * The generated class is placed into the package of the annotated type and named by the type name
+ * with the suffix <code>_ResultMapper</code> (for example, <code>Film_ResultMapper</code>).
+ * Typed queries without the explicitly set result mapper use the generated one,
+ * so the result set is mapped without reflection.
+ * <br>
+ * The annotated type must be a non-abstract class with a non-private default constructor.
+ * Columns are matched with setters or non-private fields ignoring case and underscores.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultMapper
+ * @see com.github.marchenkoprojects.prettyjdbc.mapper.bean.BeanResultMapperFactory
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateResultMapper {
+}
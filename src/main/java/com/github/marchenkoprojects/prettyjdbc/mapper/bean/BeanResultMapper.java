@@ -0,0 +1,42 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * This internal mapper creates a bean by its constructor without parameters
+ * and writes the values of the columns into the matching properties.
+ *
+ * @param <T> the type of mapping object
+ *
+ * @author Oleg Marchenko
+ *
+ * @see BeanResultMapperFactory
+ */
+class BeanResultMapper<T> implements ResultMapper<T> {
+
+    private final Supplier<T> instantiator;
+    private final int[] columnIndexes;
+    private final PropertyWriter[] writers;
+
+    BeanResultMapper(Supplier<T> instantiator, int[] columnIndexes, PropertyWriter[] writers) {
+        this.instantiator = instantiator;
+        this.columnIndexes = columnIndexes;
+        this.writers = writers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T map(ResultSet resultSet) throws SQLException {
+        T bean = instantiator.get();
+        for (int i = 0; i < writers.length; i++) {
+            writers[i].write(bean, resultSet, columnIndexes[i]);
+        }
+        return bean;
+    }
+}
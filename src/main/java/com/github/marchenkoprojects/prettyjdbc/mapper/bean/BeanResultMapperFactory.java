@@ -0,0 +1,283 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.GenerateResultMapper;
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+import com.github.marchenkoprojects.prettyjdbc.util.AccessorFactory;
+import com.github.marchenkoprojects.prettyjdbc.util.BeanProperty;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class creates result mappers which automatically transform a tuple of the result set into an object of the specific type.
+ * Columns are matched by their labels with setters, fields or constructor parameters of the type ignoring case and underscores,
+ * so the column <code>original_name</code> is written into the property <code>originalName</code>.
+ * <br>
+ * A mapper is compiled only once for each pair of the type and the column layout and then cached,
+ * it uses direct accessors ({@link AccessorFactory}) instead of per-row reflection.
+ * The mappers are attached to their type, so they do not keep the class loader of the type from being unloaded,
+ * and only the most recently used column layouts of each type are kept.
+ * Values of simple types (numbers, strings, dates, etc.) are retrieved from the first column.
+ * <br>
+ * For types annotated with {@link GenerateResultMapper} the mapper generated at compile time is used instead,
+ * if it is present in the classpath.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultMapper
+ */
+public final class BeanResultMapperFactory {
+    /**
+     * Maximum number of column layouts for which the compiled mappers of a single type are cached.
+     */
+    public static final int MAX_COLUMN_LAYOUTS = 32;
+
+    private static final ClassValue<Map<ColumnLayout, ResultMapper<?>>> MAPPERS_CACHE =
+            new ClassValue<Map<ColumnLayout, ResultMapper<?>>>() {
+                @Override
+                protected Map<ColumnLayout, ResultMapper<?>> computeValue(Class<?> type) {
+                    return new LinkedHashMap<ColumnLayout, ResultMapper<?>>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<ColumnLayout, ResultMapper<?>> eldest) {
+                            return size() > MAX_COLUMN_LAYOUTS;
+                        }
+                    };
+                }
+            };
+
+    /**
+     * Returns the result mapper of the specific type for the column layout of the result set.
+     *
+     * @param <T> the type of mapping object
+     * @param type the type of mapping object
+     * @param metaData metadata of the result set
+     * @return the compiled result mapper
+     * @throws IllegalStateException if no column matches the type
+     * @throws SQLException if a database access error occurs
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResultMapper<T> getResultMapper(Class<T> type, ResultSetMetaData metaData) throws SQLException {
+        if (type == null) {
+            throw new NullPointerException("Type is null");
+        }
+
+        int columnCount = metaData.getColumnCount();
+        String[] columnLabels = new String[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columnLabels[i - 1] = metaData.getColumnLabel(i);
+        }
+        ColumnLayout columnLayout = new ColumnLayout(columnLabels);
+
+        Map<ColumnLayout, ResultMapper<?>> resultMappers = MAPPERS_CACHE.get(type);
+        ResultMapper<?> resultMapper;
+        synchronized (resultMappers) {
+            resultMapper = resultMappers.get(columnLayout);
+        }
+        if (resultMapper != null) return (ResultMapper<T>) resultMapper;
+
+        // Compilation is performed outside the lock so that concurrent misses do not block each other.
+        resultMapper = createResultMapper(type, columnLabels);
+        synchronized (resultMappers) {
+            ResultMapper<?> cachedResultMapper = resultMappers.putIfAbsent(columnLayout, resultMapper);
+            return (ResultMapper<T>) (cachedResultMapper != null ? cachedResultMapper : resultMapper);
+        }
+    }
+
+    private static <T> ResultMapper<T> createResultMapper(Class<T> type, String[] columnLabels) {
+        if (type.isPrimitive() || ColumnReaders.isSupported(type)) {
+            return new ScalarResultMapper<>(ColumnReaders.of(type));
+        }
+        if (type.isAnnotationPresent(GenerateResultMapper.class)) {
+            ResultMapper<T> resultMapper = createGeneratedResultMapper(type, columnLabels);
+            if (resultMapper != null) return resultMapper;
+        }
+
+        Map<String, Integer> columnIndexes = new HashMap<>(columnLabels.length + 1, 1);
+        for (int i = columnLabels.length; i > 0; i--) {
+            columnIndexes.put(BeanProperty.normalizeName(columnLabels[i - 1]), i);
+        }
+
+        Constructor<T> defaultConstructor = findDefaultConstructor(type);
+        if (defaultConstructor != null) {
+            ResultMapper<T> resultMapper = createBeanResultMapper(type, defaultConstructor, columnIndexes);
+            if (resultMapper != null) return resultMapper;
+        }
+        else {
+            ResultMapper<T> resultMapper = createConstructorResultMapper(type, columnIndexes);
+            if (resultMapper != null) return resultMapper;
+        }
+        throw new IllegalStateException("Result mapper for type '" + type.getSimpleName() + "' not found: " +
+                "no columns " + Arrays.toString(columnLabels) + " match its properties");
+    }
+
+    /**
+     * Instantiates the mapper generated by the annotation processor.
+     * The generated class has a public constructor which accepts labels of the result set columns.
+     *
+     * @return the generated mapper or <code>null</code>, if the annotation processor was not applied
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ResultMapper<T> createGeneratedResultMapper(Class<T> type, String[] columnLabels) {
+        try {
+            Class<?> mapperClass = Class.forName(getGeneratedResultMapperName(type), true, type.getClassLoader());
+            return (ResultMapper<T>) mapperClass.getConstructor(String[].class).newInstance((Object) columnLabels);
+        }
+        catch (ClassNotFoundException | NoSuchMethodException e) {
+            return null;
+        }
+        catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the binary name of the mapper generated for the type: nested type names are joined with underscores
+     * and the suffix <code>_ResultMapper</code> is appended, e.g. <code>com.example.Film_ResultMapper</code>.
+     *
+     * @param type the annotated type
+     * @return the class name of the generated mapper
+     */
+    private static String getGeneratedResultMapperName(Class<?> type) {
+        String typeName = type.getName();
+        int packageEnd = typeName.lastIndexOf('.') + 1;
+        return typeName.substring(0, packageEnd) + typeName.substring(packageEnd).replace('$', '_') + "_ResultMapper";
+    }
+
+    private static <T> ResultMapper<T> createBeanResultMapper(Class<T> type, Constructor<T> constructor,
+                                                              Map<String, Integer> columnIndexes) {
+        List<Integer> indexes = new ArrayList<>(columnIndexes.size());
+        List<PropertyWriter> writers = new ArrayList<>(columnIndexes.size());
+
+        Map<String, BeanProperty> properties = BeanProperty.getProperties(type);
+        for (Map.Entry<String, Integer> columnIndex: columnIndexes.entrySet()) {
+            BeanProperty property = properties.get(columnIndex.getKey());
+            if (property != null && property.isWritable()) {
+                indexes.add(columnIndex.getValue());
+                writers.add(PropertyWriter.of(property));
+            }
+        }
+        if (writers.isEmpty()) return null;
+
+        return new BeanResultMapper<>(AccessorFactory.instantiator(constructor),
+                indexes.stream().mapToInt(Integer::intValue).toArray(),
+                writers.toArray(new PropertyWriter[0]));
+    }
+
+    private static <T> ResultMapper<T> createConstructorResultMapper(Class<T> type, Map<String, Integer> columnIndexes) {
+        for (Constructor<?> constructor: type.getConstructors()) {
+            Parameter[] parameters = constructor.getParameters();
+            if (parameters.length == 0) continue;
+
+            int[] indexes = new int[parameters.length];
+            ColumnReader[] readers = new ColumnReader[parameters.length];
+            Object[] defaultValues = new Object[parameters.length];
+
+            boolean matched = true;
+            for (int i = 0; i < parameters.length && matched; i++) {
+                Parameter parameter = parameters[i];
+                Integer columnIndex = parameter.isNamePresent()
+                        ? columnIndexes.get(BeanProperty.normalizeName(parameter.getName()))
+                        : null;
+                if (columnIndex == null) {
+                    matched = false;
+                }
+                else {
+                    indexes[i] = columnIndex;
+                    readers[i] = ColumnReaders.of(parameter.getType());
+                    defaultValues[i] = defaultValue(parameter.getType());
+                }
+            }
+
+            if (matched) {
+                return new ConstructorResultMapper<>(spreadConstructor(constructor), indexes, readers, defaultValues);
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle spreadConstructor(Constructor<?> constructor) {
+        try {
+            int parameterCount = constructor.getParameterCount();
+            return MethodHandles.publicLookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterCount)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> Constructor<T> findDefaultConstructor(Class<T> type) {
+        if (Modifier.isAbstract(type.getModifiers())) return null;
+
+        try {
+            return type.getDeclaredConstructor();
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        return 0D;
+    }
+
+    private BeanResultMapperFactory() {
+    }
+
+    /**
+     * Key of the compiled mapper of a type which consists of the labels of the result set columns.
+     */
+    private static final class ColumnLayout {
+        private final String[] columnLabels;
+        private final int hashCode;
+
+        ColumnLayout(String[] columnLabels) {
+            this.columnLabels = columnLabels;
+            this.hashCode = Arrays.hashCode(columnLabels);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ColumnLayout columnLayout = (ColumnLayout) o;
+            return Arrays.equals(columnLabels, columnLayout.columnLabels);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This internal functional interface reads the value of a specific Java type from the column of the result set.
+ *
+ * @author Oleg Marchenko
+ */
+@FunctionalInterface
+interface ColumnReader {
+
+    /**
+     * Reads the value from the column in the current row of the result set.
+     *
+     * @param resultSet the result set positioned on a row
+     * @param columnIndex column index in the result set which must begin with 1
+     * @return the column value or <code>null</code>, if the value is SQL <code>NULL</code>
+     * @throws SQLException if a database access error occurs
+     */
+    Object read(ResultSet resultSet, int columnIndex) throws SQLException;
+}
@@ -0,0 +1,137 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This internal class provides column readers of the supported Java types.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ColumnReader
+ */
+final class ColumnReaders {
+    private static final Map<Class<?>, ColumnReader> READERS = createReaders();
+
+    /**
+     * Returns <code>true</code> if values of the type can be read from a single column.
+     *
+     * @param type Java type of value
+     * @return <code>true</code> if the type is supported
+     */
+    static boolean isSupported(Class<?> type) {
+        return READERS.containsKey(type) || type.isEnum();
+    }
+
+    /**
+     * Returns the column reader of values of the specified type.
+     * Values of unknown types are read by {@link ResultSet#getObject(int, Class)}.
+     *
+     * @param type Java type of value
+     * @return the column reader
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static ColumnReader of(Class<?> type) {
+        ColumnReader reader = READERS.get(type);
+        if (reader != null) return reader;
+
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return (resultSet, columnIndex) -> {
+                String value = resultSet.getString(columnIndex);
+                return value == null ? null : Enum.valueOf(enumType, value);
+            };
+        }
+        return (resultSet, columnIndex) -> {
+            Object value = resultSet.getObject(columnIndex);
+            if (value == null || type.isInstance(value)) return value;
+
+            return resultSet.getObject(columnIndex, type);
+        };
+    }
+
+    private static Map<Class<?>, ColumnReader> createReaders() {
+        Map<Class<?>, ColumnReader> readers = new HashMap<>(32);
+
+        ColumnReader booleanReader = (resultSet, columnIndex) -> {
+            boolean value = resultSet.getBoolean(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(boolean.class, booleanReader);
+        readers.put(Boolean.class, booleanReader);
+
+        ColumnReader byteReader = (resultSet, columnIndex) -> {
+            byte value = resultSet.getByte(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(byte.class, byteReader);
+        readers.put(Byte.class, byteReader);
+
+        ColumnReader shortReader = (resultSet, columnIndex) -> {
+            short value = resultSet.getShort(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(short.class, shortReader);
+        readers.put(Short.class, shortReader);
+
+        ColumnReader intReader = (resultSet, columnIndex) -> {
+            int value = resultSet.getInt(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(int.class, intReader);
+        readers.put(Integer.class, intReader);
+
+        ColumnReader longReader = (resultSet, columnIndex) -> {
+            long value = resultSet.getLong(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(long.class, longReader);
+        readers.put(Long.class, longReader);
+
+        ColumnReader floatReader = (resultSet, columnIndex) -> {
+            float value = resultSet.getFloat(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(float.class, floatReader);
+        readers.put(Float.class, floatReader);
+
+        ColumnReader doubleReader = (resultSet, columnIndex) -> {
+            double value = resultSet.getDouble(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        };
+        readers.put(double.class, doubleReader);
+        readers.put(Double.class, doubleReader);
+
+        readers.put(BigDecimal.class, ResultSet::getBigDecimal);
+        readers.put(String.class, ResultSet::getString);
+        readers.put(byte[].class, ResultSet::getBytes);
+        readers.put(Date.class, ResultSet::getDate);
+        readers.put(Time.class, ResultSet::getTime);
+        readers.put(Timestamp.class, ResultSet::getTimestamp);
+        readers.put(LocalDate.class, (resultSet, columnIndex) -> {
+            Date date = resultSet.getDate(columnIndex);
+            return date == null ? null : date.toLocalDate();
+        });
+        readers.put(LocalTime.class, (resultSet, columnIndex) -> {
+            Time time = resultSet.getTime(columnIndex);
+            return time == null ? null : time.toLocalTime();
+        });
+        readers.put(LocalDateTime.class, (resultSet, columnIndex) -> {
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            return timestamp == null ? null : timestamp.toLocalDateTime();
+        });
+        return readers;
+    }
+
+    private ColumnReaders() {
+    }
+}
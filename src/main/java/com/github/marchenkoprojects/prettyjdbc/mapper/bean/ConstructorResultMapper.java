@@ -0,0 +1,57 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This internal mapper creates an object by the constructor whose parameters match the columns by name.
+ *
+ * @param <T> the type of mapping object
+ *
+ * @author Oleg Marchenko
+ *
+ * @see BeanResultMapperFactory
+ */
+class ConstructorResultMapper<T> implements ResultMapper<T> {
+
+    /**
+     * Constructor handle which accepts all arguments as a single <code>Object[]</code> and returns <code>Object</code>.
+     */
+    private final MethodHandle constructor;
+    private final int[] columnIndexes;
+    private final ColumnReader[] readers;
+    private final Object[] defaultValues;
+
+    ConstructorResultMapper(MethodHandle constructor, int[] columnIndexes, ColumnReader[] readers, Object[] defaultValues) {
+        this.constructor = constructor;
+        this.columnIndexes = columnIndexes;
+        this.readers = readers;
+        this.defaultValues = defaultValues;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet resultSet) throws SQLException {
+        Object[] arguments = new Object[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            Object value = readers[i].read(resultSet, columnIndexes[i]);
+            arguments[i] = value == null ? defaultValues[i] : value;
+        }
+
+        try {
+            return (T) (Object) constructor.invokeExact(arguments);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import com.github.marchenkoprojects.prettyjdbc.util.AccessorFactory;
+import com.github.marchenkoprojects.prettyjdbc.util.BeanProperty;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * This internal functional interface writes the value from the column of the result set into the property of a bean.
+ * Values of <code>int</code>, <code>long</code> and <code>double</code> properties are transferred without boxing.
+ *
+ * @author Oleg Marchenko
+ */
+@FunctionalInterface
+interface PropertyWriter {
+
+    /**
+     * Reads the value from the column in the current row of the result set and writes it into the property of the bean.
+     * SQL <code>NULL</code> values are not written into properties of primitive types.
+     *
+     * @param bean the target bean
+     * @param resultSet the result set positioned on a row
+     * @param columnIndex column index in the result set which must begin with 1
+     * @throws SQLException if a database access error occurs
+     */
+    void write(Object bean, ResultSet resultSet, int columnIndex) throws SQLException;
+
+    /**
+     * Creates a writer of the property value.
+     *
+     * @param property the writable property
+     * @return the property writer
+     */
+    static PropertyWriter of(BeanProperty property) {
+        Class<?> type = property.getType();
+        if (type == int.class) {
+            ObjIntConsumer<Object> setter = AccessorFactory.intSetter(property);
+            return (bean, resultSet, columnIndex) -> {
+                int value = resultSet.getInt(columnIndex);
+                if (!resultSet.wasNull()) {
+                    setter.accept(bean, value);
+                }
+            };
+        }
+        if (type == long.class) {
+            ObjLongConsumer<Object> setter = AccessorFactory.longSetter(property);
+            return (bean, resultSet, columnIndex) -> {
+                long value = resultSet.getLong(columnIndex);
+                if (!resultSet.wasNull()) {
+                    setter.accept(bean, value);
+                }
+            };
+        }
+        if (type == double.class) {
+            ObjDoubleConsumer<Object> setter = AccessorFactory.doubleSetter(property);
+            return (bean, resultSet, columnIndex) -> {
+                double value = resultSet.getDouble(columnIndex);
+                if (!resultSet.wasNull()) {
+                    setter.accept(bean, value);
+                }
+            };
+        }
+
+        BiConsumer<Object, Object> setter = AccessorFactory.setter(property);
+        ColumnReader reader = ColumnReaders.of(type);
+        boolean primitive = type.isPrimitive();
+        return (bean, resultSet, columnIndex) -> {
+            Object value = reader.read(resultSet, columnIndex);
+            if (value != null || !primitive) {
+                setter.accept(bean, value);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.marchenkoprojects.prettyjdbc.mapper.bean;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This internal mapper retrieves a single value of a simple type from the first column.
+ *
+ * @param <T> the type of mapping object
+ *
+ * @author Oleg Marchenko
+ *
+ * @see BeanResultMapperFactory
+ */
+class ScalarResultMapper<T> implements ResultMapper<T> {
+
+    private final ColumnReader reader;
+
+    ScalarResultMapper(ColumnReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet resultSet) throws SQLException {
+        return (T) reader.read(resultSet, 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.marchenkoprojects.prettyjdbc.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a lock-free histogram of non-negative long values, such as latencies in nanoseconds or row counts.
+ * <br>
+ * Values are counted in log-linear buckets: each power of two is divided into {@value #SUB_BUCKET_COUNT} buckets,
+ * so the memory is fixed regardless of the number and range of values, and percentiles are reported
+ * with a relative error below 6.25%. Values below {@value #SUB_BUCKET_COUNT} are counted exactly.
+ * <br>
+ * Recording is wait-free apart from the update of the minimum and maximum and can be performed by any number of threads.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see HistogramSnapshot
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Records the value. Negative values are recorded as <code>0</code>.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+
+        // The bounds are updated first, so a counted value is always within the bounds of a snapshot.
+        long currentMin = min.get();
+        while (value < currentMin && !min.compareAndSet(currentMin, value)) {
+            currentMin = min.get();
+        }
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+
+        sum.add(value);
+        counts.incrementAndGet(bucketIndex(value));
+    }
+
+    /**
+     * Returns the snapshot of the recorded values.
+     * The snapshot is not atomic with concurrent recording, so values recorded during the snapshot may be partially included.
+     *
+     * @return the snapshot of this histogram
+     */
+    public HistogramSnapshot snapshot() {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = counts.get(i);
+            count += bucketCounts[i];
+        }
+        if (count == 0) {
+            return HistogramSnapshot.EMPTY;
+        }
+        return new HistogramSnapshot(bucketCounts, count, sum.sum(), min.get(), max.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+
+        int shift = bucketIndex / SUB_BUCKET_COUNT - 1;
+        int subBucket = bucketIndex % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+    }
+
+    static long bucketWidth(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return 1;
+        }
+        return 1L << (bucketIndex / SUB_BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.marchenkoprojects.prettyjdbc.metrics;
+
+/**
+ * This class is an immutable snapshot of the values recorded by a {@link Histogram}.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see Histogram#snapshot()
+ */
+public final class HistogramSnapshot {
+    static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[Histogram.BUCKET_COUNT], 0, 0, 0, 0);
+
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(long[] bucketCounts, long count, long sum, long min, long max) {
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of recorded values.
+     *
+     * @return the sum of values
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the minimum recorded value.
+     *
+     * @return the minimum value or <code>0</code> if there are no values
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum recorded value.
+     *
+     * @return the maximum value or <code>0</code> if there are no values
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of recorded values.
+     *
+     * @return the mean value or <code>0</code> if there are no values
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values falls, e.g. <code>99</code> for p99.
+     * The value is approximated by the middle of the bucket, except for the lowest and the highest values,
+     * which are returned exactly.
+     *
+     * @param percentile the percentile from <code>0</code> to <code>100</code>
+     * @return the value at the percentile or <code>0</code> if there are no values
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile is out of range [0, 100]");
+        }
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        if (rank == 1) return min;
+        if (rank >= count) return max;
+
+        long cumulativeCount = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            cumulativeCount += bucketCounts[i];
+            if (cumulativeCount >= rank) {
+                long value = Histogram.bucketLowerBound(i) + (Histogram.bucketWidth(i) - 1) / 2;
+                return Math.min(Math.max(value, min), max);
+            }
+        }
+        return max;
+    }
+}
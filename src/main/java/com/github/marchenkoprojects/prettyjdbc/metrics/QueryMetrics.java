@@ -0,0 +1,173 @@
+package com.github.marchenkoprojects.prettyjdbc.metrics;
+
+import com.github.marchenkoprojects.prettyjdbc.query.QueryListener;
+import com.github.marchenkoprojects.prettyjdbc.util.SqlNormalizer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This query listener collects lock-free histograms of preparation, execution and fetch times, row counts
+ * and batch sizes per normalized SQL statement (see {@link SqlNormalizer}).
+ * The collected statistics are available at any time by the method {@link QueryMetrics#snapshot()},
+ * e.g. to export p50/p99 latencies to a monitoring system:
+ * <pre>{@code
+ * QueryMetrics queryMetrics = new QueryMetrics();
+ * SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().addQueryListener(queryMetrics));
+ * ...
+ * for (StatementStatistics statistics: queryMetrics.snapshot().values()) {
+ *     long p99 = statistics.getExecuteTime().getValueAtPercentile(99);
+ * }
+ * }</pre>
+ * The number of tracked statements is limited, executions of statements beyond the limit are collected
+ * under the {@link #OTHER_STATEMENTS} key.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see QueryListener
+ */
+public class QueryMetrics implements QueryListener {
+    /**
+     * Default maximum number of tracked statements.
+     */
+    public static final int DEFAULT_MAX_STATEMENTS = 256;
+    /**
+     * Key of the statistics of statements beyond the maximum number of tracked statements.
+     */
+    public static final String OTHER_STATEMENTS = "<other>";
+
+    private final int maxStatements;
+    /**
+     * Histograms by normalized SQL.
+     */
+    private final ConcurrentMap<String, StatementHistograms> statements = new ConcurrentHashMap<>();
+    /**
+     * Histograms by reported SQL, so the SQL of repeatedly executed queries is normalized only once.
+     */
+    private final ConcurrentMap<String, StatementHistograms> reportedStatements = new ConcurrentHashMap<>();
+
+    public QueryMetrics() {
+        this(DEFAULT_MAX_STATEMENTS);
+    }
+
+    /**
+     * Creates the metrics with the limited number of tracked statements.
+     *
+     * @param maxStatements the maximum number of tracked statements
+     * @throws IllegalArgumentException if the maximum number is not positive
+     */
+    public QueryMetrics(int maxStatements) {
+        if (maxStatements <= 0) {
+            throw new IllegalArgumentException("Maximum number of statements is not positive");
+        }
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPrepare(String sql, long elapsedNanos) {
+        obtainHistograms(sql).prepareTime.record(elapsedNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onQuery(String sql, long executeNanos, long fetchNanos, long rowCount) {
+        StatementHistograms histograms = obtainHistograms(sql);
+        histograms.executeTime.record(executeNanos);
+        histograms.fetchTime.record(fetchNanos);
+        histograms.rowCount.record(rowCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUpdate(String sql, long executeNanos, long updateCount) {
+        StatementHistograms histograms = obtainHistograms(sql);
+        histograms.executeTime.record(executeNanos);
+        histograms.rowCount.record(updateCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onBatch(String sql, long executeNanos, int batchSize) {
+        StatementHistograms histograms = obtainHistograms(sql);
+        histograms.executeTime.record(executeNanos);
+        histograms.batchSize.record(batchSize);
+    }
+
+    /**
+     * Returns the snapshot of the statistics of all tracked statements.
+     *
+     * @return unmodifiable map of normalized SQL to statistics
+     */
+    public Map<String, StatementStatistics> snapshot() {
+        Map<String, StatementStatistics> snapshot = new LinkedHashMap<>(statements.size() * 2);
+        for (Map.Entry<String, StatementHistograms> entry: statements.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns the snapshot of the statistics of the statement.
+     *
+     * @param sql the SQL of the statement, it is normalized before the lookup
+     * @return the statistics or <code>null</code> if the statement has not been executed
+     */
+    public StatementStatistics snapshot(String sql) {
+        String normalizedSql = SqlNormalizer.normalize(sql);
+        StatementHistograms histograms = statements.get(normalizedSql);
+        return histograms != null ? histograms.snapshot(normalizedSql) : null;
+    }
+
+    /**
+     * Discards the statistics of all statements.
+     */
+    public void reset() {
+        reportedStatements.clear();
+        statements.clear();
+    }
+
+    private StatementHistograms obtainHistograms(String sql) {
+        StatementHistograms histograms = reportedStatements.get(sql);
+        if (histograms != null) return histograms;
+
+        String normalizedSql = SqlNormalizer.normalize(sql);
+        histograms = statements.get(normalizedSql);
+        if (histograms == null) {
+            // The limit is approximate under concurrent registration of new statements.
+            String key = statements.size() < maxStatements ? normalizedSql : OTHER_STATEMENTS;
+            histograms = statements.computeIfAbsent(key, k -> new StatementHistograms());
+        }
+        if (reportedStatements.size() < maxStatements) {
+            reportedStatements.putIfAbsent(sql, histograms);
+        }
+        return histograms;
+    }
+
+    /**
+     * Histograms of a single normalized statement.
+     */
+    private static class StatementHistograms {
+        final Histogram prepareTime = new Histogram();
+        final Histogram executeTime = new Histogram();
+        final Histogram fetchTime = new Histogram();
+        final Histogram rowCount = new Histogram();
+        final Histogram batchSize = new Histogram();
+
+        StatementStatistics snapshot(String sql) {
+            return new StatementStatistics(sql, prepareTime.snapshot(), executeTime.snapshot(),
+                    fetchTime.snapshot(), rowCount.snapshot(), batchSize.snapshot());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.marchenkoprojects.prettyjdbc.metrics;
+
+/**
+ * This class is an immutable snapshot of the statistics of executions of a single normalized SQL statement.
+ * All times are in nanoseconds.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see QueryMetrics#snapshot()
+ */
+public final class StatementStatistics {
+    private final String sql;
+    private final HistogramSnapshot prepareTime;
+    private final HistogramSnapshot executeTime;
+    private final HistogramSnapshot fetchTime;
+    private final HistogramSnapshot rowCount;
+    private final HistogramSnapshot batchSize;
+
+    StatementStatistics(String sql, HistogramSnapshot prepareTime, HistogramSnapshot executeTime,
+                        HistogramSnapshot fetchTime, HistogramSnapshot rowCount, HistogramSnapshot batchSize) {
+        this.sql = sql;
+        this.prepareTime = prepareTime;
+        this.executeTime = executeTime;
+        this.fetchTime = fetchTime;
+        this.rowCount = rowCount;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the normalized SQL of the statement.
+     *
+     * @return the normalized SQL
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the times of preparation of the statement.
+     *
+     * @return the histogram of preparation times
+     */
+    public HistogramSnapshot getPrepareTime() {
+        return prepareTime;
+    }
+
+    /**
+     * Returns the times of execution of queries, updates and batches until the result was available.
+     *
+     * @return the histogram of execution times
+     */
+    public HistogramSnapshot getExecuteTime() {
+        return executeTime;
+    }
+
+    /**
+     * Returns the times of reading and mapping of the rows of query results.
+     *
+     * @return the histogram of fetch times
+     */
+    public HistogramSnapshot getFetchTime() {
+        return fetchTime;
+    }
+
+    /**
+     * Returns the numbers of rows returned by queries or updated by DML statements.
+     *
+     * @return the histogram of row counts
+     */
+    public HistogramSnapshot getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the numbers of commands in executed batches.
+     *
+     * @return the histogram of batch sizes
+     */
+    public HistogramSnapshot getBatchSize() {
+        return batchSize;
+    }
+}
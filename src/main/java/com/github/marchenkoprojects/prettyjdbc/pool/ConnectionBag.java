@@ -0,0 +1,190 @@
+package com.github.marchenkoprojects.prettyjdbc.pool;
+
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This internal class is a lock-free container of pool entries.
+ * <br>
+ * An entry is borrowed in the following order:
+ * <ol>
+ *     <li>from the list of entries recently returned by the current thread, so a thread usually gets
+ *     the same connection again without touching shared state;</li>
+ *     <li>from the shared list of all entries by the atomic change of the entry state;</li>
+ *     <li>by creating a new entry if the pool has not reached its maximum size;</li>
+ *     <li>by waiting for an entry that is handed off directly by a returning thread.</li>
+ * </ol>
+ *
+ * @author Oleg Marchenko
+ *
+ * @see PooledDataSource
+ */
+final class ConnectionBag {
+    /**
+     * Maximum number of entries remembered by a single thread.
+     */
+    private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+
+    private final CopyOnWriteArrayList<PoolEntry> sharedList = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<WeakReference<PoolEntry>>> threadList =
+            ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_ENTRIES));
+    private final SynchronousQueue<PoolEntry> handoffQueue = new SynchronousQueue<>(true);
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final EntryCreator entryCreator;
+
+    ConnectionBag(EntryCreator entryCreator) {
+        this.entryCreator = entryCreator;
+    }
+
+    /**
+     * Borrows an entry from the bag.
+     *
+     * @param timeout the maximum time to wait in nanoseconds
+     * @return the borrowed entry in the state {@link PoolEntry#STATE_IN_USE}
+     *         or <code>null</code>, if the timeout has elapsed
+     * @throws SQLException if a new connection cannot be created
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    PoolEntry borrow(long timeout) throws SQLException, InterruptedException {
+        List<WeakReference<PoolEntry>> entries = threadList.get();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            PoolEntry entry = entries.remove(i).get();
+            if (entry != null && entry.compareAndSetState(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE)) {
+                return entry;
+            }
+        }
+
+        PoolEntry entry = findNotInUseEntry();
+        if (entry != null) {
+            return entry;
+        }
+
+        // A new connection is created before the waiter is registered, so returning threads never wait for its creation.
+        PoolEntry newEntry = entryCreator.create();
+        if (newEntry != null) {
+            return newEntry;
+        }
+
+        // The waiter is registered before scanning again, so an entry returned concurrently is either found or handed off.
+        waiters.incrementAndGet();
+        try {
+            entry = findNotInUseEntry();
+            if (entry != null) {
+                return entry;
+            }
+
+            long deadline = System.nanoTime() + timeout;
+            do {
+                entry = handoffQueue.poll(timeout, TimeUnit.NANOSECONDS);
+                if (entry == null || entry.compareAndSetState(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE)) {
+                    return entry;
+                }
+                timeout = deadline - System.nanoTime();
+            }
+            while (timeout > 0);
+            return null;
+        }
+        finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private PoolEntry findNotInUseEntry() {
+        for (PoolEntry entry: sharedList) {
+            if (entry.compareAndSetState(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the borrowed entry to the bag and hands it off to a waiting thread if there is one.
+     *
+     * @param entry the borrowed entry
+     */
+    void requite(PoolEntry entry) {
+        entry.setState(PoolEntry.STATE_NOT_IN_USE);
+
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (entry.getState() != PoolEntry.STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+                return;
+            }
+            backOff(i);
+        }
+
+        List<WeakReference<PoolEntry>> entries = threadList.get();
+        if (entries.size() < MAX_THREAD_LOCAL_ENTRIES) {
+            entries.add(new WeakReference<>(entry));
+        }
+    }
+
+    /**
+     * Adds a new entry to the bag. The entry in the state {@link PoolEntry#STATE_NOT_IN_USE}
+     * is handed off to a waiting thread if there is one.
+     *
+     * @param entry the new entry
+     */
+    void add(PoolEntry entry) {
+        sharedList.add(entry);
+
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (entry.getState() != PoolEntry.STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+                return;
+            }
+            backOff(i);
+        }
+    }
+
+    /**
+     * Removes the entry from the bag if it has been reserved for removal.
+     *
+     * @param entry the entry in the state {@link PoolEntry#STATE_REMOVED}
+     * @return <code>true</code> if the entry was removed
+     */
+    boolean remove(PoolEntry entry) {
+        return entry.getState() == PoolEntry.STATE_REMOVED && sharedList.remove(entry);
+    }
+
+    /**
+     * Returns a snapshot of all entries of the bag.
+     *
+     * @return a list of all entries
+     */
+    List<PoolEntry> entries() {
+        return new ArrayList<>(sharedList);
+    }
+
+    int size() {
+        return sharedList.size();
+    }
+
+    int getWaitingThreadCount() {
+        return waiters.get();
+    }
+
+    private static void backOff(int attempt) {
+        if ((attempt & 0xFF) == 0xFF) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        else {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Creates a new entry in the state {@link PoolEntry#STATE_IN_USE} and adds it to the bag
+     * if the pool has not reached its maximum size.
+     */
+    @FunctionalInterface
+    interface EntryCreator {
+        PoolEntry create() throws SQLException;
+    }
+}
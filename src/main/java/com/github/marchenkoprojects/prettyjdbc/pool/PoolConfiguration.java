@@ -0,0 +1,267 @@
+package com.github.marchenkoprojects.prettyjdbc.pool;
+
+/**
+ * This class contains settings of a {@link PooledDataSource}.
+ * The configuration is copied when the pool is created,
+ * so subsequent changes do not affect already created pools.
+ * <br>
+ * All durations are specified in milliseconds.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see PooledDataSource
+ */
+public class PoolConfiguration {
+    /**
+     * Default maximum number of connections in the pool.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10;
+    /**
+     * Default maximum time in milliseconds to wait for a connection from the pool.
+     */
+    public static final long DEFAULT_CONNECTION_TIMEOUT = 30_000;
+    /**
+     * Default time in milliseconds after which an idle connection above the minimum size is closed.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 600_000;
+    /**
+     * Default idle time in milliseconds after which a connection is validated before it is given out.
+     */
+    public static final long DEFAULT_VALIDATION_INTERVAL = 500;
+    /**
+     * Default maximum time in milliseconds to wait for the validation of a connection.
+     */
+    public static final long DEFAULT_VALIDATION_TIMEOUT = 5_000;
+    /**
+     * Default period in milliseconds of the background maintenance of the pool.
+     */
+    public static final long DEFAULT_HOUSEKEEPING_PERIOD = 30_000;
+
+    private int minSize;
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private long connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+    private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private long validationInterval = DEFAULT_VALIDATION_INTERVAL;
+    private long validationTimeout = DEFAULT_VALIDATION_TIMEOUT;
+    private long leakDetectionThreshold;
+    private long housekeepingPeriod = DEFAULT_HOUSEKEEPING_PERIOD;
+
+    public PoolConfiguration() {
+    }
+
+    public PoolConfiguration(PoolConfiguration configuration) {
+        if (configuration == null) {
+            throw new NullPointerException("Pool configuration is null");
+        }
+        this.minSize = configuration.minSize;
+        this.maxSize = configuration.maxSize;
+        this.connectionTimeout = configuration.connectionTimeout;
+        this.idleTimeout = configuration.idleTimeout;
+        this.validationInterval = configuration.validationInterval;
+        this.validationTimeout = configuration.validationTimeout;
+        this.leakDetectionThreshold = configuration.leakDetectionThreshold;
+        this.housekeepingPeriod = configuration.housekeepingPeriod;
+    }
+
+    /**
+     * Returns the minimum number of connections which the pool keeps open.
+     *
+     * @return the minimum size of the pool
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Sets the minimum number of connections which the pool keeps open even if they are idle.
+     * By default the pool does not keep idle connections beyond the idle timeout.
+     *
+     * @param minSize the minimum size of the pool
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public PoolConfiguration setMinSize(int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum pool size is negative");
+        }
+        this.minSize = minSize;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of connections in the pool, both idle and in use.
+     *
+     * @return the maximum size of the pool
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of connections in the pool, both idle and in use.
+     * When all connections are in use then borrowers wait until a connection is returned.
+     *
+     * @param maxSize the maximum size of the pool
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public PoolConfiguration setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum pool size is not positive");
+        }
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Returns the maximum time to wait for a connection from the pool.
+     *
+     * @return the connection timeout in milliseconds
+     */
+    public long getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for a connection from the pool.
+     * If no connection becomes available within this time then {@link java.sql.SQLTimeoutException} is thrown.
+     *
+     * @param connectionTimeout the connection timeout in milliseconds
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public PoolConfiguration setConnectionTimeout(long connectionTimeout) {
+        if (connectionTimeout < 0) {
+            throw new IllegalArgumentException("Connection timeout is negative");
+        }
+        this.connectionTimeout = connectionTimeout;
+        return this;
+    }
+
+    /**
+     * Returns the time after which an idle connection above the minimum size is closed.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the time after which an idle connection above the minimum size is closed by the background maintenance.
+     *
+     * @param idleTimeout the idle timeout in milliseconds, <code>0</code> means that idle connections are never closed
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public PoolConfiguration setIdleTimeout(long idleTimeout) {
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("Idle timeout is negative");
+        }
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Returns the idle time after which a connection is validated before it is given out.
+     *
+     * @return the validation interval in milliseconds
+     */
+    public long getValidationInterval() {
+        return validationInterval;
+    }
+
+    /**
+     * Sets the idle time after which a connection is validated by {@link java.sql.Connection#isValid(int)}
+     * before it is given out. Connections used more recently are given out without validation,
+     * so a busy pool does not make an additional round trip to the database.
+     *
+     * @param validationInterval the validation interval in milliseconds, <code>0</code> validates on every borrow
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the interval is negative
+     */
+    public PoolConfiguration setValidationInterval(long validationInterval) {
+        if (validationInterval < 0) {
+            throw new IllegalArgumentException("Validation interval is negative");
+        }
+        this.validationInterval = validationInterval;
+        return this;
+    }
+
+    /**
+     * Returns the maximum time to wait for the validation of a connection.
+     *
+     * @return the validation timeout in milliseconds
+     */
+    public long getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for the validation of a connection.
+     * The driver accepts the timeout in seconds, so it is rounded up to whole seconds.
+     *
+     * @param validationTimeout the validation timeout in milliseconds
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public PoolConfiguration setValidationTimeout(long validationTimeout) {
+        if (validationTimeout < 0) {
+            throw new IllegalArgumentException("Validation timeout is negative");
+        }
+        this.validationTimeout = validationTimeout;
+        return this;
+    }
+
+    /**
+     * Returns the time after which a connection that has not been returned to the pool is reported as a possible leak.
+     *
+     * @return the leak detection threshold in milliseconds
+     */
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    /**
+     * Sets the time after which a connection that has not been returned to the pool is reported as a possible leak.
+     * The report is logged with the stack trace of the code which borrowed the connection.
+     * <br>
+     * By default leak detection is disabled because capturing the stack trace slows down borrowing.
+     *
+     * @param leakDetectionThreshold the leak detection threshold in milliseconds, <code>0</code> disables detection
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public PoolConfiguration setLeakDetectionThreshold(long leakDetectionThreshold) {
+        if (leakDetectionThreshold < 0) {
+            throw new IllegalArgumentException("Leak detection threshold is negative");
+        }
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the period of the background maintenance of the pool.
+     *
+     * @return the housekeeping period in milliseconds
+     */
+    public long getHousekeepingPeriod() {
+        return housekeepingPeriod;
+    }
+
+    /**
+     * Sets the period of the background maintenance which closes expired idle connections,
+     * fills the pool up to the minimum size and reports leaked connections.
+     *
+     * @param housekeepingPeriod the housekeeping period in milliseconds
+     * @return instance of this configuration
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public PoolConfiguration setHousekeepingPeriod(long housekeepingPeriod) {
+        if (housekeepingPeriod <= 0) {
+            throw new IllegalArgumentException("Housekeeping period is not positive");
+        }
+        this.housekeepingPeriod = housekeepingPeriod;
+        return this;
+    }
+}
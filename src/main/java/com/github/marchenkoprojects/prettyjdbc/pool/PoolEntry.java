@@ -0,0 +1,68 @@
+package com.github.marchenkoprojects.prettyjdbc.pool;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * This internal class holds a physical connection of the pool together with its pool state.
+ * The state is changed only by atomic compare-and-set operations, so entries are borrowed and returned without locks.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ConnectionBag
+ */
+final class PoolEntry {
+    static final int STATE_NOT_IN_USE = 0;
+    static final int STATE_IN_USE = 1;
+    static final int STATE_REMOVED = -1;
+
+    private static final AtomicIntegerFieldUpdater<PoolEntry> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(PoolEntry.class, "state");
+
+    final Connection connection;
+
+    /**
+     * Initial values of the connection properties which are restored when the connection is returned to the pool.
+     */
+    final boolean defaultAutoCommit;
+    final boolean defaultReadOnly;
+    final int defaultTransactionIsolation;
+
+    private volatile int state;
+
+    /**
+     * Time in nanoseconds when the connection was last returned to the pool.
+     */
+    volatile long lastReturned;
+    /**
+     * Time in nanoseconds when the connection was borrowed from the pool.
+     */
+    volatile long lastBorrowed;
+    /**
+     * Stack trace of the code which borrowed the connection, it is captured only if leak detection is enabled.
+     */
+    volatile Throwable borrowTrace;
+    volatile boolean leakReported;
+
+    PoolEntry(Connection connection, boolean defaultAutoCommit, boolean defaultReadOnly, int defaultTransactionIsolation,
+              int initialState) {
+        this.connection = connection;
+        this.defaultAutoCommit = defaultAutoCommit;
+        this.defaultReadOnly = defaultReadOnly;
+        this.defaultTransactionIsolation = defaultTransactionIsolation;
+        this.state = initialState;
+        this.lastReturned = System.nanoTime();
+    }
+
+    int getState() {
+        return state;
+    }
+
+    void setState(int state) {
+        this.state = state;
+    }
+
+    boolean compareAndSetState(int expectedState, int newState) {
+        return STATE_UPDATER.compareAndSet(this, expectedState, newState);
+    }
+}
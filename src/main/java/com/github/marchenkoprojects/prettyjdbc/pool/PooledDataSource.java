@@ -0,0 +1,415 @@
+package com.github.marchenkoprojects.prettyjdbc.pool;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is a lightweight pool of connections to the relational database on top of another {@link DataSource},
+ * usually a plain driver data source which opens a new physical connection on every call.
+ * It can be used everywhere a data source is expected, for example:
+ * <pre>{@code
+ * PooledDataSource pool = new PooledDataSource(driverDataSource, new PoolConfiguration().setMaxSize(20));
+ * SessionFactory sessionFactory = SessionFactory.create(() -> pool);
+ * }</pre>
+ * Connections are borrowed and returned without locks: a thread first tries the connections it has returned recently,
+ * then any idle connection, then opens a new one if the maximum size has not been reached
+ * and finally waits for a connection handed off by a returning thread.
+ * <br>
+ * Connections that have been idle longer than the validation interval are validated before they are given out.
+ * A background maintenance thread closes idle connections above the minimum size, fills the pool up to the minimum size
+ * and reports connections that have not been returned within the leak detection threshold.
+ * <br>
+ * <b>Warning:</b> The pool should be closed when it is no longer needed.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see PoolConfiguration
+ */
+public class PooledDataSource implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(PooledDataSource.class.getName());
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final DataSource dataSource;
+    private final PoolConfiguration configuration;
+    private final ConnectionBag bag;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed;
+
+    public PooledDataSource(DataSource dataSource) {
+        this(dataSource, new PoolConfiguration());
+    }
+
+    public PooledDataSource(DataSource dataSource, PoolConfiguration configuration) {
+        if (dataSource == null) {
+            throw new NullPointerException("Data source is null");
+        }
+        if (configuration == null) {
+            throw new NullPointerException("Pool configuration is null");
+        }
+        if (configuration.getMinSize() > configuration.getMaxSize()) {
+            throw new IllegalArgumentException("Minimum pool size is greater than maximum pool size");
+        }
+
+        this.dataSource = dataSource;
+        this.configuration = new PoolConfiguration(configuration);
+        this.bag = new ConnectionBag(this::createEntryIfAllowed);
+
+        fillPool();
+
+        String threadName = "PrettyJDBC-pool-" + POOL_COUNTER.incrementAndGet() + "-housekeeper";
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long housekeepingPeriod = this.configuration.getHousekeepingPeriod();
+        this.housekeeper.scheduleWithFixedDelay(this::houseKeep, housekeepingPeriod, housekeepingPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool. The connection must be closed after use to return it to the pool.
+     *
+     * @return a pooled connection
+     * @throws SQLTimeoutException if no connection becomes available within the connection timeout
+     * @throws SQLException if the pool is closed or a new connection cannot be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkNotClosed();
+
+        long timeout = TimeUnit.MILLISECONDS.toNanos(configuration.getConnectionTimeout());
+        long deadline = System.nanoTime() + timeout;
+        try {
+            do {
+                PoolEntry entry = bag.borrow(timeout);
+                if (entry == null) break;
+
+                if (isAlive(entry)) {
+                    entry.lastBorrowed = System.nanoTime();
+                    if (configuration.getLeakDetectionThreshold() > 0) {
+                        entry.borrowTrace = new Exception("Apparent connection leak detected");
+                        entry.leakReported = false;
+                    }
+                    return new PooledConnection(this, entry);
+                }
+
+                entry.setState(PoolEntry.STATE_REMOVED);
+                closeEntry(entry);
+                timeout = deadline - System.nanoTime();
+            }
+            while (timeout > 0);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        throw new SQLTimeoutException("Connection is not available, request timed out after " +
+                configuration.getConnectionTimeout() + " ms (total=" + getTotalConnections() +
+                ", active=" + getActiveConnections() + ", waiting=" + getWaitingThreads() + ")");
+    }
+
+    /**
+     * This operation is not supported because all connections of the pool belong to the same user.
+     *
+     * @throws SQLFeatureNotSupportedException always
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled data source does not support connections of other users");
+    }
+
+    /**
+     * Returns the borrowed connection to the pool or closes it if it cannot be reused.
+     *
+     * @param entry the borrowed entry
+     * @param reusable <code>true</code> if the connection is in a valid state
+     */
+    void release(PoolEntry entry, boolean reusable) {
+        if (entry.leakReported) {
+            LOGGER.info("Previously reported leaked connection " + entry.connection + " was returned to the pool");
+        }
+        entry.borrowTrace = null;
+
+        if (!reusable || closed) {
+            entry.setState(PoolEntry.STATE_REMOVED);
+            closeEntry(entry);
+            return;
+        }
+        entry.lastReturned = System.nanoTime();
+        bag.requite(entry);
+    }
+
+    /**
+     * Closes all idle connections and the pool. Connections in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+
+        closed = true;
+        housekeeper.shutdownNow();
+        for (PoolEntry entry: bag.entries()) {
+            if (entry.compareAndSetState(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_REMOVED)) {
+                closeEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the pool has been closed.
+     *
+     * @return <code>true</code> if the pool is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns a copy of the configuration of this pool.
+     *
+     * @return the pool configuration
+     */
+    public PoolConfiguration getConfiguration() {
+        return new PoolConfiguration(configuration);
+    }
+
+    /**
+     * Returns the number of open connections, both idle and in use.
+     *
+     * @return the total number of connections
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Returns the number of connections currently borrowed from the pool.
+     *
+     * @return the number of active connections
+     */
+    public int getActiveConnections() {
+        return countEntries(PoolEntry.STATE_IN_USE);
+    }
+
+    /**
+     * Returns the number of open connections that are not in use.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnections() {
+        return countEntries(PoolEntry.STATE_NOT_IN_USE);
+    }
+
+    /**
+     * Returns the number of threads waiting for a connection.
+     *
+     * @return the number of waiting threads
+     */
+    public int getWaitingThreads() {
+        return bag.getWaitingThreadCount();
+    }
+
+    private int countEntries(int state) {
+        int count = 0;
+        for (PoolEntry entry: bag.entries()) {
+            if (entry.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean isAlive(PoolEntry entry) {
+        long idleTime = System.nanoTime() - entry.lastReturned;
+        if (idleTime < TimeUnit.MILLISECONDS.toNanos(configuration.getValidationInterval())) {
+            return true;
+        }
+
+        try {
+            int validationTimeout = (int) TimeUnit.MILLISECONDS.toSeconds(configuration.getValidationTimeout() + 999);
+            return entry.connection.isValid(validationTimeout);
+        }
+        catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens a new connection in use if the pool has not reached its maximum size.
+     *
+     * @return a new entry or <code>null</code>, if the pool is full
+     */
+    private PoolEntry createEntryIfAllowed() throws SQLException {
+        if (!reserveConnection(configuration.getMaxSize())) return null;
+
+        return addEntry(PoolEntry.STATE_IN_USE);
+    }
+
+    private boolean reserveConnection(int limit) {
+        for (;;) {
+            int total = totalConnections.get();
+            if (total >= limit || closed) return false;
+            if (totalConnections.compareAndSet(total, total + 1)) return true;
+        }
+    }
+
+    private PoolEntry addEntry(int state) throws SQLException {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            PoolEntry entry = new PoolEntry(connection, connection.getAutoCommit(), connection.isReadOnly(),
+                    connection.getTransactionIsolation(), state);
+            bag.add(entry);
+            return entry;
+        }
+        catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            safeCloseConnection(connection);
+            throw e;
+        }
+    }
+
+    private void closeEntry(PoolEntry entry) {
+        if (bag.remove(entry)) {
+            totalConnections.decrementAndGet();
+        }
+        safeCloseConnection(entry.connection);
+    }
+
+    private void fillPool() {
+        while (reserveConnection(configuration.getMinSize())) {
+            try {
+                addEntry(PoolEntry.STATE_NOT_IN_USE);
+            }
+            catch (SQLException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to open a connection to fill the pool", e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Background maintenance of the pool.
+     */
+    private void houseKeep() {
+        try {
+            long now = System.nanoTime();
+            long idleTimeout = TimeUnit.MILLISECONDS.toNanos(configuration.getIdleTimeout());
+            long leakDetectionThreshold = TimeUnit.MILLISECONDS.toNanos(configuration.getLeakDetectionThreshold());
+
+            for (PoolEntry entry: bag.entries()) {
+                if (idleTimeout > 0 && now - entry.lastReturned > idleTimeout
+                        && totalConnections.get() > configuration.getMinSize()
+                        && entry.compareAndSetState(PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_REMOVED)) {
+                    closeEntry(entry);
+                }
+                else if (leakDetectionThreshold > 0 && entry.getState() == PoolEntry.STATE_IN_USE) {
+                    Throwable borrowTrace = entry.borrowTrace;
+                    if (borrowTrace != null && !entry.leakReported && now - entry.lastBorrowed > leakDetectionThreshold) {
+                        entry.leakReported = true;
+                        LOGGER.log(Level.WARNING, "Connection " + entry.connection + " has not been returned to the pool for " +
+                                TimeUnit.NANOSECONDS.toMillis(now - entry.lastBorrowed) + " ms, possible leak", borrowTrace);
+                    }
+                }
+            }
+
+            fillPool();
+        }
+        catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Pool maintenance failed", e);
+        }
+    }
+
+    private void checkNotClosed() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool is closed");
+        }
+    }
+
+    private static void safeCloseConnection(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            }
+            catch (SQLException e) {
+                // Intentionally swallow the exception.
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(PooledDataSource.class.getPackage().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        if (iface.isInstance(dataSource)) {
+            return (T) dataSource;
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || iface.isInstance(dataSource) || dataSource.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import com.github.marchenkoprojects.prettyjdbc.util.AccessorFactory;
+import com.github.marchenkoprojects.prettyjdbc.util.BeanProperty;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This internal class binds properties of a bean to the parameters of a query by their indexes.
+ * A binder is compiled only once for each pair of the bean type and the list of named parameters and then cached,
+ * so binding does not look up parameter names and does not use reflection.
+ * The binders are attached to their bean type, so they do not keep the class loader of the type from being unloaded,
+ * and only the most recently used lists of parameters of each type are kept.
+ * <br>
+ * Parameters are matched with readable properties ignoring case and underscores,
+ * so the parameter <code>:original_name</code> is bound to the property <code>originalName</code>.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see NamedParameterQuery#bindBean(Object)
+ */
+final class BeanParameterBinder {
+    /**
+     * Maximum number of lists of named parameters for which the compiled binders of a single type are cached.
+     */
+    static final int MAX_PARAMETER_LISTS = 32;
+
+    private static final ClassValue<Map<List<String>, BeanParameterBinder>> BINDERS_CACHE =
+            new ClassValue<Map<List<String>, BeanParameterBinder>>() {
+                @Override
+                protected Map<List<String>, BeanParameterBinder> computeValue(Class<?> type) {
+                    return new LinkedHashMap<List<String>, BeanParameterBinder>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<List<String>, BeanParameterBinder> eldest) {
+                            return size() > MAX_PARAMETER_LISTS;
+                        }
+                    };
+                }
+            };
+
+    private final Class<?> type;
+    private final ParameterWriter[] writers;
+
+    private BeanParameterBinder(Class<?> type, ParameterWriter[] writers) {
+        this.type = type;
+        this.writers = writers;
+    }
+
+    /**
+     * Returns the binder of the bean type to the named parameters.
+     *
+     * @param type the bean type
+     * @param parameters named parameters in order of their occurrence in the query
+     * @return the compiled binder
+     * @throws IllegalArgumentException if the bean type has no readable property for a named parameter
+     */
+    static BeanParameterBinder of(Class<?> type, List<String> parameters) {
+        Map<List<String>, BeanParameterBinder> binders = BINDERS_CACHE.get(type);
+        BeanParameterBinder binder;
+        synchronized (binders) {
+            binder = binders.get(parameters);
+        }
+        if (binder != null) return binder;
+
+        // Compilation is performed outside the lock so that concurrent misses do not block each other.
+        binder = create(type, parameters);
+        synchronized (binders) {
+            BeanParameterBinder cachedBinder = binders.putIfAbsent(parameters, binder);
+            return cachedBinder != null ? cachedBinder : binder;
+        }
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Sets the values of bean properties to all parameters of the query.
+     *
+     * @param query the query to set parameters
+     * @param bean the bean with values
+     */
+    void bind(Query query, Object bean) {
+        for (int i = 0; i < writers.length; i++) {
+            writers[i].write(query, i + 1, bean);
+        }
+    }
+
+    private static BeanParameterBinder create(Class<?> type, List<String> parameters) {
+        Map<String, BeanProperty> properties = BeanProperty.getProperties(type);
+
+        ParameterWriter[] writers = new ParameterWriter[parameters.size()];
+        for (int i = 0; i < writers.length; i++) {
+            String parameter = parameters.get(i);
+            BeanProperty property = properties.get(BeanProperty.normalizeName(parameter));
+            if (property == null || !property.isReadable()) {
+                throw new IllegalArgumentException("Property for named parameter '" + parameter + "' " +
+                        "not found in type '" + type.getSimpleName() + "'");
+            }
+            writers[i] = createWriter(property);
+        }
+        return new BeanParameterBinder(type, writers);
+    }
+
+    private static ParameterWriter createWriter(BeanProperty property) {
+        Class<?> propertyType = property.getType();
+        if (propertyType == int.class) {
+            ToIntFunction<Object> getter = AccessorFactory.intGetter(property);
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, getter.applyAsInt(bean));
+        }
+        if (propertyType == long.class) {
+            ToLongFunction<Object> getter = AccessorFactory.longGetter(property);
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, getter.applyAsLong(bean));
+        }
+        if (propertyType == double.class) {
+            ToDoubleFunction<Object> getter = AccessorFactory.doubleGetter(property);
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, getter.applyAsDouble(bean));
+        }
+
+        Function<Object, Object> getter = AccessorFactory.getter(property);
+        if (propertyType == String.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (String) getter.apply(bean));
+        }
+        if (propertyType == BigDecimal.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (BigDecimal) getter.apply(bean));
+        }
+        if (propertyType == byte[].class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (byte[]) getter.apply(bean));
+        }
+        if (propertyType == Date.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (Date) getter.apply(bean));
+        }
+        if (propertyType == Time.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (Time) getter.apply(bean));
+        }
+        if (propertyType == Timestamp.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (Timestamp) getter.apply(bean));
+        }
+        if (propertyType == LocalDate.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (LocalDate) getter.apply(bean));
+        }
+        if (propertyType == LocalTime.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (LocalTime) getter.apply(bean));
+        }
+        if (propertyType == LocalDateTime.class) {
+            return (query, paramIndex, bean) -> query.setParameter(paramIndex, (LocalDateTime) getter.apply(bean));
+        }
+        if (propertyType.isEnum()) {
+            return (query, paramIndex, bean) -> {
+                Enum<?> value = (Enum<?>) getter.apply(bean);
+                query.setParameter(paramIndex, value == null ? null : value.name());
+            };
+        }
+        return (query, paramIndex, bean) -> query.setParameter(paramIndex, getter.apply(bean));
+    }
+
+    /**
+     * Writes the value of a single bean property to the query parameter.
+     */
+    @FunctionalInterface
+    private interface ParameterWriter {
+        void write(Query query, int paramIndex, Object bean);
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import java.util.List;
+
+/**
+ * This internal class notifies several listeners of the execution of queries.
+ * All listeners are notified even if some of them throw an exception,
+ * the first exception is rethrown afterwards with the others suppressed.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see QueryListener#composite(List)
+ */
+final class CompositeQueryListener implements QueryListener {
+    private final QueryListener[] listeners;
+
+    CompositeQueryListener(List<? extends QueryListener> listeners) {
+        this.listeners = listeners.toArray(new QueryListener[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPrepare(String sql, long elapsedNanos) {
+        RuntimeException exception = null;
+        for (QueryListener listener: listeners) {
+            try {
+                listener.onPrepare(sql, elapsedNanos);
+            }
+            catch (RuntimeException e) {
+                exception = collectException(exception, e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onQuery(String sql, long executeNanos, long fetchNanos, long rowCount) {
+        RuntimeException exception = null;
+        for (QueryListener listener: listeners) {
+            try {
+                listener.onQuery(sql, executeNanos, fetchNanos, rowCount);
+            }
+            catch (RuntimeException e) {
+                exception = collectException(exception, e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUpdate(String sql, long executeNanos, long updateCount) {
+        RuntimeException exception = null;
+        for (QueryListener listener: listeners) {
+            try {
+                listener.onUpdate(sql, executeNanos, updateCount);
+            }
+            catch (RuntimeException e) {
+                exception = collectException(exception, e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onBatch(String sql, long executeNanos, int batchSize) {
+        RuntimeException exception = null;
+        for (QueryListener listener: listeners) {
+            try {
+                listener.onBatch(sql, executeNanos, batchSize);
+            }
+            catch (RuntimeException e) {
+                exception = collectException(exception, e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onTransaction(boolean committed, long elapsedNanos) {
+        RuntimeException exception = null;
+        for (QueryListener listener: listeners) {
+            try {
+                listener.onTransaction(committed, elapsedNanos);
+            }
+            catch (RuntimeException e) {
+                exception = collectException(exception, e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static RuntimeException collectException(RuntimeException exception, RuntimeException newException) {
+        if (exception == null) {
+            return newException;
+        }
+        exception.addSuppressed(newException);
+        return exception;
+    }
+}
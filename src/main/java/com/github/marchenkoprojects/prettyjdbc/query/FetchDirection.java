@@ -0,0 +1,44 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import java.sql.ResultSet;
+
+/**
+ * Describes the direction in which the rows of a result are expected to be processed.
+ * The direction is a hint for the driver to optimize fetching of rows.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see Query#setFetchDirection(FetchDirection)
+ * @see java.sql.ResultSet#FETCH_FORWARD
+ * @see java.sql.ResultSet#FETCH_REVERSE
+ * @see java.sql.ResultSet#FETCH_UNKNOWN
+ */
+public enum FetchDirection {
+    /**
+     * The rows are processed from the first to the last.
+     */
+    FORWARD(ResultSet.FETCH_FORWARD),
+    /**
+     * The rows are processed from the last to the first.
+     */
+    REVERSE(ResultSet.FETCH_REVERSE),
+    /**
+     * The order of processing of the rows is unknown.
+     */
+    UNKNOWN(ResultSet.FETCH_UNKNOWN);
+
+    private final int nativeDirection;
+
+    FetchDirection(int nativeDirection) {
+        this.nativeDirection = nativeDirection;
+    }
+
+    /**
+     * Returns the JDBC constant of the fetch direction.
+     *
+     * @return the native fetch direction
+     */
+    public int nativeDirection() {
+        return nativeDirection;
+    }
+}
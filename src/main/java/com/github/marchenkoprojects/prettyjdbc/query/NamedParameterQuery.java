@@ -1,5 +1,7 @@
 package com.github.marchenkoprojects.prettyjdbc.query;
 
+import com.github.marchenkoprojects.prettyjdbc.util.ParsedQuery;
+
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.PreparedStatement;
@@ -8,12 +10,19 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * This class represents a SQL query with named parameters.
+ * <br>
+ * Besides setting parameters one by one, all parameters can be set from the properties of a bean
+ * by the method {@link NamedParameterQuery#bindBean(Object)}, and a collection of beans can be added to the batch
+ * by the method {@link NamedParameterQuery#addBatch(Collection)}.
  *
  * @author Oleg Marchenko
  *
@@ -21,7 +30,12 @@ import java.util.Map;
  */
 public class NamedParameterQuery extends Query implements NamedParameterQuerySetter<NamedParameterQuery> {
 
+    private final List<String> parameters;
     private final Map<String, Integer> namedParameterToIndex;
+    /**
+     * The last used binder, it is kept to avoid the cache lookup when beans of the same type are bound.
+     */
+    private BeanParameterBinder beanParameterBinder;
 
     public NamedParameterQuery(PreparedStatement preparedStatement, List<String> parameters) {
         super(preparedStatement);
@@ -29,13 +43,27 @@ public class NamedParameterQuery extends Query implements NamedParameterQuerySet
         if (parameters == null) {
             throw new NullPointerException("Parameters is null");
         }
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.namedParameterToIndex = ParsedQuery.indexParameters(parameters);
+    }
+
+    public NamedParameterQuery(PreparedStatement preparedStatement, ParsedQuery parsedQuery) {
+        super(preparedStatement);
 
-        int size = parameters.size();
-        this.namedParameterToIndex = new HashMap<>(size + 1, 1);
-        for (int i = 0; i < size; i++) {
-            String parameter = parameters.get(i);
-            namedParameterToIndex.put(parameter, i + 1);
+        if (parsedQuery == null) {
+            throw new NullPointerException("Parsed query is null");
         }
+        this.parameters = parsedQuery.getParameters();
+        this.namedParameterToIndex = parsedQuery.getParameterToIndex();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setBatchSize(int batchSize) {
+        super.setBatchSize(batchSize);
+        return this;
     }
 
     /**
@@ -47,6 +75,87 @@ public class NamedParameterQuery extends Query implements NamedParameterQuerySet
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setFetchSize(int fetchSize) {
+        super.setFetchSize(fetchSize);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setMaxRows(long maxRows) {
+        super.setMaxRows(maxRows);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setFetchDirection(FetchDirection fetchDirection) {
+        super.setFetchDirection(fetchDirection);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setMaxAdaptiveFetchSize(int maxAdaptiveFetchSize) {
+        super.setMaxAdaptiveFetchSize(maxAdaptiveFetchSize);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setExecutor(Executor executor) {
+        super.setExecutor(executor);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setSql(String sql) {
+        super.setSql(sql);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setQueryListener(QueryListener queryListener) {
+        super.setQueryListener(queryListener);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setSlowQueryThreshold(long slowQueryThreshold) {
+        super.setSlowQueryThreshold(slowQueryThreshold);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamedParameterQuery setStatementReleaser(StatementReleaser statementReleaser) {
+        super.setStatementReleaser(statementReleaser);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -371,6 +480,53 @@ public class NamedParameterQuery extends Query implements NamedParameterQuerySet
         return this;
     }
 
+    /**
+     * Sets all named parameters of this query from the properties of the bean.
+     * Parameters are matched with readable properties (getters or fields) ignoring case and underscores.
+     * The binding is compiled only once for the bean type and the query, so it works at the speed of index setters.
+     *
+     * @param bean the bean with parameter values
+     * @return instance of this query
+     * @throws IllegalArgumentException if the bean has no property for a named parameter
+     * @throws RuntimeException if a database access error occurs
+     */
+    public NamedParameterQuery bindBean(Object bean) {
+        if (bean == null) {
+            throw new NullPointerException("Bean is null");
+        }
+
+        BeanParameterBinder binder = beanParameterBinder;
+        if (binder == null || binder.getType() != bean.getClass()) {
+            binder = BeanParameterBinder.of(bean.getClass(), parameters);
+            beanParameterBinder = binder;
+        }
+        binder.bind(this, bean);
+        return this;
+    }
+
+    /**
+     * Binds each bean of the collection to the named parameters and adds it to this query's batch of commands.
+     * If the batch size is set, the batch is executed automatically every time it reaches this size.
+     *
+     * @param beans the beans with parameter values
+     * @return instance of this query
+     * @throws IllegalArgumentException if a bean has no property for a named parameter
+     * @throws RuntimeException if a database access error occurs
+     * @see NamedParameterQuery#bindBean(Object)
+     * @see Query#setBatchSize(int)
+     */
+    public NamedParameterQuery addBatch(Collection<?> beans) {
+        if (beans == null) {
+            throw new NullPointerException("Beans is null");
+        }
+
+        for (Object bean: beans) {
+            bindBean(bean);
+            addBatch();
+        }
+        return this;
+    }
+
     private int getParameterIndex(String paramName) {
         Integer paramIndex = namedParameterToIndex.get(paramName);
         if (paramIndex == null) {
@@ -2,13 +2,22 @@ package com.github.marchenkoprojects.prettyjdbc.query;
 
 import com.github.marchenkoprojects.prettyjdbc.Unwrapable;
 import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.CachedScrollableResult;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ForwardOnlyScrollableResult;
 import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ReadOnlyScrollableResult;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ResultSetRow;
+import com.github.marchenkoprojects.prettyjdbc.util.AdaptiveFetchSize;
+import com.github.marchenkoprojects.prettyjdbc.util.DefaultExecutor;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The <code>Query</code> represents a single operation to the relational database.
@@ -16,16 +25,69 @@ import java.time.LocalTime;
  * The lifecycle of any implementation is very short and starts with the method
  * {@link com.github.marchenkoprojects.prettyjdbc.session.Session#createQuery(String)}.
  * <br>
- * To perform a native SQL query, use the method {@link Query#execute()} which will return the result as {@link ReadOnlyScrollableResult};
+ * To perform a native SQL query, use the method {@link Query#execute()} which will return the result as {@link ReadOnlyScrollableResult}
+ * or the method {@link Query#executeStreaming()} to read a large result row by row;
  * to <code>INSERT</code>, <code>UPDATE</code> or <code>DELETE</code> the data, use the method {@link Query#executeUpdate()};
  * to perform a batched query, use the method {@link Query#addBatch()} to add a batch and {@link Query#executeBatch()} to apply it.
+ * If the batch size is set by the method {@link Query#setBatchSize(int)}, the batch is flushed automatically
+ * every time it reaches this size, so the memory consumed by the batch stays bounded.
+ * <br>
+ * The number of rows fetched from the database at a time is controlled by the method {@link Query#setFetchSize(int)}
+ * or grows while the rows are read if the method {@link Query#setMaxAdaptiveFetchSize(int)} is used.
+ * <br>
+ * Each execution method has an asynchronous counterpart (e.g. {@link Query#executeAsync()}) which returns
+ * a {@link CompletableFuture} and executes the query by the {@link Executor} of the query.
+ * <br>
+ * Executions slower than the threshold set by the method {@link Query#setSlowQueryThreshold(long)}
+ * are logged together with the bound parameter values.
  *
  * @author Oleg Marchenko
  */
 public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, IndexedParameterQuerySetter<Query> {
 
+    private static final int[] EMPTY_UPDATE_COUNTS = new int[0];
+
     protected final PreparedStatement preparedStatement;
 
+    private int batchSize;
+    private int pendingBatchCount;
+    /**
+     * The last result which is read lazily or <code>null</code> if no such result has been opened.
+     */
+    private ResultSet openResultSet;
+    /**
+     * Update counts of the batches flushed automatically since the last call of {@link Query#executeBatch()}.
+     */
+    private int[] flushedUpdateCounts = EMPTY_UPDATE_COUNTS;
+    private int flushedUpdateCount;
+    /**
+     * Executor of asynchronous operations or <code>null</code> if the default executor is used.
+     */
+    private Executor executor;
+    private int fetchSize;
+    private long maxRows;
+    private FetchDirection fetchDirection = FetchDirection.FORWARD;
+    private int maxAdaptiveFetchSize;
+    /**
+     * SQL under which the execution of this query is reported or <code>null</code> if it is unknown.
+     */
+    private String sql;
+    /**
+     * Listener of the execution of this query or <code>null</code> if the execution is not observed.
+     */
+    private QueryListener queryListener;
+    private long slowQueryThreshold;
+    /**
+     * Values of parameters by their indexes, they are captured only if the slow query threshold is set.
+     */
+    private Object[] parameterValues;
+    private int parameterCount;
+    /**
+     * Releaser of the statement when this query is closed or <code>null</code> if the statement is closed.
+     */
+    private StatementReleaser statementReleaser;
+    private boolean closed;
+
     public Query(PreparedStatement preparedStatement) {
         if (preparedStatement == null) {
             throw new NullPointerException("Prepared statement is null");
@@ -46,12 +108,365 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     /**
      * Releases the internal {@link PreparedStatement} object and JDBC resources immediately,
      * instead of waiting for the automatic closing to occur.
+     * If the batch size is set, the commands remaining in the batch are executed before closing.
+     * <br>
+     * If the statement releaser is set, the statement is passed to it instead of closing.
      *
      * @exception SQLException if a database access error occurs
+     * @see Query#discardBatch()
+     * @see Query#setStatementReleaser(StatementReleaser)
      */
     @Override
     public void close() throws SQLException {
-        preparedStatement.close();
+        if (closed) return;
+
+        closed = true;
+        try {
+            if (batchSize > 0 && pendingBatchCount > 0) {
+                flushBatch();
+            }
+        }
+        finally {
+            if (statementReleaser != null) {
+                statementReleaser.release(preparedStatement);
+            }
+            else {
+                preparedStatement.close();
+            }
+        }
+    }
+
+    /**
+     * Sets the releaser which takes back the statement when this query is closed instead of closing it.
+     * Usually the releaser is set by the session to return the statement to its statement cache.
+     * <br>
+     * <b>Warning:</b> The query must not be used after it has been closed, because the statement can be reused by another query.
+     *
+     * @param statementReleaser the releaser of the statement
+     * @return instance of the specific query
+     * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setStatementCacheSize(int)
+     */
+    public Query setStatementReleaser(StatementReleaser statementReleaser) {
+        if (statementReleaser == null) {
+            throw new NullPointerException("Statement releaser is null");
+        }
+        this.statementReleaser = statementReleaser;
+        return this;
+    }
+
+    /**
+     * Sets the number of commands after which the batch is executed automatically by the method {@link Query#addBatch()}.
+     * Update counts of all automatically executed batches are collected and returned by the method {@link Query#executeBatch()};
+     * the remaining commands are also executed when the query is closed ({@link Query#executePendingBatch()}).
+     *
+     * @param batchSize the number of commands in a single batch or 0 to disable automatic execution
+     * @return instance of the specific query
+     * @throws IllegalArgumentException if the batch size is negative
+     */
+    public Query setBatchSize(int batchSize) {
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size is negative");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Returns the number of commands after which the batch is executed automatically.
+     *
+     * @return the batch size or 0 if automatic execution is disabled
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of rows that should be fetched from the database at a time when more rows are needed.
+     * If the fetch size is not set then the default value of the driver is used,
+     * which may be the entire result (e.g. PostgreSQL) or a few rows.
+     *
+     * @param fetchSize the number of rows to fetch or <code>0</code> to use the default value of the driver
+     * @return instance of the specific query
+     * @throws IllegalArgumentException if the fetch size is negative
+     * @throws RuntimeException if a database access error occurs
+     */
+    public Query setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size is negative");
+        }
+
+        try {
+            preparedStatement.setFetchSize(fetchSize);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Returns the number of rows that are fetched from the database at a time.
+     *
+     * @return the fetch size or <code>0</code> if the default value of the driver is used
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the limit of the number of rows that the result of this query can contain.
+     * The excess rows are silently dropped.
+     *
+     * @param maxRows the maximum number of rows or <code>0</code> for no limit
+     * @return instance of the specific query
+     * @throws IllegalArgumentException if the maximum number of rows is negative
+     * @throws RuntimeException if a database access error occurs
+     */
+    public Query setMaxRows(long maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("Max rows is negative");
+        }
+
+        try {
+            try {
+                preparedStatement.setLargeMaxRows(maxRows);
+            }
+            catch (SQLFeatureNotSupportedException | UnsupportedOperationException e) {
+                // Drivers that do not implement large limits support only the int limit.
+                preparedStatement.setMaxRows((int) Math.min(maxRows, Integer.MAX_VALUE));
+            }
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    /**
+     * Returns the limit of the number of rows that the result of this query can contain.
+     *
+     * @return the maximum number of rows or <code>0</code> if there is no limit
+     */
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    /**
+     * Gives the driver a hint in which direction the rows of the result will be processed.
+     *
+     * @param fetchDirection the direction of processing of rows
+     * @return instance of the specific query
+     * @throws RuntimeException if a database access error occurs
+     */
+    public Query setFetchDirection(FetchDirection fetchDirection) {
+        if (fetchDirection == null) {
+            throw new NullPointerException("Fetch direction is null");
+        }
+
+        try {
+            preparedStatement.setFetchDirection(fetchDirection.nativeDirection());
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        this.fetchDirection = fetchDirection;
+        return this;
+    }
+
+    /**
+     * Returns the direction in which the rows of the result will be processed.
+     *
+     * @return the fetch direction, {@link FetchDirection#FORWARD} by default
+     */
+    public FetchDirection getFetchDirection() {
+        return fetchDirection;
+    }
+
+    /**
+     * Enables the adaptive fetch size: the first rows are fetched with the fetch size of this query
+     * (or {@value AdaptiveFetchSize#INITIAL_FETCH_SIZE} rows if it is not set) and every time the fetched rows
+     * have been read, the fetch size is doubled until it reaches the maximum.
+     * So short results do not allocate large buffers while long scans take few round trips.
+     *
+     * @param maxAdaptiveFetchSize the maximum fetch size or <code>0</code> to disable the adaptive fetch size
+     * @return instance of the specific query
+     * @throws IllegalArgumentException if the maximum fetch size is negative
+     * @throws RuntimeException if a database access error occurs
+     */
+    public Query setMaxAdaptiveFetchSize(int maxAdaptiveFetchSize) {
+        if (maxAdaptiveFetchSize < 0) {
+            throw new IllegalArgumentException("Max adaptive fetch size is negative");
+        }
+
+        this.maxAdaptiveFetchSize = maxAdaptiveFetchSize;
+        if (maxAdaptiveFetchSize > 0 && fetchSize == 0) {
+            try {
+                preparedStatement.setFetchSize(Math.min(AdaptiveFetchSize.INITIAL_FETCH_SIZE, maxAdaptiveFetchSize));
+            }
+            catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the maximum fetch size of the adaptive fetch size.
+     *
+     * @return the maximum fetch size or <code>0</code> if the adaptive fetch size is disabled
+     */
+    public int getMaxAdaptiveFetchSize() {
+        return maxAdaptiveFetchSize;
+    }
+
+    AdaptiveFetchSize adaptFetchSize(ResultSet resultSet) {
+        if (maxAdaptiveFetchSize == 0) {
+            return AdaptiveFetchSize.disabled();
+        }
+
+        int initialFetchSize = fetchSize > 0 ? fetchSize : Math.min(AdaptiveFetchSize.INITIAL_FETCH_SIZE, maxAdaptiveFetchSize);
+        return AdaptiveFetchSize.of(resultSet, initialFetchSize, maxAdaptiveFetchSize);
+    }
+
+    /**
+     * Sets the executor of asynchronous operations of this query.
+     * Usually the executor is set by the session from the configuration of the session factory.
+     *
+     * @param executor the executor of asynchronous operations
+     * @return instance of the specific query
+     * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setExecutor(Executor)
+     */
+    public Query setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("Executor is null");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Returns the executor of asynchronous operations of this query.
+     *
+     * @return the executor of asynchronous operations
+     */
+    public Executor getExecutor() {
+        return executor != null ? executor : DefaultExecutor.get();
+    }
+
+    /**
+     * Sets the SQL under which the execution of this query is reported to the query listener and Flight Recorder events.
+     * Usually the SQL is set by the session which has created the query.
+     *
+     * @param sql the SQL of this query
+     * @return instance of the specific query
+     */
+    public Query setSql(String sql) {
+        if (sql == null) {
+            throw new NullPointerException("SQL is null");
+        }
+        this.sql = sql;
+        return this;
+    }
+
+    /**
+     * Returns the SQL under which the execution of this query is reported.
+     *
+     * @return the SQL of this query or <code>null</code> if it is not set
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Sets the listener of the execution of this query.
+     * Usually the listener is set by the session from the configuration of the session factory.
+     *
+     * @param queryListener the listener of the execution
+     * @return instance of the specific query
+     * @see com.github.marchenkoprojects.prettyjdbc.Configuration#addQueryListener(QueryListener)
+     * @see Query#setSql(String)
+     */
+    public Query setQueryListener(QueryListener queryListener) {
+        if (queryListener == null) {
+            throw new NullPointerException("Query listener is null");
+        }
+        this.queryListener = queryListener;
+        return this;
+    }
+
+    /**
+     * Sets the time after which the execution of this query is logged as slow.
+     * The log record contains the SQL, the values of parameters, the number of rows and the code which executed the query.
+     * Parameter values are captured only while the threshold is set, so it should be set before the parameters.
+     * <br>
+     * Usually the threshold is set by the session from the configuration of the session factory.
+     *
+     * @param slowQueryThreshold the slow query threshold in milliseconds, <code>0</code> disables logging
+     * @return instance of the specific query
+     * @throws IllegalArgumentException if the threshold is negative
+     * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setSlowQueryThreshold(long)
+     */
+    public Query setSlowQueryThreshold(long slowQueryThreshold) {
+        if (slowQueryThreshold < 0) {
+            throw new IllegalArgumentException("Slow query threshold is negative");
+        }
+        this.slowQueryThreshold = slowQueryThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the time after which the execution of this query is logged as slow.
+     *
+     * @return the slow query threshold in milliseconds or <code>0</code> if logging is disabled
+     */
+    public long getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    private boolean isTimed() {
+        return queryListener != null || slowQueryThreshold > 0;
+    }
+
+    /**
+     * Returns the current time for the listener of the execution and the slow query log.
+     *
+     * @return the current time in nanoseconds or <code>0</code> if the execution is not timed
+     */
+    long currentTime() {
+        return isTimed() ? System.nanoTime() : 0L;
+    }
+
+    void queryExecuted(Object event, long startTime, long executedTime, long rowCount) {
+        FlightRecorderEvents.endQuery(event, sql, rowCount);
+        if (isTimed()) {
+            long endTime = System.nanoTime();
+            // The slow query is logged first, because a listener may reject the query (e.g. a repeated one).
+            checkSlowQuery(endTime - startTime, rowCount);
+            if (queryListener != null) {
+                queryListener.onQuery(sql, executedTime - startTime, endTime - executedTime, rowCount);
+            }
+        }
+    }
+
+    private void checkSlowQuery(long elapsedNanos, long rowCount) {
+        if (slowQueryThreshold > 0 && elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowQueryThreshold)) {
+            SlowQueryLog.log(sql, parameterValues, parameterCount, elapsedNanos, rowCount);
+        }
+    }
+
+    private void captureParameter(int paramIndex, Object value) {
+        if (paramIndex < 1) return;
+
+        if (parameterValues == null) {
+            parameterValues = new Object[Math.max(paramIndex, 8)];
+        }
+        else if (paramIndex > parameterValues.length) {
+            parameterValues = Arrays.copyOf(parameterValues, Math.max(paramIndex, parameterValues.length * 2));
+        }
+        parameterValues[paramIndex - 1] = value;
+        parameterCount = Math.max(parameterCount, paramIndex);
     }
 
     /**
@@ -61,6 +476,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, boolean value) {
         try {
             preparedStatement.setBoolean(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -75,6 +493,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, byte value) {
         try {
             preparedStatement.setByte(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -89,6 +510,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, short value) {
         try {
             preparedStatement.setShort(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -103,6 +527,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, int value) {
         try {
             preparedStatement.setInt(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -117,6 +544,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, long value) {
         try {
             preparedStatement.setLong(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -131,6 +561,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, float value) {
         try {
             preparedStatement.setFloat(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -145,6 +578,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, double value) {
         try {
             preparedStatement.setDouble(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -159,6 +595,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, BigDecimal value) {
         try {
             preparedStatement.setBigDecimal(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -173,6 +612,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, String value) {
         try {
             preparedStatement.setString(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -187,6 +629,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, byte[] value) {
         try {
             preparedStatement.setBytes(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -201,6 +646,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, Date value) {
         try {
             preparedStatement.setDate(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -227,6 +675,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, Time value) {
         try {
             preparedStatement.setTime(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -253,6 +704,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, Timestamp value) {
         try {
             preparedStatement.setTimestamp(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -279,6 +733,9 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     public Query setParameter(int paramIndex, Object value) {
         try {
             preparedStatement.setObject(paramIndex, value);
+            if (slowQueryThreshold > 0) {
+                captureParameter(paramIndex, value);
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -294,8 +751,95 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
      * @see ReadOnlyScrollableResult
      */
     public ReadOnlyScrollableResult execute() {
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
+        try (ResultSet result = preparedStatement.executeQuery()) {
+            long executedTime = currentTime();
+            CachedScrollableResult scrollableResult = new CachedScrollableResult(result, adaptFetchSize(result));
+            queryExecuted(event, startTime, executedTime, scrollableResult.getRowCount());
+            return scrollableResult;
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Asynchronously executes the SQL query by the executor of this query.
+     * <br>
+     * <b>Warning:</b> The query and its session must not be used until the returned future is completed,
+     * because JDBC connections do not support concurrent operations.
+     *
+     * @return a future of the result produced by the query,
+     *         it is completed exceptionally if a database access error occurs
+     * @see Query#execute()
+     */
+    public CompletableFuture<ReadOnlyScrollableResult> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, getExecutor());
+    }
+
+    /**
+     * Executes the SQL query and returns the {@link ForwardOnlyScrollableResult} object which reads rows
+     * lazily from the live cursor. Unlike {@link Query#execute()} the rows are not cached,
+     * so memory consumption does not depend on the number of rows.
+     * <br>
+     * <b>Note:</b> The result should be closed if it has not been read to the end.
+     *
+     * @return a <code>ForwardOnlyScrollableResult</code> object that streams the data produced by the query
+     * @throws RuntimeException if a database access error occurs
+     * @see ForwardOnlyScrollableResult
+     */
+    public ForwardOnlyScrollableResult executeStreaming() {
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
+        ResultSet result = null;
+        try {
+            result = executeOpenQuery();
+            if (event == null && !isTimed()) {
+                return new ForwardOnlyScrollableResult(result, adaptFetchSize(result));
+            }
+
+            long executedTime = currentTime();
+            return new ForwardOnlyScrollableResult(result, adaptFetchSize(result)) {
+                @Override
+                protected void afterClose() {
+                    queryExecuted(event, startTime, executedTime, getRowCount());
+                }
+            };
+        }
+        catch (SQLException e) {
+            safeCloseResultSet(result);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Executes the SQL query and passes every row of the result to the handler as soon as it is read from the cursor.
+     * The handler receives the same reusable row view for all rows, so no objects are created per row.
+     * The result set is closed after all rows have been processed.
+     *
+     * @param handler the handler of result rows
+     * @throws RuntimeException if a database access error occurs
+     * @see RowHandler
+     */
+    public void forEachRow(RowHandler handler) {
+        if (handler == null) {
+            throw new NullPointerException("Row handler is null");
+        }
+
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
         try (ResultSet result = preparedStatement.executeQuery()) {
-            return new CachedScrollableResult(result);
+            long executedTime = currentTime();
+            ResultSetRow row = new ResultSetRow(result);
+            AdaptiveFetchSize adaptiveFetchSize = adaptFetchSize(result);
+            long rowCount = 0;
+            while (result.next()) {
+                handler.handle(row);
+                adaptiveFetchSize.rowRead();
+                rowCount++;
+            }
+            queryExecuted(event, startTime, executedTime, rowCount);
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -312,23 +856,52 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
      * @throws RuntimeException if a database access error occurs
      */
     public int executeUpdate() {
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
         try {
-            return preparedStatement.executeUpdate();
+            int updateCount = preparedStatement.executeUpdate();
+            FlightRecorderEvents.endUpdate(event, sql, updateCount);
+            if (isTimed()) {
+                long elapsedTime = System.nanoTime() - startTime;
+                checkSlowQuery(elapsedTime, updateCount);
+                if (queryListener != null) {
+                    queryListener.onUpdate(sql, elapsedTime, updateCount);
+                }
+            }
+            return updateCount;
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Asynchronously executes the SQL Data Manipulation Language (DML) statement by the executor of this query.
+     * <br>
+     * <b>Warning:</b> The query and its session must not be used until the returned future is completed.
+     *
+     * @return a future of the row count, it is completed exceptionally if a database access error occurs
+     * @see Query#executeUpdate()
+     */
+    public CompletableFuture<Integer> executeUpdateAsync() {
+        return CompletableFuture.supplyAsync(this::executeUpdate, getExecutor());
+    }
+
     /**
      * Adds a set of parameters to this <code>Query</code> object's batch of commands.
+     * If the batch size is set and the batch has reached it, the batch is executed immediately.
      *
      * @return instance of the specific query
      * @throws RuntimeException if a database access error occurs
+     * @see Query#setBatchSize(int)
      */
     public Query addBatch() {
         try {
             preparedStatement.addBatch();
+            pendingBatchCount++;
+            if (batchSize > 0 && pendingBatchCount >= batchSize) {
+                flushBatch();
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -339,17 +912,152 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
     /**
      * Submits a batch of commands to the database for execution and
      * if all commands execute successfully, returns an array of update counts.
+     * The array also includes update counts of the batches that have been executed automatically
+     * since the previous call of this method.
      *
      * @return an array of update counts containing one element for each command in the batch
      * @throws RuntimeException if a database access error occurs
      */
     public int[] executeBatch() {
         try {
-            return preparedStatement.executeBatch();
+            int[] updateCounts = doExecuteBatch();
+            if (flushedUpdateCount == 0) {
+                return updateCounts;
+            }
+
+            int[] allUpdateCounts = Arrays.copyOf(flushedUpdateCounts, flushedUpdateCount + updateCounts.length);
+            System.arraycopy(updateCounts, 0, allUpdateCounts, flushedUpdateCount, updateCounts.length);
+            flushedUpdateCounts = EMPTY_UPDATE_COUNTS;
+            flushedUpdateCount = 0;
+            return allUpdateCounts;
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Asynchronously submits a batch of commands to the database by the executor of this query.
+     * <br>
+     * <b>Warning:</b> The query and its session must not be used until the returned future is completed.
+     *
+     * @return a future of the array of update counts, it is completed exceptionally if a database access error occurs
+     * @see Query#executeBatch()
+     */
+    public CompletableFuture<int[]> executeBatchAsync() {
+        return CompletableFuture.supplyAsync(this::executeBatch, getExecutor());
+    }
+
+    /**
+     * Executes the commands remaining in the batch if the batch size is set, as the method {@link Query#close()} does.
+     * The session calls this method before a transaction is committed and when the session is closed,
+     * so the commands are executed within the transaction they were added in.
+     *
+     * @throws RuntimeException if a database access error occurs
+     * @see Query#setBatchSize(int)
+     */
+    public void executePendingBatch() {
+        if (batchSize > 0 && pendingBatchCount > 0) {
+            try {
+                flushBatch();
+            }
+            catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Discards the commands of this <code>Query</code> object's batch that have not been executed yet,
+     * as well as the update counts of the batches executed automatically.
+     * The session calls this method when a transaction is rolled back,
+     * so the commands are never executed outside the transaction they were added in.
+     *
+     * @throws RuntimeException if a database access error occurs
+     */
+    public void discardBatch() {
+        try {
+            if (pendingBatchCount > 0) {
+                preparedStatement.clearBatch();
+            }
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
         }
+        finally {
+            pendingBatchCount = 0;
+            flushedUpdateCounts = EMPTY_UPDATE_COUNTS;
+            flushedUpdateCount = 0;
+        }
+    }
+
+    private void flushBatch() throws SQLException {
+        int[] updateCounts = doExecuteBatch();
+
+        int requiredLength = flushedUpdateCount + updateCounts.length;
+        if (requiredLength > flushedUpdateCounts.length) {
+            flushedUpdateCounts = Arrays.copyOf(flushedUpdateCounts, Math.max(requiredLength, flushedUpdateCounts.length * 2));
+        }
+        System.arraycopy(updateCounts, 0, flushedUpdateCounts, flushedUpdateCount, updateCounts.length);
+        flushedUpdateCount = requiredLength;
+    }
+
+    private int[] doExecuteBatch() throws SQLException {
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
+        int[] updateCounts = preparedStatement.executeBatch();
+        FlightRecorderEvents.endBatch(event, sql, pendingBatchCount);
+        if (isTimed()) {
+            long elapsedTime = System.nanoTime() - startTime;
+            // Only the parameters of the last command of the batch are logged.
+            checkSlowQuery(elapsedTime, sumUpdateCounts(updateCounts));
+            if (queryListener != null) {
+                queryListener.onBatch(sql, elapsedTime, pendingBatchCount);
+            }
+        }
+        pendingBatchCount = 0;
+        return updateCounts;
+    }
+
+    private static long sumUpdateCounts(int[] updateCounts) {
+        long totalCount = 0;
+        for (int updateCount: updateCounts) {
+            // Commands without the known number of updated rows are skipped.
+            if (updateCount > 0) {
+                totalCount += updateCount;
+            }
+        }
+        return totalCount;
+    }
+
+    /**
+     * Executes the query whose result is read lazily after this method returns, so the result remains open.
+     *
+     * @return the open result set
+     * @throws SQLException if a database access error occurs
+     */
+    ResultSet executeOpenQuery() throws SQLException {
+        openResultSet = preparedStatement.executeQuery();
+        return openResultSet;
+    }
+
+    /**
+     * Returns <code>true</code> if the query has neither batch commands which have not been executed yet
+     * nor an open result which is read lazily ({@link Query#executeStreaming()}, {@link TypedQuery#stream()},
+     * {@link TypedQuery#publish()}), so it can be closed without losing any work.
+     *
+     * @return <code>true</code> if the query is idle
+     */
+    public boolean isIdle() {
+        if (pendingBatchCount > 0) return false;
+        if (openResultSet == null) return true;
+
+        try {
+            return openResultSet.isClosed();
+        }
+        catch (SQLException e) {
+            return true;
+        }
     }
 
     /**
@@ -361,6 +1069,8 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
      *         <code>false</code> if it is inactive
      */
     public boolean isActive() {
+        if (closed) return false;
+
         try {
             return !preparedStatement.isClosed();
         }
@@ -369,6 +1079,17 @@ public class Query implements Unwrapable<PreparedStatement>, AutoCloseable, Inde
         }
     }
 
+    static void safeCloseResultSet(ResultSet resultSet) {
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            }
+            catch (SQLException e) {
+                // Intentionally swallow the exception.
+            }
+        }
+    }
+
     /**
      * Returns <code>true</code> if the query is still active.
      *
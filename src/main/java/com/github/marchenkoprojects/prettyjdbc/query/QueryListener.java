@@ -0,0 +1,89 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import java.util.List;
+
+/**
+ * Listener of the execution of queries, it is registered in the configuration of a session factory
+ * and receives the timings of all queries and transactions created by its sessions.
+ * Events are reported under the native SQL of the query, in which named parameters are already replaced by <code>?</code>.
+ * <br>
+ * The methods are called synchronously by the thread executing the query, often concurrently from several sessions,
+ * so implementations must be thread-safe and fast. All methods do nothing by default.
+ * <br>
+ * <b>Note:</b> If the rows are processed while they are read (e.g. {@link Query#forEachRow(RowHandler)},
+ * {@link TypedQuery#stream()}), the fetch time includes the processing time of the caller.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.Configuration#addQueryListener(QueryListener)
+ */
+public interface QueryListener {
+
+    /**
+     * Called after the statement has been prepared by the connection.
+     * Statements reused from the statement cache of a session are not reported.
+     *
+     * @param sql the native SQL of the query
+     * @param elapsedNanos the preparation time in nanoseconds
+     */
+    default void onPrepare(String sql, long elapsedNanos) {
+    }
+
+    /**
+     * Called after the result of the query has been read to the end or closed.
+     *
+     * @param sql the native SQL of the query
+     * @param executeNanos the execution time in nanoseconds until the result was available
+     * @param fetchNanos the time in nanoseconds of reading and mapping of rows
+     * @param rowCount the number of rows read from the result
+     */
+    default void onQuery(String sql, long executeNanos, long fetchNanos, long rowCount) {
+    }
+
+    /**
+     * Called after the DML statement has been executed.
+     *
+     * @param sql the native SQL of the query
+     * @param executeNanos the execution time in nanoseconds
+     * @param updateCount the number of updated rows
+     */
+    default void onUpdate(String sql, long executeNanos, long updateCount) {
+    }
+
+    /**
+     * Called after the batch of commands has been executed, explicitly or automatically.
+     *
+     * @param sql the native SQL of the query
+     * @param executeNanos the execution time in nanoseconds
+     * @param batchSize the number of commands in the batch
+     */
+    default void onBatch(String sql, long executeNanos, int batchSize) {
+    }
+
+    /**
+     * Called after the transaction of a session has been committed or rolled back.
+     *
+     * @param committed <code>true</code> if the transaction has been committed, <code>false</code> if rolled back
+     * @param elapsedNanos the time of the commit or rollback in nanoseconds
+     */
+    default void onTransaction(boolean committed, long elapsedNanos) {
+    }
+
+    /**
+     * Combines the listeners into a single listener which notifies them in the given order.
+     *
+     * @param listeners the listeners to combine
+     * @return <code>null</code> if the list is empty, the single listener or the composite listener
+     */
+    static QueryListener composite(List<? extends QueryListener> listeners) {
+        if (listeners == null) {
+            throw new NullPointerException("Listeners is null");
+        }
+
+        switch (listeners.size()) {
+            case 0: return null;
+            case 1: return listeners.get(0);
+            default: return new CompositeQueryListener(listeners);
+        }
+    }
+}
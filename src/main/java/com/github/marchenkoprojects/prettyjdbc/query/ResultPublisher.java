@@ -0,0 +1,219 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class publishes the results of a {@link TypedQuery} to a subscriber with respect to its demand (backpressure).
+ * The query is executed only when the first result is requested, and rows are read from the cursor
+ * only as the subscriber requests them. The fetch size of the result set follows the demand,
+ * so the driver does not prefetch more rows than requested (up to {@value #MAX_FETCH_SIZE} rows at a time).
+ * <br>
+ * Results are read and delivered by the executor of the query, so the thread requesting results is never blocked,
+ * and the subscriber methods are never called concurrently.
+ * The result set and the statement of the query are closed when all results have been delivered,
+ * the query has failed or the subscription has been cancelled.
+ * <br>
+ * The publisher supports a single subscriber, as the results of the query can be read only once.
+ * The interfaces mirror <code>java.util.concurrent.Flow</code> which is not available in Java 8.
+ *
+ * @param <T> type of results
+ *
+ * @author Oleg Marchenko
+ *
+ * @see TypedQuery#publish()
+ * @see ResultSubscriber
+ */
+public final class ResultPublisher<T> {
+    /**
+     * The maximum fetch size set according to the demand of the subscriber.
+     */
+    public static final int MAX_FETCH_SIZE = 1000;
+
+    private final TypedQuery<T> query;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    ResultPublisher(TypedQuery<T> query) {
+        this.query = query;
+    }
+
+    /**
+     * Subscribes the subscriber to the results of the query.
+     * If the publisher already has a subscriber, the new one receives the error {@link IllegalStateException}.
+     *
+     * @param subscriber the subscriber of results
+     */
+    public void subscribe(ResultSubscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber is null");
+        }
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new ResultSubscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Result publisher supports only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new RowSubscription<>(query, subscriber));
+    }
+
+    /**
+     * Subscription which reads rows by the executor of the query in a serialized drain loop.
+     */
+    private static final class RowSubscription<T> implements ResultSubscription {
+        private final TypedQuery<T> query;
+        private final ResultSubscriber<? super T> subscriber;
+        private final Executor executor;
+
+        private final AtomicLong demand = new AtomicLong();
+        /**
+         * Number of pending drain requests, the loop is running while it is positive.
+         */
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+
+        // These fields are accessed only within the drain loop.
+        private ResultSet resultSet;
+        private ResultMapper<T> resultMapper;
+        private int fetchSize;
+        private boolean done;
+        private Object event;
+        private long startTime;
+        private long executedTime;
+        private long rowCount;
+
+        private RowSubscription(TypedQuery<T> query, ResultSubscriber<? super T> subscriber) {
+            this.query = query;
+            this.subscriber = subscriber;
+            this.executor = query.getExecutor();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = true;
+            }
+            else {
+                demand.accumulateAndGet(n, (current, added) -> {
+                    long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    if (cancelled) {
+                        finish();
+                    }
+                    else if (invalidRequest) {
+                        finish();
+                        subscriber.onError(new IllegalArgumentException("Number of requested results is not positive"));
+                    }
+                    else {
+                        emit();
+                    }
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+
+        private void emit() {
+            long requested = demand.get();
+            if (requested == 0) return;
+
+            try {
+                if (resultSet == null) {
+                    event = FlightRecorderEvents.beginExecution();
+                    startTime = query.currentTime();
+                    resultSet = query.executeOpenQuery();
+                    executedTime = query.currentTime();
+                    resultMapper = query.obtainResultMapper(resultSet);
+                }
+                adjustFetchSize(requested);
+
+                long emitted = 0;
+                while (emitted != requested) {
+                    if (cancelled || invalidRequest) return;
+
+                    if (!resultSet.next()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(resultMapper.map(resultSet));
+                    emitted++;
+                    rowCount++;
+                }
+
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+            }
+            catch (SQLException e) {
+                finish();
+                subscriber.onError(new RuntimeException(e));
+            }
+            catch (RuntimeException e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void adjustFetchSize(long requested) throws SQLException {
+            int newFetchSize = (int) Math.min(requested, MAX_FETCH_SIZE);
+            if (newFetchSize == fetchSize) return;
+
+            try {
+                resultSet.setFetchSize(newFetchSize);
+                fetchSize = newFetchSize;
+            }
+            catch (SQLFeatureNotSupportedException e) {
+                // The fetch size is only a hint, so drivers which cannot change it are used as is.
+                fetchSize = newFetchSize;
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (resultSet != null) {
+                Query.safeCloseResultSet(resultSet);
+                query.queryExecuted(event, startTime, executedTime, rowCount);
+                resultSet = null;
+            }
+            Query.safeCloseQuery(query);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+/**
+ * This interface represents a receiver of the results published by a {@link ResultPublisher}.
+ * It mirrors <code>java.util.concurrent.Flow.Subscriber</code> which is not available in Java 8,
+ * so on Java 9 and later a Flow subscriber can be adapted by delegating every method.
+ *
+ * @param <T> type of results
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultPublisher
+ */
+public interface ResultSubscriber<T> {
+
+    /**
+     * Called before any other method with the subscription through which results are requested.
+     *
+     * @param subscription the new subscription
+     */
+    void onSubscribe(ResultSubscription subscription);
+
+    /**
+     * Called with the next result when it has been requested.
+     *
+     * @param item the next result
+     */
+    void onNext(T item);
+
+    /**
+     * Called when the query has failed. No other methods are called after that.
+     *
+     * @param throwable the error
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called when all results have been delivered. No other methods are called after that.
+     */
+    void onComplete();
+}
@@ -0,0 +1,26 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+/**
+ * This interface represents the link between a {@link ResultPublisher} and a {@link ResultSubscriber}
+ * through which the subscriber requests results and cancels the subscription.
+ * It mirrors <code>java.util.concurrent.Flow.Subscription</code> which is not available in Java 8.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultPublisher
+ */
+public interface ResultSubscription {
+
+    /**
+     * Adds the number of results to the demand of the subscriber.
+     * The results are read from the database and delivered only while the demand is not satisfied.
+     *
+     * @param n the number of results, must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops delivering results and releases the result set and the statement of the query.
+     */
+    void cancel();
+}
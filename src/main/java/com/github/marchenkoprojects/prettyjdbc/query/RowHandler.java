@@ -0,0 +1,23 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ResultRow;
+
+/**
+ * This functional interface describes processing of a single row of the query result without intermediate objects.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see Query#forEachRow(RowHandler)
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * Processes the current row of the query result.
+     * <br>
+     * <b>Note:</b> The row is a reusable view over the cursor and must not be stored outside this method.
+     *
+     * @param row view of the current row
+     */
+    void handle(ResultRow row);
+}
@@ -0,0 +1,81 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import com.github.marchenkoprojects.prettyjdbc.util.CallerSite;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This internal class logs the executions of queries which are slower than the slow query threshold.
+ * A record contains the native SQL, the values of parameters, the number of rows
+ * and the first method outside the library in the stack of the executing thread (the caller site).
+ * The record is built only when the threshold has been exceeded.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see Query#setSlowQueryThreshold(long)
+ */
+final class SlowQueryLog {
+    private static final Logger LOGGER = Logger.getLogger(SlowQueryLog.class.getName());
+    private static final int MAX_STRING_LENGTH = 100;
+
+    /**
+     * Logs the execution of the slow query.
+     *
+     * @param sql the native SQL of the query
+     * @param parameterValues values of parameters by their indexes or <code>null</code> if no parameters have been set
+     * @param parameterCount the highest index of the set parameters
+     * @param elapsedNanos the execution time in nanoseconds
+     * @param rowCount the number of read or updated rows
+     */
+    static void log(String sql, Object[] parameterValues, int parameterCount, long elapsedNanos, long rowCount) {
+        if (!LOGGER.isLoggable(Level.WARNING)) return;
+
+        StringBuilder message = new StringBuilder(128)
+                .append("Slow query took ").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms")
+                .append(", rows: ").append(rowCount)
+                .append(", SQL: ").append(sql);
+        if (parameterValues != null) {
+            message.append(", parameters: ");
+            appendParameterValues(message, parameterValues, parameterCount);
+        }
+        StackTraceElement callerSite = CallerSite.find();
+        if (callerSite != null) {
+            message.append(", called from ").append(callerSite);
+        }
+        LOGGER.warning(message.toString());
+    }
+
+    private static void appendParameterValues(StringBuilder message, Object[] parameterValues, int parameterCount) {
+        message.append('[');
+        for (int i = 0; i < parameterCount; i++) {
+            if (i > 0) {
+                message.append(", ");
+            }
+
+            Object value = parameterValues[i];
+            if (value instanceof String) {
+                String string = (String) value;
+                message.append('\'');
+                if (string.length() > MAX_STRING_LENGTH) {
+                    message.append(string, 0, MAX_STRING_LENGTH).append("...");
+                }
+                else {
+                    message.append(string);
+                }
+                message.append('\'');
+            }
+            else if (value instanceof byte[]) {
+                message.append("byte[").append(((byte[]) value).length).append(']');
+            }
+            else {
+                message.append(value);
+            }
+        }
+        message.append(']');
+    }
+
+    private SlowQueryLog() {
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.marchenkoprojects.prettyjdbc.query;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Takes back the {@link PreparedStatement} of a closed query instead of closing it,
+ * e.g. to return the statement to the statement cache of a session.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see Query#setStatementReleaser(StatementReleaser)
+ */
+@FunctionalInterface
+public interface StatementReleaser {
+
+    /**
+     * Releases the statement of the closed query. The query no longer uses the statement.
+     *
+     * @param preparedStatement the statement of the closed query
+     * @throws SQLException if a database access error occurs
+     */
+    void release(PreparedStatement preparedStatement) throws SQLException;
+}
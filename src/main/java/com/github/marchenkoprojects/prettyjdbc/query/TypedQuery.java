@@ -1,6 +1,10 @@
 package com.github.marchenkoprojects.prettyjdbc.query;
 
 import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+import com.github.marchenkoprojects.prettyjdbc.mapper.bean.BeanResultMapperFactory;
+import com.github.marchenkoprojects.prettyjdbc.util.AdaptiveFetchSize;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
+import com.github.marchenkoprojects.prettyjdbc.util.ParsedQuery;
 
 import java.math.BigDecimal;
 import java.sql.*;
@@ -8,8 +12,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class represents a typed SQL query with the ability to mapping the result in a specific object type.
@@ -18,7 +30,13 @@ import java.util.List;
  * <br>
  * After the query is executed the result data tuple can be transformed into a single object or a list of objects.
  * To convert the result set to a single object, use the method {@link TypedQuery#unique()};
- * or convert to a list of objects, use the method {@link TypedQuery#list()}.
+ * or convert to a list of objects, use the method {@link TypedQuery#list()};
+ * or process objects one at a time, use the methods {@link TypedQuery#stream()} and {@link TypedQuery#forEach(Consumer)}.
+ * The methods {@link TypedQuery#uniqueAsync()} and {@link TypedQuery#listAsync()} perform the same asynchronously
+ * and the method {@link TypedQuery#publish()} delivers objects to a reactive subscriber on demand.
+ * <br>
+ * If the result mapper is not set, the result set is transformed automatically by the mapper
+ * from {@link BeanResultMapperFactory} which matches the columns with the properties of the result type.
  *
  * @param <T> the specific object type
  *
@@ -31,6 +49,7 @@ public class TypedQuery<T> extends NamedParameterQuery {
 
     private final Class<T> resultType;
     private ResultMapper<T> resultMapper;
+    private ResultMapper<T> defaultResultMapper;
 
     public TypedQuery(PreparedStatement preparedStatement, Class<T> resultType) {
         this(preparedStatement, Collections.emptyList(), resultType);
@@ -45,6 +64,24 @@ public class TypedQuery<T> extends NamedParameterQuery {
         this.resultType = resultType;
     }
 
+    public TypedQuery(PreparedStatement preparedStatement, ParsedQuery parsedQuery, Class<T> resultType) {
+        super(preparedStatement, parsedQuery);
+
+        if (resultType == null) {
+            throw new NullPointerException("Result type is null");
+        }
+        this.resultType = resultType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setBatchSize(int batchSize) {
+        super.setBatchSize(batchSize);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -54,6 +91,87 @@ public class TypedQuery<T> extends NamedParameterQuery {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setFetchSize(int fetchSize) {
+        super.setFetchSize(fetchSize);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setMaxRows(long maxRows) {
+        super.setMaxRows(maxRows);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setFetchDirection(FetchDirection fetchDirection) {
+        super.setFetchDirection(fetchDirection);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setMaxAdaptiveFetchSize(int maxAdaptiveFetchSize) {
+        super.setMaxAdaptiveFetchSize(maxAdaptiveFetchSize);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setExecutor(Executor executor) {
+        super.setExecutor(executor);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setSql(String sql) {
+        super.setSql(sql);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setQueryListener(QueryListener queryListener) {
+        super.setQueryListener(queryListener);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setSlowQueryThreshold(long slowQueryThreshold) {
+        super.setSlowQueryThreshold(slowQueryThreshold);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> setStatementReleaser(StatementReleaser statementReleaser) {
+        super.setStatementReleaser(statementReleaser);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -360,8 +478,27 @@ public class TypedQuery<T> extends NamedParameterQuery {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> bindBean(Object bean) {
+        super.bindBean(bean);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedQuery<T> addBatch(Collection<?> beans) {
+        super.addBatch(beans);
+        return this;
+    }
+
     /**
      * Sets the result mapper for transforming to specific typed object.
+     * If it is not set, the result mapper is obtained from {@link BeanResultMapperFactory}.
      *
      * @param resultMapper the specific result mapper
      * @return instance of this query
@@ -378,40 +515,67 @@ public class TypedQuery<T> extends NamedParameterQuery {
      * Retrieves a single tuple from the {@link ResultSet} and transforms it into a specific object.
      *
      * @return a single specific object or <code>null</code>, if the result set is empty
-     * @throws IllegalStateException if the result mapper is null
+     * @throws IllegalStateException if the result mapper is not set and cannot be created for the result type
      * @throws RuntimeException if a database access error occurs
      *  or this method is called when the session connection is closed
      */
     public T unique() {
-        checkMapperPresent();
-
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
         try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            long executedTime = currentTime();
+            Object mappingEvent = FlightRecorderEvents.beginMapping();
+            T result = null;
+            int rowCount = 0;
             if (resultSet.next()) {
-                return resultMapper.map(resultSet);
+                result = obtainResultMapper(resultSet).map(resultSet);
+                rowCount = 1;
             }
-            return null;
+            FlightRecorderEvents.endMapping(mappingEvent, resultType, rowCount);
+            queryExecuted(event, startTime, executedTime, rowCount);
+            return result;
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Asynchronously retrieves a single tuple by the executor of this query and transforms it into a specific object.
+     * <br>
+     * <b>Warning:</b> The query and its session must not be used until the returned future is completed.
+     *
+     * @return a future of a single specific object or <code>null</code>, if the result set is empty;
+     *         it is completed exceptionally if a database access error occurs
+     * @see TypedQuery#unique()
+     */
+    public CompletableFuture<T> uniqueAsync() {
+        return CompletableFuture.supplyAsync(this::unique, getExecutor());
+    }
+
     /**
      * Retrieves all tuples from the {@link ResultSet} and transforms it into a list of specific objects.
      *
      * @return a list of specific objects
-     * @throws IllegalStateException if the result mapper is null
+     * @throws IllegalStateException if the result mapper is not set and cannot be created for the result type
      * @throws RuntimeException if a database access error occurs
      *  or this method is called when the session connection is closed
      */
     public List<T> list() {
-        checkMapperPresent();
-
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
         try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            long executedTime = currentTime();
+            Object mappingEvent = FlightRecorderEvents.beginMapping();
+            ResultMapper<T> resultMapper = obtainResultMapper(resultSet);
+            AdaptiveFetchSize adaptiveFetchSize = adaptFetchSize(resultSet);
             List<T> list = new ArrayList<>(32);
             while (resultSet.next()) {
                 list.add(resultMapper.map(resultSet));
+                adaptiveFetchSize.rowRead();
             }
+            FlightRecorderEvents.endMapping(mappingEvent, resultType, list.size());
+            queryExecuted(event, startTime, executedTime, list.size());
             return list;
         }
         catch (SQLException e) {
@@ -419,9 +583,147 @@ public class TypedQuery<T> extends NamedParameterQuery {
         }
     }
 
-    private void checkMapperPresent() {
-        if (resultMapper == null) {
-            throw new IllegalStateException("Result mapper for type '" + resultType.getSimpleName() + "' not found");
+    /**
+     * Asynchronously retrieves all tuples by the executor of this query and transforms them into a list of specific objects.
+     * <br>
+     * <b>Warning:</b> The query and its session must not be used until the returned future is completed.
+     *
+     * @return a future of a list of specific objects, it is completed exceptionally if a database access error occurs
+     * @see TypedQuery#list()
+     */
+    public CompletableFuture<List<T>> listAsync() {
+        return CompletableFuture.supplyAsync(this::list, getExecutor());
+    }
+
+    /**
+     * Retrieves tuples from the {@link ResultSet} one at a time, transforms them into specific objects
+     * and passes them to the action without collecting into an intermediate collection.
+     * The result set is closed after all tuples have been processed.
+     *
+     * @param action the action to be performed for each specific object
+     * @throws IllegalStateException if the result mapper is not set and cannot be created for the result type
+     * @throws RuntimeException if a database access error occurs
+     *  or this method is called when the session connection is closed
+     */
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new NullPointerException("Action is null");
+        }
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            long executedTime = currentTime();
+            Object mappingEvent = FlightRecorderEvents.beginMapping();
+            ResultMapper<T> resultMapper = obtainResultMapper(resultSet);
+            AdaptiveFetchSize adaptiveFetchSize = adaptFetchSize(resultSet);
+            long rowCount = 0;
+            while (resultSet.next()) {
+                action.accept(resultMapper.map(resultSet));
+                adaptiveFetchSize.rowRead();
+                rowCount++;
+            }
+            FlightRecorderEvents.endMapping(mappingEvent, resultType, rowCount);
+            queryExecuted(event, startTime, executedTime, rowCount);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Executes the query and returns a lazily populated {@link Stream} of specific objects backed by the open cursor.
+     * Tuples are retrieved from the {@link ResultSet} and transformed only when the stream is consumed.
+     * <br>
+     * <b>Warning:</b> The stream must be closed after use, usually with try-with-resources.
+     * Closing the stream releases the result set and closes this query.
+     *
+     * @return a lazy stream of specific objects
+     * @throws IllegalStateException if the result mapper is not set and cannot be created for the result type
+     * @throws RuntimeException if a database access error occurs
+     *  or this method is called when the session connection is closed
+     */
+    public Stream<T> stream() {
+        Object event = FlightRecorderEvents.beginExecution();
+        long startTime = currentTime();
+        ResultSet resultSet = null;
+        try {
+            resultSet = executeOpenQuery();
+            long executedTime = currentTime();
+            ResultSpliterator<T> spliterator = new ResultSpliterator<>(resultSet, obtainResultMapper(resultSet), adaptFetchSize(resultSet));
+            ResultSet streamResultSet = resultSet;
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(() -> {
+                        safeCloseResultSet(streamResultSet);
+                        queryExecuted(event, startTime, executedTime, spliterator.rowCount);
+                        safeCloseQuery(this);
+                    });
+        }
+        catch (SQLException e) {
+            safeCloseResultSet(resultSet);
+            throw new RuntimeException(e);
+        }
+        catch (RuntimeException e) {
+            safeCloseResultSet(resultSet);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the publisher of specific objects for a reactive subscriber.
+     * The query is executed when the subscriber requests the first object and tuples are retrieved
+     * only as the subscriber requests them, so the memory consumption does not depend on the size of the result.
+     * <br>
+     * Objects are delivered by the executor of this query. The query is closed when all objects have been delivered,
+     * an error has occurred or the subscription has been cancelled.
+     * <br>
+     * <b>Warning:</b> The query and its session must not be used until the subscription is finished.
+     *
+     * @return the publisher of specific objects
+     * @see ResultPublisher
+     */
+    public ResultPublisher<T> publish() {
+        return new ResultPublisher<>(this);
+    }
+
+    ResultMapper<T> obtainResultMapper(ResultSet resultSet) throws SQLException {
+        if (resultMapper != null) {
+            return resultMapper;
+        }
+        if (defaultResultMapper == null) {
+            defaultResultMapper = BeanResultMapperFactory.getResultMapper(resultType, resultSet.getMetaData());
+        }
+        return defaultResultMapper;
+    }
+
+    /**
+     * Spliterator which retrieves tuples from the open result set and transforms them on demand.
+     */
+    private static class ResultSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final ResultMapper<T> resultMapper;
+        private final AdaptiveFetchSize adaptiveFetchSize;
+        private long rowCount;
+
+        ResultSpliterator(ResultSet resultSet, ResultMapper<T> resultMapper, AdaptiveFetchSize adaptiveFetchSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.resultSet = resultSet;
+            this.resultMapper = resultMapper;
+            this.adaptiveFetchSize = adaptiveFetchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) return false;
+
+                action.accept(resultMapper.map(resultSet));
+                adaptiveFetchSize.rowRead();
+                rowCount++;
+                return true;
+            }
+            catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 }
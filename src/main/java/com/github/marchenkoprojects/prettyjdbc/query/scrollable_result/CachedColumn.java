@@ -0,0 +1,220 @@
+package com.github.marchenkoprojects.prettyjdbc.query.scrollable_result;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This internal class stores the values of a single column of the cached result set.
+ * Columns of numeric types are stored in arrays of primitives with a bitmap of <code>null</code> values,
+ * so reading them by the primitive getters does not require boxing.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see CachedScrollableResult
+ */
+abstract class CachedColumn {
+
+    protected int size;
+
+    /**
+     * Creates a column store for the specified SQL type from {@link java.sql.ResultSetMetaData}.
+     * Values of unsigned integer columns (e.g. <code>INT UNSIGNED</code> of MySQL) may not fit into
+     * the primitive of the same size, so they are stored as the objects returned by the driver.
+     *
+     * @param sqlType SQL type of the column from {@link Types}
+     * @param signed <code>true</code> if values of the column are signed numbers
+     * @param capacity initial number of rows
+     * @return a new column store
+     */
+    static CachedColumn of(int sqlType, boolean signed, int capacity) {
+        switch (sqlType) {
+            case Types.INTEGER:
+                return signed ? new IntColumn(capacity) : new ObjectColumn(capacity);
+            case Types.BIGINT:
+                return signed ? new LongColumn(capacity) : new ObjectColumn(capacity);
+            case Types.DOUBLE:
+            case Types.FLOAT:
+                return new DoubleColumn(capacity);
+            default:
+                return new ObjectColumn(capacity);
+        }
+    }
+
+    /**
+     * Reads the value of this column from the current row of the result set and appends it.
+     *
+     * @param resultSet the result set positioned on a row
+     * @param columnIndex column index in the result set which must begin with 1
+     * @throws SQLException if a database access error occurs
+     */
+    abstract void read(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    abstract Object getObject(int rowIndex);
+
+    int getInt(int rowIndex) {
+        return (Integer) getObject(rowIndex);
+    }
+
+    long getLong(int rowIndex) {
+        return (Long) getObject(rowIndex);
+    }
+
+    double getDouble(int rowIndex) {
+        return (Double) getObject(rowIndex);
+    }
+
+    protected void checkRowIndex(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= size) {
+            throw new IndexOutOfBoundsException("Row index: " + rowIndex + ", Size: " + size);
+        }
+    }
+
+    protected static int grow(int capacity) {
+        return Math.max(capacity + (capacity >> 1), 8);
+    }
+
+    private static final class ObjectColumn extends CachedColumn {
+        private final List<Object> values;
+
+        ObjectColumn(int capacity) {
+            this.values = new ArrayList<>(capacity);
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            values.add(resultSet.getObject(columnIndex));
+            size++;
+        }
+
+        @Override
+        Object getObject(int rowIndex) {
+            return values.get(rowIndex);
+        }
+    }
+
+    /**
+     * Base class for columns of primitive types which tracks <code>null</code> values in a bitmap.
+     */
+    private static abstract class PrimitiveColumn extends CachedColumn {
+        private BitSet nulls;
+
+        protected void markNull(int rowIndex) {
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(rowIndex);
+        }
+
+        protected boolean isNull(int rowIndex) {
+            checkRowIndex(rowIndex);
+            return nulls != null && nulls.get(rowIndex);
+        }
+
+        protected void checkNotNull(int rowIndex) {
+            if (isNull(rowIndex)) {
+                throw new NullPointerException("Column value in row " + rowIndex + " is null");
+            }
+        }
+    }
+
+    private static final class IntColumn extends PrimitiveColumn {
+        private int[] values;
+
+        IntColumn(int capacity) {
+            this.values = new int[capacity];
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+
+            values[size] = resultSet.getInt(columnIndex);
+            if (resultSet.wasNull()) {
+                markNull(size);
+            }
+            size++;
+        }
+
+        @Override
+        Object getObject(int rowIndex) {
+            return isNull(rowIndex) ? null : values[rowIndex];
+        }
+
+        @Override
+        int getInt(int rowIndex) {
+            checkNotNull(rowIndex);
+            return values[rowIndex];
+        }
+    }
+
+    private static final class LongColumn extends PrimitiveColumn {
+        private long[] values;
+
+        LongColumn(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+
+            values[size] = resultSet.getLong(columnIndex);
+            if (resultSet.wasNull()) {
+                markNull(size);
+            }
+            size++;
+        }
+
+        @Override
+        Object getObject(int rowIndex) {
+            return isNull(rowIndex) ? null : values[rowIndex];
+        }
+
+        @Override
+        long getLong(int rowIndex) {
+            checkNotNull(rowIndex);
+            return values[rowIndex];
+        }
+    }
+
+    private static final class DoubleColumn extends PrimitiveColumn {
+        private double[] values;
+
+        DoubleColumn(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        @Override
+        void read(ResultSet resultSet, int columnIndex) throws SQLException {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+
+            values[size] = resultSet.getDouble(columnIndex);
+            if (resultSet.wasNull()) {
+                markNull(size);
+            }
+            size++;
+        }
+
+        @Override
+        Object getObject(int rowIndex) {
+            return isNull(rowIndex) ? null : values[rowIndex];
+        }
+
+        @Override
+        double getDouble(int rowIndex) {
+            checkNotNull(rowIndex);
+            return values[rowIndex];
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package com.github.marchenkoprojects.prettyjdbc.query.scrollable_result;
 
+import com.github.marchenkoprojects.prettyjdbc.util.AdaptiveFetchSize;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
+
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Caches data from the {@link ResultSet} providing the same interaction interface.
+ * The data is stored by columns and the column store is chosen by the SQL type of the column,
+ * so the values of <code>INTEGER</code>, <code>BIGINT</code> and <code>DOUBLE</code> columns are kept as primitives.
  *
  * @author Oleg Marchenko
  *
@@ -21,19 +24,24 @@ public class CachedScrollableResult implements ReadOnlyScrollableResult {
     private static final int DEFAULT_ROWS_CAPACITY = 64;
     private static final int BEFORE_FIRST_ROW_INDEX = -1;
 
-    private final List<List<Object>> cachedResults;
+    private final CachedColumn[] cachedResults;
     private final Map<String, Integer> columnNameToIndexRegistry;
     private int cursorIndex = BEFORE_FIRST_ROW_INDEX;
     private int rowCount;
 
     public CachedScrollableResult(ResultSet resultSet) throws SQLException {
+        this(resultSet, AdaptiveFetchSize.disabled());
+    }
+
+    public CachedScrollableResult(ResultSet resultSet, AdaptiveFetchSize adaptiveFetchSize) throws SQLException {
+        Object event = FlightRecorderEvents.beginMaterialization();
         ResultSetMetaData metaData = resultSet.getMetaData();
         int columnCount = metaData.getColumnCount();
 
-        cachedResults = new ArrayList<>(columnCount);
+        cachedResults = new CachedColumn[columnCount];
         columnNameToIndexRegistry = new HashMap<>(columnCount + 1, 1);
         for (int i = 1; i <= columnCount; i++) {
-            cachedResults.add(new ArrayList<>(DEFAULT_ROWS_CAPACITY));
+            cachedResults[i - 1] = CachedColumn.of(metaData.getColumnType(i), metaData.isSigned(i), DEFAULT_ROWS_CAPACITY);
 
             String columnName = metaData.getColumnName(i).toLowerCase();
             columnNameToIndexRegistry.put(columnName, i - 1);
@@ -41,10 +49,12 @@ public class CachedScrollableResult implements ReadOnlyScrollableResult {
 
         while (resultSet.next()) {
             for (int i = 1; i <= columnCount; i++) {
-                cachedResults.get(i - 1).add(resultSet.getObject(i));
+                cachedResults[i - 1].read(resultSet, i);
             }
             rowCount++;
+            adaptiveFetchSize.rowRead();
         }
+        FlightRecorderEvents.endMaterialization(event, rowCount, columnCount);
     }
 
     /**
@@ -190,7 +200,7 @@ public class CachedScrollableResult implements ReadOnlyScrollableResult {
      */
     @Override
     public int getInt(int columnIndex) {
-        return (Integer) getObject(columnIndex);
+        return getColumn(columnIndex).getInt(cursorIndex);
     }
 
     /**
@@ -198,7 +208,7 @@ public class CachedScrollableResult implements ReadOnlyScrollableResult {
      */
     @Override
     public long getLong(int columnIndex) {
-        return (Long) getObject(columnIndex);
+        return getColumn(columnIndex).getLong(cursorIndex);
     }
 
     /**
@@ -214,7 +224,7 @@ public class CachedScrollableResult implements ReadOnlyScrollableResult {
      */
     @Override
     public double getDouble(int columnIndex) {
-        return (Double) getObject(columnIndex);
+        return getColumn(columnIndex).getDouble(cursorIndex);
     }
 
     /**
@@ -303,7 +313,14 @@ public class CachedScrollableResult implements ReadOnlyScrollableResult {
      */
     @Override
     public Object getObject(int columnIndex) {
-        return cachedResults.get(columnIndex - 1).get(cursorIndex);
+        return getColumn(columnIndex).getObject(cursorIndex);
+    }
+
+    private CachedColumn getColumn(int columnIndex) {
+        if (columnIndex < 1 || columnIndex > cachedResults.length) {
+            throw new IndexOutOfBoundsException("Column index: " + columnIndex + ", Size: " + cachedResults.length);
+        }
+        return cachedResults[columnIndex - 1];
     }
 
     /**
@@ -0,0 +1,214 @@
+package com.github.marchenkoprojects.prettyjdbc.query.scrollable_result;
+
+import com.github.marchenkoprojects.prettyjdbc.util.AdaptiveFetchSize;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams data from the live {@link ResultSet} row by row providing the same interaction interface
+ * as {@link CachedScrollableResult}. Rows are not cached, so memory consumption does not depend on the number of rows.
+ * <br>
+ * The cursor can only be moved forward, therefore the methods that require backward navigation
+ * or knowledge of the following rows throw {@link UnsupportedOperationException}.
+ * The underlying result set is closed automatically after the last row has been read
+ * or explicitly by the method {@link ForwardOnlyScrollableResult#close()}.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ReadOnlyScrollableResult
+ */
+public class ForwardOnlyScrollableResult extends ResultSetRow implements ReadOnlyScrollableResult, AutoCloseable {
+    private static final int BEFORE_FIRST_ROW_INDEX = -1;
+
+    private int cursorIndex = BEFORE_FIRST_ROW_INDEX;
+    private int rowCount;
+    private boolean exhausted;
+    private boolean closed;
+    private final AdaptiveFetchSize adaptiveFetchSize;
+
+    public ForwardOnlyScrollableResult(ResultSet resultSet) throws SQLException {
+        this(resultSet, AdaptiveFetchSize.disabled());
+    }
+
+    public ForwardOnlyScrollableResult(ResultSet resultSet, AdaptiveFetchSize adaptiveFetchSize) throws SQLException {
+        super(resultSet);
+        this.adaptiveFetchSize = adaptiveFetchSize;
+    }
+
+    /**
+     * This operation is not supported because the cursor can only be moved forward.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean previous() {
+        throw new UnsupportedOperationException("Forward-only result does not support backward navigation");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean next() {
+        if (exhausted) return false;
+
+        try {
+            if (resultSet.next()) {
+                cursorIndex++;
+                rowCount++;
+                adaptiveFetchSize.rowRead();
+                return true;
+            }
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        exhausted = true;
+        cursorIndex = rowCount;
+        close();
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if this result set contains no rows.
+     * <br>
+     * <b>Note:</b> The result can only be determined after the first call of the method {@link #next()}.
+     *
+     * @return <code>true</code> if this result set contains no rows
+     * @throws UnsupportedOperationException if the cursor is before the first row
+     */
+    @Override
+    public boolean isEmpty() {
+        if (isBeforeFirst()) {
+            throw new UnsupportedOperationException("Emptiness of forward-only result is unknown before the first row");
+        }
+        return rowCount == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isBeforeFirst() {
+        return cursorIndex == BEFORE_FIRST_ROW_INDEX && !exhausted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAfterLast() {
+        return exhausted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isFirst() {
+        return cursorIndex == 0 && !exhausted;
+    }
+
+    /**
+     * This operation is not supported because it requires reading the following row.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean isLast() {
+        throw new UnsupportedOperationException("Forward-only result does not support checking the last row");
+    }
+
+    /**
+     * Does nothing if the cursor is already before the first row.
+     *
+     * @throws UnsupportedOperationException if the cursor has already been moved
+     */
+    @Override
+    public void beforeFirst() {
+        if (!isBeforeFirst()) {
+            throw new UnsupportedOperationException("Forward-only result does not support backward navigation");
+        }
+    }
+
+    /**
+     * Skips all remaining rows and moves the cursor just after the last row.
+     */
+    @Override
+    public void afterLast() {
+        while (next()) {
+            // Skip the remaining rows.
+        }
+    }
+
+    /**
+     * Moves the cursor to the first row if the cursor is before the first row.
+     *
+     * @return <code>true</code> if the cursor is on a valid row
+     * @throws UnsupportedOperationException if the cursor has already been moved beyond the first row
+     */
+    @Override
+    public boolean first() {
+        if (isBeforeFirst()) return next();
+        if (isFirst()) return true;
+
+        throw new UnsupportedOperationException("Forward-only result does not support backward navigation");
+    }
+
+    /**
+     * This operation is not supported because it requires reading the following rows.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean last() {
+        throw new UnsupportedOperationException("Forward-only result does not support moving to the last row");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRowIndex() {
+        return cursorIndex;
+    }
+
+    /**
+     * Returns the number of rows that have been read so far.
+     * The total number of rows is known only after the cursor has been moved after the last row.
+     *
+     * @return the number of rows read from this result set
+     */
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Releases the underlying {@link ResultSet} immediately.
+     * The statement that produced the result set remains open.
+     */
+    @Override
+    public void close() {
+        try {
+            resultSet.close();
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (!closed) {
+            closed = true;
+            afterClose();
+        }
+    }
+
+    /**
+     * Called once after the underlying {@link ResultSet} has been closed.
+     * Does nothing by default.
+     */
+    protected void afterClose() {
+    }
+}
@@ -5,10 +5,9 @@ package com.github.marchenkoprojects.prettyjdbc.query.scrollable_result;
  *
  * @author Oleg Marchenko
  *
- * @see IndexedColumnValueGetter
- * @see NamedColumnValueGetter
+ * @see ResultRow
  */
-public interface ReadOnlyScrollableResult extends IndexedColumnValueGetter, NamedColumnValueGetter {
+public interface ReadOnlyScrollableResult extends ResultRow {
 
     /**
      * Moves the cursor to the previous row and returns <code>true</code> if the cursor after the first row.
@@ -0,0 +1,12 @@
+package com.github.marchenkoprojects.prettyjdbc.query.scrollable_result;
+
+/**
+ * Interface provides read-only access to the values of the columns in the current row of the result by column index or name.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see IndexedColumnValueGetter
+ * @see NamedColumnValueGetter
+ */
+public interface ResultRow extends IndexedColumnValueGetter, NamedColumnValueGetter {
+}
@@ -0,0 +1,461 @@
+package com.github.marchenkoprojects.prettyjdbc.query.scrollable_result;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides access to the values of the columns in the current row of the live {@link ResultSet} without copying the data.
+ * The same instance is a view of every row while the cursor moves, so no objects are created per row.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ResultRow
+ */
+public class ResultSetRow implements ResultRow {
+
+    protected final ResultSet resultSet;
+    private final Map<String, Integer> columnNameToIndexRegistry;
+
+    public ResultSetRow(ResultSet resultSet) throws SQLException {
+        if (resultSet == null) {
+            throw new NullPointerException("Result set is null");
+        }
+        this.resultSet = resultSet;
+
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        columnNameToIndexRegistry = new HashMap<>(columnCount + 1, 1);
+        for (int i = 1; i <= columnCount; i++) {
+            String columnName = metaData.getColumnName(i).toLowerCase();
+            columnNameToIndexRegistry.put(columnName, i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        try {
+            return resultSet.getBoolean(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte getByte(int columnIndex) {
+        try {
+            return resultSet.getByte(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short getShort(int columnIndex) {
+        try {
+            return resultSet.getShort(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int columnIndex) {
+        try {
+            return resultSet.getInt(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int columnIndex) {
+        try {
+            return resultSet.getLong(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getFloat(int columnIndex) {
+        try {
+            return resultSet.getFloat(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int columnIndex) {
+        try {
+            return resultSet.getDouble(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) {
+        try {
+            return resultSet.getBigDecimal(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getString(int columnIndex) {
+        try {
+            return resultSet.getString(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getBytes(int columnIndex) {
+        try {
+            return resultSet.getBytes(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date getDate(int columnIndex) {
+        try {
+            return resultSet.getDate(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate getLocalDate(int columnIndex) {
+        Date date = getDate(columnIndex);
+        if (date == null) return null;
+
+        return date.toLocalDate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Time getTime(int columnIndex) {
+        try {
+            return resultSet.getTime(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalTime getLocalTime(int columnIndex) {
+        Time time = getTime(columnIndex);
+        if (time == null) return null;
+
+        return time.toLocalTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Timestamp getTimestamp(int columnIndex) {
+        try {
+            return resultSet.getTimestamp(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime getLocalDateTime(int columnIndex) {
+        Timestamp timestamp = getTimestamp(columnIndex);
+        if (timestamp == null) return null;
+
+        return timestamp.toLocalDateTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getObject(int columnIndex) {
+        try {
+            return resultSet.getObject(columnIndex);
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean getBoolean(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        boolean value = getBoolean(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Byte getByte(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        byte value = getByte(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Short getShort(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        short value = getShort(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getInt(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        int value = getInt(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getLong(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        long value = getLong(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Float getFloat(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        float value = getFloat(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getDouble(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        double value = getDouble(columnIndex);
+        return wasNull() ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getBigDecimal(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getString(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getString(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getBytes(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getBytes(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date getDate(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getDate(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate getLocalDate(String columnName) {
+        Date date = getDate(columnName);
+        if (date == null) return null;
+
+        return date.toLocalDate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Time getTime(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getTime(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalTime getLocalTime(String columnName) {
+        Time time = getTime(columnName);
+        if (time == null) return null;
+
+        return time.toLocalTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Timestamp getTimestamp(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getTimestamp(columnIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime getLocalDateTime(String columnName) {
+        Timestamp timestamp = getTimestamp(columnName);
+        if (timestamp == null) return null;
+
+        return timestamp.toLocalDateTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getObject(String columnName) {
+        Integer columnIndex = findColumnIndex(columnName);
+        if (columnIndex == null) return null;
+
+        return getObject(columnIndex);
+    }
+
+    private Integer findColumnIndex(String columnName) {
+        return columnNameToIndexRegistry.get(columnName.toLowerCase());
+    }
+
+    private boolean wasNull() {
+        try {
+            return resultSet.wasNull();
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.marchenkoprojects.prettyjdbc.routing;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * This internal data source distributes connections between several replica data sources
+ * according to the {@link LoadBalancingStrategy}. A replica is selected every time a connection is requested.
+ * <br>
+ * The number of borrowed (in-flight) connections is counted for every replica,
+ * a connection is counted until it is closed.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see RoutingSessionFactory
+ */
+final class LoadBalancedDataSource implements DataSource {
+
+    private final DataSource[] replicas;
+    private final AtomicInteger[] inFlightCounters;
+    private final LoadBalancingStrategy strategy;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    LoadBalancedDataSource(List<DataSource> replicas, LoadBalancingStrategy strategy) {
+        this.replicas = replicas.toArray(new DataSource[0]);
+        this.inFlightCounters = new AtomicInteger[this.replicas.length];
+        for (int i = 0; i < inFlightCounters.length; i++) {
+            inFlightCounters[i] = new AtomicInteger();
+        }
+        this.strategy = strategy;
+    }
+
+    /**
+     * Returns the number of connections borrowed from the replica and not yet closed.
+     *
+     * @param replicaIndex index of the replica
+     * @return the number of in-flight connections
+     */
+    int getInFlightConnections(int replicaIndex) {
+        return inFlightCounters[replicaIndex].get();
+    }
+
+    private int selectReplica() {
+        int replicaCount = replicas.length;
+        int startIndex = (nextIndex.getAndIncrement() & Integer.MAX_VALUE) % replicaCount;
+        if (strategy == LoadBalancingStrategy.ROUND_ROBIN) return startIndex;
+
+        int selectedIndex = startIndex;
+        int selectedInFlight = inFlightCounters[startIndex].get();
+        for (int i = 1; i < replicaCount && selectedInFlight > 0; i++) {
+            int index = (startIndex + i) % replicaCount;
+            int inFlight = inFlightCounters[index].get();
+            if (inFlight < selectedInFlight) {
+                selectedIndex = index;
+                selectedInFlight = inFlight;
+            }
+        }
+        return selectedIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        int replicaIndex = selectReplica();
+        AtomicInteger inFlightCounter = inFlightCounters[replicaIndex];
+        inFlightCounter.incrementAndGet();
+        try {
+            return trackConnection(replicas[replicaIndex].getConnection(), inFlightCounter);
+        }
+        catch (SQLException | RuntimeException e) {
+            inFlightCounter.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        int replicaIndex = selectReplica();
+        AtomicInteger inFlightCounter = inFlightCounters[replicaIndex];
+        inFlightCounter.incrementAndGet();
+        try {
+            return trackConnection(replicas[replicaIndex].getConnection(username, password), inFlightCounter);
+        }
+        catch (SQLException | RuntimeException e) {
+            inFlightCounter.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private static Connection trackConnection(Connection connection, AtomicInteger inFlightCounter) {
+        return new InFlightConnection(connection, inFlightCounter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return replicas[0].getLogWriter();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        for (DataSource replica: replicas) {
+            replica.setLogWriter(out);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        for (DataSource replica: replicas) {
+            replica.setLoginTimeout(seconds);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return replicas[0].getLoginTimeout();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(LoadBalancedDataSource.class.getPackage().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        throw new SQLException("Data source is not a wrapper for " + iface.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.marchenkoprojects.prettyjdbc.routing;
+
+/**
+ * Describes how connections to read replicas are distributed.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see RoutingSessionFactory
+ */
+public enum LoadBalancingStrategy {
+    /**
+     * Replicas are used one after another in a cycle.
+     */
+    ROUND_ROBIN,
+    /**
+     * The replica with the least number of borrowed connections is used.
+     * Replicas with the same number of borrowed connections are used one after another.
+     */
+    LEAST_IN_FLIGHT
+}
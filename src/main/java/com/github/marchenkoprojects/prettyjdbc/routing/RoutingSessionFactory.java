@@ -0,0 +1,163 @@
+package com.github.marchenkoprojects.prettyjdbc.routing;
+
+import com.github.marchenkoprojects.prettyjdbc.Configuration;
+import com.github.marchenkoprojects.prettyjdbc.DataSourceSupplier;
+import com.github.marchenkoprojects.prettyjdbc.SessionFactory;
+import com.github.marchenkoprojects.prettyjdbc.Unwrapable;
+import com.github.marchenkoprojects.prettyjdbc.session.InternalSession;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryCache;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This session factory splits reads and writes between a primary database and its read replicas.
+ * Sessions opened by the method {@link RoutingSessionFactory#openSession()} work with the primary database,
+ * sessions opened by the method {@link RoutingSessionFactory#openReadOnlySession()} work with a replica
+ * selected according to the {@link LoadBalancingStrategy}. If there are no replicas then read-only sessions
+ * also work with the primary database.
+ * <br>
+ * A replica is selected every time a read-only session acquires a connection, so lazy connection acquisition
+ * and early connection release ({@link Configuration}) allow to distribute the load more evenly.
+ * <br>
+ * <b>Note:</b> Replicas usually lag behind the primary database, so the data written in the primary database
+ * may not be immediately visible in read-only sessions.
+ * Like {@link SessionFactory}, the internal state of the <code>RoutingSessionFactory</code> is immutable so it is thread safe!
+ *
+ * @author Oleg Marchenko
+ *
+ * @see SessionFactory
+ */
+public final class RoutingSessionFactory implements Unwrapable<DataSource> {
+
+    private final DataSource primaryDataSource;
+    private final DataSource replicaDataSource;
+    private final Configuration configuration;
+
+    /**
+     * Cache of processed SQL queries with named parameters shared between all sessions of this factory.
+     */
+    private final NamedParameterQueryCache queryCache;
+
+    private RoutingSessionFactory(DataSource primaryDataSource, DataSource replicaDataSource, Configuration configuration) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.configuration = configuration;
+        this.queryCache = new NamedParameterQueryCache(configuration.getQueryCacheSize());
+    }
+
+    /**
+     * Unwrapping the primary {@link DataSource} from the current <code>RoutingSessionFactory</code> for use outside.
+     *
+     * @return the primary data source
+     */
+    @Override
+    public DataSource unwrap() {
+        return primaryDataSource;
+    }
+
+    /**
+     * Returns a copy of the configuration of this <code>RoutingSessionFactory</code>.
+     *
+     * @return the configuration of this factory
+     */
+    public Configuration getConfiguration() {
+        return new Configuration(configuration);
+    }
+
+    /**
+     * Returns the cache of processed SQL queries with named parameters shared between all sessions of this factory.
+     *
+     * @return the query cache of this factory
+     */
+    public NamedParameterQueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Creates a new {@link Session} with the primary database.
+     * The session will be obtained as is and management must occur from outside.
+     *
+     * @return successfully created session
+     * @see Session
+     */
+    public Session openSession() {
+        return new InternalSession(primaryDataSource, configuration, queryCache);
+    }
+
+    /**
+     * Creates a new {@link Session} with a read replica.
+     * The session will be obtained as is and management must occur from outside.
+     * <br>
+     * Each connection of the session is switched to read-only mode, so the driver may reject
+     * attempts to modify data through it.
+     *
+     * @return successfully created session
+     * @see Session
+     */
+    public Session openReadOnlySession() {
+        return new InternalSession(replicaDataSource, configuration, queryCache, true);
+    }
+
+    /**
+     * This method is the entry point for creating a <code>RoutingSessionFactory</code>
+     * with the round-robin distribution of read-only sessions.
+     *
+     * @param primarySupplier primary data source provider
+     * @param replicaSuppliers replica data source providers
+     * @return a new routing session factory
+     */
+    public static RoutingSessionFactory create(DataSourceSupplier primarySupplier, List<DataSourceSupplier> replicaSuppliers) {
+        return create(primarySupplier, replicaSuppliers, LoadBalancingStrategy.ROUND_ROBIN, new Configuration());
+    }
+
+    /**
+     * This method is the entry point for creating a configured <code>RoutingSessionFactory</code>.
+     *
+     * @param primarySupplier primary data source provider
+     * @param replicaSuppliers replica data source providers
+     * @param strategy strategy of distribution of read-only sessions between replicas
+     * @param configuration settings of the session factory
+     * @return a new routing session factory
+     */
+    public static RoutingSessionFactory create(DataSourceSupplier primarySupplier, List<DataSourceSupplier> replicaSuppliers,
+                                               LoadBalancingStrategy strategy, Configuration configuration) {
+        if (primarySupplier == null) {
+            throw new NullPointerException("Primary data source supplier is null");
+        }
+        if (replicaSuppliers == null) {
+            throw new NullPointerException("Replica data source suppliers is null");
+        }
+        if (strategy == null) {
+            throw new NullPointerException("Load balancing strategy is null");
+        }
+        if (configuration == null) {
+            throw new NullPointerException("Configuration is null");
+        }
+
+        DataSource primaryDataSource = primarySupplier.get();
+        if (primaryDataSource == null) {
+            throw new NullPointerException("Primary data source is null");
+        }
+
+        List<DataSource> replicaDataSources = new ArrayList<>(replicaSuppliers.size());
+        for (DataSourceSupplier replicaSupplier: replicaSuppliers) {
+            if (replicaSupplier == null) {
+                throw new NullPointerException("Replica data source supplier is null");
+            }
+
+            DataSource replicaDataSource = replicaSupplier.get();
+            if (replicaDataSource == null) {
+                throw new NullPointerException("Replica data source is null");
+            }
+            replicaDataSources.add(replicaDataSource);
+        }
+
+        DataSource replicaDataSource = replicaDataSources.isEmpty()
+                ? primaryDataSource
+                : new LoadBalancedDataSource(replicaDataSources, strategy);
+        return new RoutingSessionFactory(primaryDataSource, replicaDataSource, new Configuration(configuration));
+    }
+}
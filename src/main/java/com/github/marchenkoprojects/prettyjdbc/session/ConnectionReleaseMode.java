@@ -0,0 +1,25 @@
+package com.github.marchenkoprojects.prettyjdbc.session;
+
+/**
+ * Describes when a session returns its connection back to the data source.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setConnectionReleaseMode(ConnectionReleaseMode)
+ */
+public enum ConnectionReleaseMode {
+    /**
+     * The connection is held by the session until the session is closed.
+     */
+    ON_CLOSE,
+    /**
+     * The connection is returned as soon as a transaction has been completed (committed or rolled back),
+     * unless a query of the session still has batch commands which have not been executed yet
+     * or an open result which is read lazily (e.g. a stream). If the session needs a connection later,
+     * a new one is acquired transparently.
+     * <br>
+     * <b>Note:</b> Queries of the session are bound to the connection, so the idle queries are closed together with it
+     * and cached statements are closed as well. Queries must be created again after the transaction.
+     */
+    AFTER_TRANSACTION
+}
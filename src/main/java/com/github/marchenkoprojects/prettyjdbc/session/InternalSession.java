@@ -1,25 +1,43 @@
 package com.github.marchenkoprojects.prettyjdbc.session;
 
+import com.github.marchenkoprojects.prettyjdbc.Configuration;
+import com.github.marchenkoprojects.prettyjdbc.query.FetchDirection;
 import com.github.marchenkoprojects.prettyjdbc.query.NamedParameterQuery;
 import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import com.github.marchenkoprojects.prettyjdbc.query.QueryListener;
 import com.github.marchenkoprojects.prettyjdbc.query.TypedQuery;
+import com.github.marchenkoprojects.prettyjdbc.transaction.ConnectionState;
 import com.github.marchenkoprojects.prettyjdbc.transaction.InternalTransaction;
 import com.github.marchenkoprojects.prettyjdbc.transaction.Transaction;
 import com.github.marchenkoprojects.prettyjdbc.transaction.TransactionWork;
 import com.github.marchenkoprojects.prettyjdbc.transaction.TransactionWorkWithResult;
-import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryProcessor;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
+import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryCache;
+import com.github.marchenkoprojects.prettyjdbc.util.ParsedQuery;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import static com.github.marchenkoprojects.prettyjdbc.transaction.InternalTransaction.isActiveTransaction;
 import static com.github.marchenkoprojects.prettyjdbc.transaction.InternalTransaction.safeStopTransaction;
 
 /**
  * This is the main internal implementation of the {@link Session} interface.
+ * <br>
+ * The session created with a {@link DataSource} manages its connection according to the {@link Configuration}:
+ * the connection can be acquired lazily, only when it is needed for the first time
+ * (by creating a query, a transaction or unwrapping the connection), and can be returned back to the data source
+ * as soon as a transaction has been completed ({@link ConnectionReleaseMode#AFTER_TRANSACTION}),
+ * unless a query still has batch commands which have not been executed yet or an open result.
+ * In that mode the idle queries and cached statements of the session are closed together with the connection
+ * and the next query or transaction acquires a connection again.
  *
  * @author Oleg Marchenko
  *
@@ -27,29 +45,167 @@ import static com.github.marchenkoprojects.prettyjdbc.transaction.InternalTransa
  */
 public class InternalSession implements Session {
 
-    private final Connection connection;
+    /**
+     * Source of connections of the session or <code>null</code> if the connection has been passed directly.
+     */
+    private final DataSource dataSource;
+    /**
+     * Flag that the connections of this session are switched to read-only mode after they are acquired.
+     */
+    private final boolean readOnly;
+    private final ConnectionReleaseMode connectionReleaseMode;
+    /**
+     * Executor of asynchronous operations of queries.
+     */
+    private final Executor executor;
+    /**
+     * Default settings of fetching of query results.
+     */
+    private final int fetchSize;
+    private final long maxRows;
+    private final int maxAdaptiveFetchSize;
+    /**
+     * Time in milliseconds after which queries are logged as slow or <code>0</code> if logging is disabled.
+     */
+    private final long slowQueryThreshold;
+    /**
+     * Listener of the execution of queries or <code>null</code> if there are no listeners.
+     */
+    private final QueryListener queryListener;
+    /**
+     * Detector of the N+1 problem, it is also one of the query listeners, or <code>null</code> if detection is disabled.
+     */
+    private final RepeatedQueryDetector repeatedQueryDetector;
+    private Connection connection;
+    private boolean closed;
+    /**
+     * Flight Recorder event which lasts until the session is closed or <code>null</code> if it is not recorded.
+     */
+    private final Object sessionEvent;
+    /**
+     * Shared cache of processed queries with named parameters or <code>null</code> if caching is not used.
+     */
+    private final NamedParameterQueryCache queryCache;
+    /**
+     * Cache of prepared statements of this session or <code>null</code> if caching is disabled.
+     */
+    private StatementCache statementCache;
+    /**
+     * Tracked state of the connection shared by all transactions of this session,
+     * it is created with the first transaction.
+     */
+    private ConnectionState connectionState;
 
     /**
      * Associated transaction with this session.
      */
     private Transaction transaction;
     /**
-     * Collection of associated queries with this session.
+     * Collection of associated queries with this session, a query is removed from it when it is closed.
      */
     private Collection<Query> queries;
 
     public InternalSession(Connection connection) {
+        this(connection, new Configuration(), null);
+    }
+
+    public InternalSession(Connection connection, Configuration configuration, NamedParameterQueryCache queryCache) {
+        this(null, connection, configuration, queryCache, false);
+    }
+
+    public InternalSession(DataSource dataSource, Configuration configuration, NamedParameterQueryCache queryCache) {
+        this(dataSource, configuration, queryCache, false);
+    }
+
+    public InternalSession(DataSource dataSource, Configuration configuration, NamedParameterQueryCache queryCache,
+                           boolean readOnly) {
+        this(dataSource, null, configuration, queryCache, readOnly);
+
+        if (dataSource == null) {
+            throw new NullPointerException("Data source is null");
+        }
+        if (!configuration.isLazyConnectionAcquisition()) {
+            obtainConnection();
+        }
+    }
+
+    private InternalSession(DataSource dataSource, Connection connection,
+                            Configuration configuration, NamedParameterQueryCache queryCache, boolean readOnly) {
+        this.sessionEvent = FlightRecorderEvents.beginSession();
+        this.dataSource = dataSource;
+        this.readOnly = readOnly;
         this.connection = connection;
-        this.queries = new ArrayList<>(4);
+        this.connectionReleaseMode = configuration.getConnectionReleaseMode();
+        this.executor = configuration.getExecutor();
+        this.fetchSize = configuration.getFetchSize();
+        this.maxRows = configuration.getMaxRows();
+        this.maxAdaptiveFetchSize = configuration.getMaxAdaptiveFetchSize();
+        this.slowQueryThreshold = configuration.getSlowQueryThreshold();
+        List<QueryListener> queryListeners = configuration.getQueryListeners();
+        if (configuration.getRepeatedQueryLimit() > 0) {
+            this.repeatedQueryDetector = new RepeatedQueryDetector(
+                    configuration.getRepeatedQueryLimit(), configuration.getRepeatedQueryMode());
+            // The detector is notified last, so its exception does not hide the query from the configured listeners.
+            queryListeners = new ArrayList<>(queryListeners);
+            queryListeners.add(repeatedQueryDetector);
+        }
+        else {
+            this.repeatedQueryDetector = null;
+        }
+        this.queryListener = QueryListener.composite(queryListeners);
+        this.queryCache = queryCache;
+        this.queries = new LinkedHashSet<>();
+
+        int statementCacheSize = configuration.getStatementCacheSize();
+        if (statementCacheSize > 0) {
+            this.statementCache = new StatementCache(statementCacheSize);
+        }
     }
 
     /**
      * Unwrapping {@link Connection} from the current <code>Session</code> for use outside.
+     * The session acquires the connection if it has not been acquired yet or has already been released.
      *
      * @return wrapped JDBC connection
      */
     @Override
     public Connection unwrap() {
+        return obtainConnection();
+    }
+
+    private Connection obtainConnection() {
+        if (connection == null) {
+            if (closed) {
+                throw new IllegalStateException("Session is closed");
+            }
+
+            try {
+                Object event = FlightRecorderEvents.beginConnectionAcquisition();
+                connection = dataSource.getConnection();
+                FlightRecorderEvents.endConnectionAcquisition(event);
+            }
+            catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (readOnly) {
+                connectionState = new ConnectionState(connection);
+                try {
+                    connectionState.setReadOnly(true);
+                }
+                catch (SQLException e) {
+                    try {
+                        connection.close();
+                    }
+                    catch (SQLException closeException) {
+                        e.addSuppressed(closeException);
+                    }
+                    connection = null;
+                    connectionState = null;
+                    throw new RuntimeException(e);
+                }
+            }
+        }
         return connection;
     }
 
@@ -60,7 +216,7 @@ public class InternalSession implements Session {
     public Query createNativeQuery(String sql) {
         PreparedStatement preparedStatement = createStatement(sql);
         Query query = new Query(preparedStatement);
-        bindQuery(query);
+        bindQuery(query, sql);
         return query;
     }
 
@@ -71,7 +227,7 @@ public class InternalSession implements Session {
     public <T> TypedQuery<T> createNativeQuery(String sql, Class<T> resultType) {
         PreparedStatement preparedStatement = createStatement(sql);
         TypedQuery<T> query = new TypedQuery<>(preparedStatement, resultType);
-        bindQuery(query);
+        bindQuery(query, sql);
         return query;
     }
 
@@ -80,12 +236,11 @@ public class InternalSession implements Session {
      */
     @Override
     public NamedParameterQuery createQuery(String sql) {
-        NamedParameterQueryProcessor queryProcessor = new NamedParameterQueryProcessor(sql);
-        queryProcessor.process();
+        ParsedQuery parsedQuery = parseQuery(sql);
 
-        PreparedStatement preparedStatement = createStatement(queryProcessor.getNativeQuery());
-        NamedParameterQuery query = new NamedParameterQuery(preparedStatement, queryProcessor.getParameters());
-        bindQuery(query);
+        PreparedStatement preparedStatement = createStatement(parsedQuery.getNativeQuery());
+        NamedParameterQuery query = new NamedParameterQuery(preparedStatement, parsedQuery);
+        bindQuery(query, parsedQuery.getNativeQuery());
         return query;
     }
 
@@ -94,28 +249,94 @@ public class InternalSession implements Session {
      */
     @Override
     public <T> TypedQuery<T> createQuery(String sql, Class<T> resultType) {
-        NamedParameterQueryProcessor queryProcessor = new NamedParameterQueryProcessor(sql);
-        queryProcessor.process();
+        ParsedQuery parsedQuery = parseQuery(sql);
 
-        PreparedStatement preparedStatement = createStatement(queryProcessor.getNativeQuery());
-        TypedQuery<T> query = new TypedQuery<>(preparedStatement, queryProcessor.getParameters(), resultType);
-        bindQuery(query);
+        PreparedStatement preparedStatement = createStatement(parsedQuery.getNativeQuery());
+        TypedQuery<T> query = new TypedQuery<>(preparedStatement, parsedQuery, resultType);
+        bindQuery(query, parsedQuery.getNativeQuery());
         return query;
     }
 
+    private ParsedQuery parseQuery(String sql) {
+        if (queryCache == null) {
+            return ParsedQuery.parse(sql);
+        }
+        return queryCache.get(sql);
+    }
+
     private PreparedStatement createStatement(String sql) {
         try {
-            return connection.prepareStatement(sql);
+            Connection connection = obtainConnection();
+            if (statementCache == null) {
+                return prepareStatement(connection, sql);
+            }
+
+            // The statement is owned by the query until it is closed, so queries with the same SQL never share it.
+            PreparedStatement preparedStatement = statementCache.checkOut(sql);
+            if (preparedStatement == null) {
+                preparedStatement = prepareStatement(connection, sql);
+            }
+            return preparedStatement;
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void bindQuery(Query query) {
+    private PreparedStatement prepareStatement(Connection connection, String sql) throws SQLException {
+        Object event = FlightRecorderEvents.beginPrepare();
+        long startTime = queryListener != null ? System.nanoTime() : 0L;
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        FlightRecorderEvents.endPrepare(event, sql);
+        if (queryListener != null) {
+            queryListener.onPrepare(sql, System.nanoTime() - startTime);
+        }
+        return preparedStatement;
+    }
+
+    private void bindQuery(Query query, String sql) {
+        query.setExecutor(executor);
+        query.setSql(sql);
+        if (queryListener != null) {
+            query.setQueryListener(queryListener);
+        }
+        if (slowQueryThreshold > 0) {
+            query.setSlowQueryThreshold(slowQueryThreshold);
+        }
+        // Cached statements may keep the settings of the previous query, so they are always reset.
+        boolean resetSettings = statementCache != null;
+        if (fetchSize > 0 || resetSettings) {
+            query.setFetchSize(fetchSize);
+        }
+        if (maxRows > 0 || resetSettings) {
+            query.setMaxRows(maxRows);
+        }
+        if (maxAdaptiveFetchSize > 0 || resetSettings) {
+            query.setMaxAdaptiveFetchSize(maxAdaptiveFetchSize);
+        }
+        if (resetSettings) {
+            query.setFetchDirection(FetchDirection.FORWARD);
+        }
+        query.setStatementReleaser(statement -> releaseStatement(query, sql, statement));
         this.queries.add(query);
     }
 
+    /**
+     * Unbinds the closed query from the session and returns its statement to the statement cache.
+     * The statement is closed if the cache is not used or the session has already been closed.
+     */
+    private void releaseStatement(Query query, String sql, PreparedStatement preparedStatement) throws SQLException {
+        if (queries != null) {
+            queries.remove(query);
+        }
+        if (statementCache == null) {
+            preparedStatement.close();
+        }
+        else {
+            statementCache.checkIn(sql, preparedStatement);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -138,11 +359,51 @@ public class InternalSession implements Session {
     }
 
     private Transaction createTransaction() {
-        Transaction transaction = new InternalTransaction(connection);
+        if (connectionState == null) {
+            connectionState = new ConnectionState(obtainConnection());
+        }
+
+        InternalTransaction transaction = new InternalTransaction(connectionState) {
+            @Override
+            protected void beforeCommit() {
+                executePendingBatches();
+            }
+
+            @Override
+            protected void afterCompletion(boolean committed) {
+                transactionCompleted(committed);
+            }
+        };
+        if (queryListener != null) {
+            transaction.setQueryListener(queryListener);
+        }
         bindTransaction(transaction);
         return transaction;
     }
 
+    private void executePendingBatches() {
+        for (Query query: queries) {
+            if (query.isActive()) {
+                query.executePendingBatch();
+            }
+        }
+    }
+
+    private void transactionCompleted(boolean committed) {
+        if (closed) return;
+
+        // Commands added to batches within the rolled back transaction must not be executed later in autocommit mode.
+        if (!committed) {
+            queries.forEach(InternalSession::safeDiscardBatch);
+        }
+        if (repeatedQueryDetector != null) {
+            repeatedQueryDetector.reset();
+        }
+        if (dataSource != null && connectionReleaseMode == ConnectionReleaseMode.AFTER_TRANSACTION) {
+            releaseConnection();
+        }
+    }
+
     private void bindTransaction(Transaction transaction) {
         this.transaction = transaction;
     }
@@ -193,6 +454,10 @@ public class InternalSession implements Session {
      */
     @Override
     public boolean isOpen() {
+        if (connection == null) {
+            return !closed;
+        }
+
         try {
             return !connection.isClosed();
         }
@@ -206,14 +471,64 @@ public class InternalSession implements Session {
      */
     @Override
     public void close() {
-        releaseQuery();
+        closed = true;
+        RuntimeException batchException = releaseQuery();
         stopTransaction();
         closeInternal();
+        FlightRecorderEvents.endSession(sessionEvent);
+        if (batchException != null) {
+            throw batchException;
+        }
     }
 
-    private void releaseQuery() {
-        queries.forEach(Query::safeCloseQuery);
+    /**
+     * Closes the queries of the session. The remaining batch commands of an active transaction are discarded
+     * because the transaction is rolled back, otherwise they are executed.
+     *
+     * @return the exception of the execution of the remaining commands or <code>null</code>
+     */
+    private RuntimeException releaseQuery() {
+        RuntimeException batchException = null;
+        boolean rollback = isActiveTransaction(transaction);
+        for (Query query: queries) {
+            if (rollback || !query.isActive()) {
+                safeDiscardBatch(query);
+                continue;
+            }
+
+            try {
+                query.executePendingBatch();
+            }
+            catch (RuntimeException e) {
+                safeDiscardBatch(query);
+                if (batchException == null) {
+                    batchException = e;
+                }
+                else {
+                    batchException.addSuppressed(e);
+                }
+            }
+        }
+        Collection<Query> closingQueries = queries;
         queries = null;
+        closingQueries.forEach(Query::safeCloseQuery);
+
+        if (statementCache != null) {
+            statementCache.clear();
+            statementCache = null;
+        }
+        return batchException;
+    }
+
+    private static void safeDiscardBatch(Query query) {
+        if (Query.isActiveQuery(query)) {
+            try {
+                query.discardBatch();
+            }
+            catch (RuntimeException e) {
+                // Intentionally swallow the exception.
+            }
+        }
     }
 
     private void stopTransaction() {
@@ -222,6 +537,8 @@ public class InternalSession implements Session {
     }
 
     private void closeInternal() {
+        if (connection == null) return;
+
         try {
             connection.close();
         }
@@ -230,6 +547,36 @@ public class InternalSession implements Session {
         }
     }
 
+    /**
+     * Returns the connection of the session back to the data source if no query of the session still uses it,
+     * i.e. has batch commands which have not been executed yet or an open result which is read lazily.
+     * The idle queries and cached statements are closed together with the connection.
+     */
+    private void releaseConnection() {
+        if (closed || connection == null || isActiveTransaction(transaction)) return;
+        for (Query query: queries) {
+            if (query.isActive() && !query.isIdle()) return;
+        }
+
+        Collection<Query> closingQueries = new ArrayList<>(queries);
+        queries.clear();
+        closingQueries.forEach(Query::safeCloseQuery);
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+
+        connectionState = null;
+        try {
+            connection.close();
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        finally {
+            connection = null;
+        }
+    }
+
     /**
      * Returns <code>true</code> if the session is still open.
      *
@@ -0,0 +1,103 @@
+package com.github.marchenkoprojects.prettyjdbc.session;
+
+import com.github.marchenkoprojects.prettyjdbc.query.QueryListener;
+import com.github.marchenkoprojects.prettyjdbc.util.CallerSite;
+import com.github.marchenkoprojects.prettyjdbc.util.SqlNormalizer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * This internal listener counts the executions of queries of a single session by their normalized SQL
+ * and reports the queries executed more times than the limit.
+ * The counters are reset when a transaction of the session has been completed,
+ * so the executions are counted within a transaction or, without transactions, within the whole session.
+ * <br>
+ * Batches are not counted because they are the usual cure for repeated queries.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see RepeatedQueryMode
+ */
+final class RepeatedQueryDetector implements QueryListener {
+    private static final Logger LOGGER = Logger.getLogger(RepeatedQueryDetector.class.getName());
+    /**
+     * Maximum number of reported SQL statements by which the counters are looked up,
+     * e.g. queries with inlined literals executed in a loop would add an entry per execution.
+     */
+    private static final int MAX_REPORTED_STATEMENTS = 256;
+
+    private final int repeatedQueryLimit;
+    private final RepeatedQueryMode repeatedQueryMode;
+    /**
+     * Number of executions by normalized SQL, the counter is an array to be incremented in place.
+     */
+    private final Map<String, int[]> executionCounts = new HashMap<>();
+    /**
+     * Counters by reported SQL, so the SQL of repeatedly executed queries is normalized only once.
+     */
+    private final Map<String, int[]> reportedExecutionCounts = new HashMap<>();
+
+    RepeatedQueryDetector(int repeatedQueryLimit, RepeatedQueryMode repeatedQueryMode) {
+        this.repeatedQueryLimit = repeatedQueryLimit;
+        this.repeatedQueryMode = repeatedQueryMode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onQuery(String sql, long executeNanos, long fetchNanos, long rowCount) {
+        countExecution(sql);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUpdate(String sql, long executeNanos, long updateCount) {
+        countExecution(sql);
+    }
+
+    /**
+     * Resets the counters of executions.
+     */
+    void reset() {
+        executionCounts.clear();
+        reportedExecutionCounts.clear();
+    }
+
+    private void countExecution(String sql) {
+        if (sql == null) return;
+
+        int[] executionCount = reportedExecutionCounts.get(sql);
+        if (executionCount == null) {
+            executionCount = executionCounts.computeIfAbsent(SqlNormalizer.normalize(sql), key -> new int[1]);
+            if (reportedExecutionCounts.size() < MAX_REPORTED_STATEMENTS) {
+                reportedExecutionCounts.put(sql, executionCount);
+            }
+        }
+        int count = ++executionCount[0];
+        if (count <= repeatedQueryLimit) return;
+
+        if (repeatedQueryMode == RepeatedQueryMode.FAIL) {
+            throw new IllegalStateException(buildMessage(sql, count));
+        }
+        // The warning is logged only once, when the limit has just been exceeded.
+        if (count == repeatedQueryLimit + 1) {
+            LOGGER.warning(buildMessage(sql, count));
+        }
+    }
+
+    private String buildMessage(String sql, int count) {
+        StringBuilder message = new StringBuilder(128)
+                .append("Query has been executed ").append(count).append(" times")
+                .append(" (limit ").append(repeatedQueryLimit).append("), possible N+1 problem, SQL: ").append(sql);
+        StackTraceElement callerSite = CallerSite.find();
+        if (callerSite != null) {
+            message.append(", called from ").append(callerSite);
+        }
+        return message.toString();
+    }
+}
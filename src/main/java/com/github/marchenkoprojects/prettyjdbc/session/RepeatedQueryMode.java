@@ -0,0 +1,22 @@
+package com.github.marchenkoprojects.prettyjdbc.session;
+
+/**
+ * Describes how a session reports the same query executed more times than the repeated query limit,
+ * which usually means the N+1 problem: a query executed in a loop once per row of another query.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setRepeatedQueryLimit(int)
+ * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setRepeatedQueryMode(RepeatedQueryMode)
+ */
+public enum RepeatedQueryMode {
+    /**
+     * A warning with the SQL and the caller site is logged once the limit has been exceeded.
+     */
+    WARN,
+    /**
+     * Every execution of the query beyond the limit throws {@link IllegalStateException},
+     * which is useful to catch chatty data access in tests.
+     */
+    FAIL
+}
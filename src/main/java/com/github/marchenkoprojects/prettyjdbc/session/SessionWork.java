@@ -0,0 +1,20 @@
+package com.github.marchenkoprojects.prettyjdbc.session;
+
+/**
+ * This interface describes a contract for the execution of a separate part of working in a database
+ * within the current session.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.SessionFactory#doInSession(SessionWork)
+ */
+@FunctionalInterface
+public interface SessionWork {
+
+    /**
+     * Perform discrete work encapsulated by this instance using the provided {@link Session}.
+     *
+     * @param session the session in which to do the work
+     */
+    void execute(Session session);
+}
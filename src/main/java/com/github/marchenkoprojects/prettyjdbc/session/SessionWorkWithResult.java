@@ -0,0 +1,23 @@
+package com.github.marchenkoprojects.prettyjdbc.session;
+
+/**
+ * This interface describes a contract for the execution of a separate part of working in a database
+ * within the current session with returning result.
+ *
+ * @param <R> type of returning result
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.SessionFactory#callInSession(SessionWorkWithResult)
+ */
+@FunctionalInterface
+public interface SessionWorkWithResult<R> {
+
+    /**
+     * Perform discrete work with returning result encapsulated by this instance using the provided {@link Session}.
+     *
+     * @param session the session in which to do the work
+     * @return result of work
+     */
+    R execute(Session session);
+}
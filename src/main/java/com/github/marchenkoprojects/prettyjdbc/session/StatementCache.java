@@ -0,0 +1,93 @@
+package com.github.marchenkoprojects.prettyjdbc.session;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This internal class caches idle prepared statements of a single session by their SQL text.
+ * A statement is checked out exclusively by a query and checked in again when the query is closed,
+ * so queries with the same SQL which are used at the same time never share a statement.
+ * When the maximum size is reached then the least recently used statement will be closed and evicted.
+ * <br>
+ * <b>Note:</b> This class is not thread safe as well as the session which owns it.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see InternalSession
+ */
+class StatementCache {
+
+    private final Map<String, PreparedStatement> statements;
+
+    StatementCache(int maxSize) {
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    safeCloseStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Removes the idle statement from the cache and returns it ready for reuse after clearing its parameters and batch.
+     *
+     * @param sql SQL text of the statement
+     * @return the cached statement or <code>null</code>, if the statement is absent or already closed
+     * @throws SQLException if a database access error occurs
+     */
+    PreparedStatement checkOut(String sql) throws SQLException {
+        PreparedStatement preparedStatement = statements.remove(sql);
+        if (preparedStatement == null || preparedStatement.isClosed()) return null;
+
+        preparedStatement.clearParameters();
+        preparedStatement.clearBatch();
+        return preparedStatement;
+    }
+
+    /**
+     * Puts the statement of the closed query to the cache.
+     * If the cache already contains an idle statement with the same SQL, the previous statement is closed.
+     *
+     * @param sql SQL text of the statement
+     * @param preparedStatement the statement that is no longer used
+     * @throws SQLException if a database access error occurs
+     */
+    void checkIn(String sql, PreparedStatement preparedStatement) throws SQLException {
+        if (preparedStatement.isClosed()) return;
+
+        PreparedStatement previousStatement = statements.put(sql, preparedStatement);
+        if (previousStatement != null && previousStatement != preparedStatement) {
+            safeCloseStatement(previousStatement);
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes all cached statements and clears the cache.
+     */
+    void clear() {
+        List<PreparedStatement> cachedStatements = new ArrayList<>(statements.values());
+        statements.clear();
+        cachedStatements.forEach(StatementCache::safeCloseStatement);
+    }
+
+    private static void safeCloseStatement(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        }
+        catch (SQLException e) {
+            // Intentionally swallow the exception.
+        }
+    }
+}
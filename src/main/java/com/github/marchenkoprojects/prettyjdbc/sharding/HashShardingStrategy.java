@@ -0,0 +1,28 @@
+package com.github.marchenkoprojects.prettyjdbc.sharding;
+
+/**
+ * This strategy distributes shard keys evenly between shards by the hash code of the key.
+ * <br>
+ * <b>Note:</b> Keys must have a hash code that does not depend on the JVM instance (like {@link String} or {@link Long}),
+ * otherwise the same key may be routed to different shards by different applications.
+ * Changing the number of shards changes the shards of most keys.
+ *
+ * @param <K> type of shard key
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ShardingStrategy
+ */
+public class HashShardingStrategy<K> implements ShardingStrategy<K> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getShardIndex(K shardKey, int shardCount) {
+        int hash = shardKey.hashCode();
+        // Spread the higher bits to the lower ones, so sequential keys with a common factor are not clustered.
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, shardCount);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.marchenkoprojects.prettyjdbc.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This strategy assigns continuous ranges of shard keys to shards.
+ * The strategy is defined by the lower bounds of shards in ascending order:
+ * the shard with index <code>i</code> holds keys which are greater than or equal to its lower bound
+ * and less than the lower bound of the next shard. For example, the lower bounds <code>[1, 1000, 5000]</code>
+ * define three shards with keys <code>[1, 1000)</code>, <code>[1000, 5000)</code> and <code>[5000, ...)</code>.
+ *
+ * @param <K> type of shard key
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ShardingStrategy
+ */
+public class RangeShardingStrategy<K extends Comparable<? super K>> implements ShardingStrategy<K> {
+
+    private final List<K> lowerBounds;
+
+    public RangeShardingStrategy(List<K> lowerBounds) {
+        if (lowerBounds == null) {
+            throw new NullPointerException("Lower bounds is null");
+        }
+        if (lowerBounds.isEmpty()) {
+            throw new IllegalArgumentException("Lower bounds is empty");
+        }
+
+        for (int i = 0; i < lowerBounds.size(); i++) {
+            K lowerBound = lowerBounds.get(i);
+            if (lowerBound == null) {
+                throw new NullPointerException("Lower bound is null");
+            }
+            if (i > 0 && lowerBounds.get(i - 1).compareTo(lowerBound) >= 0) {
+                throw new IllegalArgumentException("Lower bounds are not in ascending order");
+            }
+        }
+        this.lowerBounds = Collections.unmodifiableList(new ArrayList<>(lowerBounds));
+    }
+
+    /**
+     * Returns the lower bounds of shards.
+     *
+     * @return unmodifiable list of lower bounds in ascending order
+     */
+    public List<K> getLowerBounds() {
+        return lowerBounds;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the shard key is less than the lower bound of the first shard
+     * @throws IllegalStateException if the number of lower bounds does not match the number of shards
+     */
+    @Override
+    public int getShardIndex(K shardKey, int shardCount) {
+        if (lowerBounds.size() != shardCount) {
+            throw new IllegalStateException("Number of lower bounds " + lowerBounds.size() + " does not match number of shards " + shardCount);
+        }
+
+        int index = Collections.binarySearch(lowerBounds, shardKey);
+        if (index >= 0) return index;
+
+        // The key is between bounds: the shard is the one with the greatest lower bound that is less than the key.
+        int shardIndex = -index - 2;
+        if (shardIndex < 0) {
+            throw new IllegalArgumentException("Shard key '" + shardKey + "' is out of range");
+        }
+        return shardIndex;
+    }
+}
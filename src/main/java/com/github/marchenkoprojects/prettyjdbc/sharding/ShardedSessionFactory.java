@@ -0,0 +1,318 @@
+package com.github.marchenkoprojects.prettyjdbc.sharding;
+
+import com.github.marchenkoprojects.prettyjdbc.Configuration;
+import com.github.marchenkoprojects.prettyjdbc.DataSourceSupplier;
+import com.github.marchenkoprojects.prettyjdbc.SessionFactory;
+import com.github.marchenkoprojects.prettyjdbc.query.TypedQuery;
+import com.github.marchenkoprojects.prettyjdbc.session.InternalSession;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryCache;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * This session factory works with data split across several databases (shards) by a shard key, for example by tenant id.
+ * The shard of a key is determined by the {@link ShardingStrategy}.
+ * <br>
+ * To work with data of a shard key, use the method {@link ShardedSessionFactory#openSession(Object)}.
+ * To execute a query on all shards in parallel and merge the results,
+ * use the method {@link ShardedSessionFactory#queryAllShards(String, Class, Consumer, Comparator)}.
+ * Like {@link SessionFactory}, the internal state of the <code>ShardedSessionFactory</code> is immutable so it is thread safe!
+ *
+ * @param <K> type of shard key
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ShardingStrategy
+ * @see SessionFactory
+ */
+public final class ShardedSessionFactory<K> {
+    private final List<DataSource> shards;
+    private final ShardingStrategy<K> strategy;
+    private final Configuration configuration;
+
+    /**
+     * Cache of processed SQL queries with named parameters shared between all sessions of this factory.
+     */
+    private final NamedParameterQueryCache queryCache;
+
+    private ShardedSessionFactory(List<DataSource> shards, ShardingStrategy<K> strategy, Configuration configuration) {
+        this.shards = shards;
+        this.strategy = strategy;
+        this.configuration = configuration;
+        this.queryCache = new NamedParameterQueryCache(configuration.getQueryCacheSize());
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Returns the data source of the shard.
+     *
+     * @param shardIndex index of the shard
+     * @return the data source of the shard
+     * @throws IndexOutOfBoundsException if there is no shard with such index
+     */
+    public DataSource getShard(int shardIndex) {
+        return shards.get(shardIndex);
+    }
+
+    /**
+     * Returns the index of the shard that holds data of the shard key.
+     *
+     * @param shardKey the shard key
+     * @return index of the shard
+     * @throws IllegalStateException if the sharding strategy returns an invalid index
+     */
+    public int getShardIndex(K shardKey) {
+        if (shardKey == null) {
+            throw new NullPointerException("Shard key is null");
+        }
+
+        int shardIndex = strategy.getShardIndex(shardKey, shards.size());
+        if (shardIndex < 0 || shardIndex >= shards.size()) {
+            throw new IllegalStateException("Sharding strategy returned invalid shard index " + shardIndex + " for key '" + shardKey + "'");
+        }
+        return shardIndex;
+    }
+
+    /**
+     * Returns a copy of the configuration of this <code>ShardedSessionFactory</code>.
+     *
+     * @return the configuration of this factory
+     */
+    public Configuration getConfiguration() {
+        return new Configuration(configuration);
+    }
+
+    /**
+     * Returns the cache of processed SQL queries with named parameters shared between all sessions of this factory.
+     *
+     * @return the query cache of this factory
+     */
+    public NamedParameterQueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Creates a new {@link Session} with the shard that holds data of the shard key.
+     * The session will be obtained as is and management must occur from outside.
+     *
+     * @param shardKey the shard key
+     * @return successfully created session
+     * @see Session
+     */
+    public Session openSession(K shardKey) {
+        return openShardSession(getShardIndex(shardKey));
+    }
+
+    /**
+     * Creates a new {@link Session} with the shard by its index.
+     * The session will be obtained as is and management must occur from outside.
+     *
+     * @param shardIndex index of the shard
+     * @return successfully created session
+     * @throws IndexOutOfBoundsException if there is no shard with such index
+     * @see Session
+     */
+    public Session openShardSession(int shardIndex) {
+        return new InternalSession(shards.get(shardIndex), configuration, queryCache);
+    }
+
+    /**
+     * Executes the query without parameters on all shards in parallel and returns the results of all shards.
+     *
+     * @param sql an SQL query with named parameters
+     * @param resultType type of query result
+     * @param <T> type of query result
+     * @return results of all shards in the order of shards
+     * @see #queryAllShards(String, Class, Consumer, Comparator)
+     */
+    public <T> List<T> queryAllShards(String sql, Class<T> resultType) {
+        return queryAllShards(sql, resultType, query -> {}, null);
+    }
+
+    /**
+     * Executes the query on all shards in parallel (scatter) and merges their results (gather).
+     * Each shard is queried within its own session which is closed after the query has been executed.
+     * The shards are queried in parallel by the executor of the configuration.
+     * <br>
+     * If the comparator is specified then the results are merged in its order,
+     * for that the query must return the results of each shard sorted in the same order (e.g. by <code>ORDER BY</code>).
+     * Otherwise the results follow the order of shards.
+     *
+     * @param sql an SQL query with named parameters
+     * @param resultType type of query result
+     * @param querySetter action to set parameters and the result mapper of the query, it is called for every shard
+     * @param comparator order of sorted shard results or <code>null</code> to concatenate results
+     * @param <T> type of query result
+     * @return merged results of all shards
+     * @throws RuntimeException if the query fails on any shard, the failures of other shards are suppressed in it
+     */
+    public <T> List<T> queryAllShards(String sql, Class<T> resultType,
+                                      Consumer<? super TypedQuery<T>> querySetter, Comparator<? super T> comparator) {
+        if (sql == null) {
+            throw new NullPointerException("SQL query is null");
+        }
+        if (resultType == null) {
+            throw new NullPointerException("Result type is null");
+        }
+        if (querySetter == null) {
+            throw new NullPointerException("Query setter is null");
+        }
+
+        int shardCount = shards.size();
+        Executor executor = configuration.getExecutor();
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(shardCount - 1);
+        for (int i = 1; i < shardCount; i++) {
+            int shardIndex = i;
+            futures.add(CompletableFuture.supplyAsync(() -> queryShard(shardIndex, sql, resultType, querySetter), executor));
+        }
+
+        List<List<T>> shardResults = new ArrayList<>(shardCount);
+        RuntimeException exception = null;
+        // The first shard is queried by the calling thread while the other shards are queried in parallel.
+        try {
+            shardResults.add(queryShard(0, sql, resultType, querySetter));
+        }
+        catch (RuntimeException e) {
+            exception = e;
+        }
+        // All shards are waited for, even after a failure, so that no query is left running behind the caller.
+        for (CompletableFuture<List<T>> future: futures) {
+            try {
+                shardResults.add(future.join());
+            }
+            catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                RuntimeException shardException = cause instanceof RuntimeException
+                        ? (RuntimeException) cause
+                        : new RuntimeException(cause);
+                if (exception == null) {
+                    exception = shardException;
+                }
+                else {
+                    exception.addSuppressed(shardException);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+
+        if (comparator == null) {
+            return concatResults(shardResults);
+        }
+        return mergeSortedResults(shardResults, comparator);
+    }
+
+    private <T> List<T> queryShard(int shardIndex, String sql, Class<T> resultType, Consumer<? super TypedQuery<T>> querySetter) {
+        try(Session session = openShardSession(shardIndex)) {
+            TypedQuery<T> query = session.createQuery(sql, resultType);
+            querySetter.accept(query);
+            return query.list();
+        }
+    }
+
+    private static <T> List<T> concatResults(List<List<T>> shardResults) {
+        int size = 0;
+        for (List<T> shardResult: shardResults) {
+            size += shardResult.size();
+        }
+
+        List<T> results = new ArrayList<>(size);
+        shardResults.forEach(results::addAll);
+        return results;
+    }
+
+    private static <T> List<T> mergeSortedResults(List<List<T>> shardResults, Comparator<? super T> comparator) {
+        int size = 0;
+        // Each element of the queue is a pair of the shard index and the position of the next result of the shard.
+        PriorityQueue<int[]> queue = new PriorityQueue<>(shardResults.size(),
+                (first, second) -> comparator.compare(shardResults.get(first[0]).get(first[1]), shardResults.get(second[0]).get(second[1])));
+        for (int i = 0; i < shardResults.size(); i++) {
+            int shardSize = shardResults.get(i).size();
+            if (shardSize > 0) {
+                queue.add(new int[] {i, 0});
+                size += shardSize;
+            }
+        }
+
+        List<T> results = new ArrayList<>(size);
+        while (!queue.isEmpty()) {
+            int[] position = queue.poll();
+            List<T> shardResult = shardResults.get(position[0]);
+            results.add(shardResult.get(position[1]));
+            if (++position[1] < shardResult.size()) {
+                queue.add(position);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * This method is the entry point for creating a <code>ShardedSessionFactory</code>.
+     *
+     * @param shardSuppliers data source providers of shards in the order of shard indexes
+     * @param strategy strategy of determining the shard of a key
+     * @param <K> type of shard key
+     * @return a new sharded session factory
+     */
+    public static <K> ShardedSessionFactory<K> create(List<DataSourceSupplier> shardSuppliers, ShardingStrategy<K> strategy) {
+        return create(shardSuppliers, strategy, new Configuration());
+    }
+
+    /**
+     * This method is the entry point for creating a configured <code>ShardedSessionFactory</code>.
+     *
+     * @param shardSuppliers data source providers of shards in the order of shard indexes
+     * @param strategy strategy of determining the shard of a key
+     * @param configuration settings of the session factory
+     * @param <K> type of shard key
+     * @return a new sharded session factory
+     */
+    public static <K> ShardedSessionFactory<K> create(List<DataSourceSupplier> shardSuppliers, ShardingStrategy<K> strategy,
+                                                      Configuration configuration) {
+        if (shardSuppliers == null) {
+            throw new NullPointerException("Shard data source suppliers is null");
+        }
+        if (shardSuppliers.isEmpty()) {
+            throw new IllegalArgumentException("Shard data source suppliers is empty");
+        }
+        if (strategy == null) {
+            throw new NullPointerException("Sharding strategy is null");
+        }
+        if (configuration == null) {
+            throw new NullPointerException("Configuration is null");
+        }
+
+        List<DataSource> shards = new ArrayList<>(shardSuppliers.size());
+        for (DataSourceSupplier shardSupplier: shardSuppliers) {
+            if (shardSupplier == null) {
+                throw new NullPointerException("Shard data source supplier is null");
+            }
+
+            DataSource dataSource = shardSupplier.get();
+            if (dataSource == null) {
+                throw new NullPointerException("Shard data source is null");
+            }
+            shards.add(dataSource);
+        }
+        return new ShardedSessionFactory<>(Collections.unmodifiableList(shards), strategy, new Configuration(configuration));
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.marchenkoprojects.prettyjdbc.sharding;
+
+/**
+ * This functional interface determines the shard that holds data of the shard key.
+ *
+ * @param <K> type of shard key
+ *
+ * @author Oleg Marchenko
+ *
+ * @see HashShardingStrategy
+ * @see RangeShardingStrategy
+ * @see ShardedSessionFactory
+ */
+@FunctionalInterface
+public interface ShardingStrategy<K> {
+
+    /**
+     * Returns the index of the shard that holds data of the shard key.
+     *
+     * @param shardKey non-null shard key
+     * @param shardCount the number of shards
+     * @return index of the shard from <code>0</code> to <code>shardCount - 1</code>
+     */
+    int getShardIndex(K shardKey, int shardCount);
+}
@@ -0,0 +1,127 @@
+package com.github.marchenkoprojects.prettyjdbc.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * This class tracks the auto-commit mode, the read-only mode and the transaction isolation level of a connection,
+ * so that the driver is called only when a value is actually changed.
+ * Each value is requested from the driver at most once, when it is read for the first time and has not been set before.
+ * <br>
+ * <b>Warning:</b> The tracked state becomes stale if the connection is changed directly, bypassing this object.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see InternalTransaction
+ */
+public class ConnectionState {
+
+    private final Connection connection;
+
+    private boolean autoCommit;
+    private boolean autoCommitKnown;
+    private boolean readOnly;
+    private boolean readOnlyKnown;
+    private int transactionIsolation;
+    private boolean transactionIsolationKnown;
+
+    public ConnectionState(Connection connection) {
+        if (connection == null) {
+            throw new NullPointerException("Connection is null");
+        }
+        this.connection = connection;
+    }
+
+    /**
+     * Returns the connection whose state is tracked.
+     *
+     * @return the tracked connection
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the auto-commit mode of the connection.
+     *
+     * @return the current auto-commit mode
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean getAutoCommit() throws SQLException {
+        if (!autoCommitKnown) {
+            autoCommit = connection.getAutoCommit();
+            autoCommitKnown = true;
+        }
+        return autoCommit;
+    }
+
+    /**
+     * Sets the auto-commit mode of the connection if it differs from the current one.
+     *
+     * @param autoCommit the new auto-commit mode
+     * @throws SQLException if a database access error occurs
+     */
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        if (autoCommitKnown && this.autoCommit == autoCommit) return;
+
+        connection.setAutoCommit(autoCommit);
+        this.autoCommit = autoCommit;
+        this.autoCommitKnown = true;
+    }
+
+    /**
+     * Returns the read-only mode of the connection.
+     *
+     * @return the current read-only mode
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean isReadOnly() throws SQLException {
+        if (!readOnlyKnown) {
+            readOnly = connection.isReadOnly();
+            readOnlyKnown = true;
+        }
+        return readOnly;
+    }
+
+    /**
+     * Sets the read-only mode of the connection if it differs from the current one.
+     *
+     * @param readOnly the new read-only mode
+     * @throws SQLException if a database access error occurs
+     */
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        if (readOnlyKnown && this.readOnly == readOnly) return;
+
+        connection.setReadOnly(readOnly);
+        this.readOnly = readOnly;
+        this.readOnlyKnown = true;
+    }
+
+    /**
+     * Returns the transaction isolation level of the connection.
+     *
+     * @return the current native isolation level
+     * @throws SQLException if a database access error occurs
+     */
+    public int getTransactionIsolation() throws SQLException {
+        if (!transactionIsolationKnown) {
+            transactionIsolation = connection.getTransactionIsolation();
+            transactionIsolationKnown = true;
+        }
+        return transactionIsolation;
+    }
+
+    /**
+     * Sets the transaction isolation level of the connection if it differs from the current one.
+     *
+     * @param transactionIsolation the new native isolation level
+     * @throws SQLException if a database access error occurs
+     */
+    public void setTransactionIsolation(int transactionIsolation) throws SQLException {
+        if (transactionIsolationKnown && this.transactionIsolation == transactionIsolation) return;
+
+        connection.setTransactionIsolation(transactionIsolation);
+        this.transactionIsolation = transactionIsolation;
+        this.transactionIsolationKnown = true;
+    }
+}
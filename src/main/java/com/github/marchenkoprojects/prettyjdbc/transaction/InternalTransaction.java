@@ -1,10 +1,16 @@
 package com.github.marchenkoprojects.prettyjdbc.transaction;
 
+import com.github.marchenkoprojects.prettyjdbc.query.QueryListener;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
+
 import java.sql.Connection;
 import java.sql.SQLException;
 
 /**
  * This is the main internal implementation of the {@link Transaction} interface.
+ * The state of the connection is changed through {@link ConnectionState},
+ * so the driver is called only for the values that actually change.
+ * When the transaction is completed, the read-only mode and the isolation level changed by it are restored.
  *
  * @author Oleg Marchenko
  *
@@ -13,16 +19,41 @@ import java.sql.SQLException;
 public class InternalTransaction implements Transaction {
 
     private final Connection connection;
+    private final ConnectionState connectionState;
     private TransactionStatus status;
+    private QueryListener queryListener;
 
-    private final boolean initialReadOnly;
-    private final int initialIsolationLevel;
+    /**
+     * Values of the connection state before they were changed by this transaction or <code>null</code> if they were not changed.
+     */
+    private Boolean initialReadOnly;
+    private Integer initialIsolationLevel;
 
     public InternalTransaction(Connection connection) {
-        this.connection = connection;
+        this(new ConnectionState(connection));
+    }
+
+    public InternalTransaction(ConnectionState connectionState) {
+        if (connectionState == null) {
+            throw new NullPointerException("Connection state is null");
+        }
+        this.connection = connectionState.getConnection();
+        this.connectionState = connectionState;
         this.status = TransactionStatus.NOT_ACTIVE;
-        this.initialReadOnly = getReadOnlyInternal();
-        this.initialIsolationLevel = getIsolationLevelInternal();
+    }
+
+    /**
+     * Sets the listener which receives the time of the commit or rollback of this transaction.
+     * Usually the listener is set by the session from the configuration of the session factory.
+     *
+     * @param queryListener the listener of the completion
+     * @see com.github.marchenkoprojects.prettyjdbc.Configuration#addQueryListener(QueryListener)
+     */
+    public void setQueryListener(QueryListener queryListener) {
+        if (queryListener == null) {
+            throw new NullPointerException("Query listener is null");
+        }
+        this.queryListener = queryListener;
     }
 
     /**
@@ -46,14 +77,21 @@ public class InternalTransaction implements Transaction {
     @Override
     public final void commit() {
         if (status == TransactionStatus.ACTIVE) {
+            beforeCommit();
             doCommit();
-            doComplete();
+            doComplete(true);
         }
     }
 
     private void doCommit() {
         try {
+            Object event = FlightRecorderEvents.beginTransactionCompletion();
+            long startTime = queryListener != null ? System.nanoTime() : 0L;
             connection.commit();
+            if (queryListener != null) {
+                queryListener.onTransaction(true, System.nanoTime() - startTime);
+            }
+            FlightRecorderEvents.endTransactionCompletion(event, true);
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -67,24 +105,52 @@ public class InternalTransaction implements Transaction {
     public final void rollback() {
         if (status == TransactionStatus.ACTIVE) {
             doRollback();
-            doComplete();
+            doComplete(false);
         }
     }
 
     private void doRollback() {
         try {
+            Object event = FlightRecorderEvents.beginTransactionCompletion();
+            long startTime = queryListener != null ? System.nanoTime() : 0L;
             connection.rollback();
+            if (queryListener != null) {
+                queryListener.onTransaction(false, System.nanoTime() - startTime);
+            }
+            FlightRecorderEvents.endTransactionCompletion(event, false);
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void doComplete() {
+    private void doComplete(boolean committed) {
         setAutoCommit(true);
         changeStatus(TransactionStatus.COMPLETED);
-        setReadOnlyInternal(initialReadOnly);
-        setIsolationLevelInternal(initialIsolationLevel);
+        if (initialReadOnly != null) {
+            setReadOnlyInternal(initialReadOnly);
+        }
+        if (initialIsolationLevel != null) {
+            setIsolationLevelInternal(initialIsolationLevel);
+        }
+        afterCompletion(committed);
+    }
+
+    /**
+     * Called before the transaction is committed, e.g. to execute the remaining work within the transaction.
+     * If this method throws an exception, the transaction is not committed and remains active.
+     * Does nothing by default.
+     */
+    protected void beforeCommit() {
+    }
+
+    /**
+     * Called after the transaction has been committed or rolled back and the connection state has been restored.
+     * Does nothing by default.
+     *
+     * @param committed <code>true</code> if the transaction has been committed, <code>false</code> if rolled back
+     */
+    protected void afterCompletion(boolean committed) {
     }
 
     private void changeStatus(TransactionStatus status) {
@@ -93,7 +159,7 @@ public class InternalTransaction implements Transaction {
 
     private void setAutoCommit(boolean autoCommit) {
         try {
-            connection.setAutoCommit(autoCommit);
+            connectionState.setAutoCommit(autoCommit);
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -118,7 +184,7 @@ public class InternalTransaction implements Transaction {
 
     private boolean getReadOnlyInternal() {
         try {
-            return connection.isReadOnly();
+            return connectionState.isReadOnly();
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -134,12 +200,15 @@ public class InternalTransaction implements Transaction {
             throw new IllegalStateException("Read-only mode cannot be set for a transaction in status active");
         }
 
+        if (initialReadOnly == null) {
+            initialReadOnly = getReadOnlyInternal();
+        }
         setReadOnlyInternal(readOnly);
     }
 
     private void setReadOnlyInternal(boolean readOnly) {
         try {
-            connection.setReadOnly(readOnly);
+            connectionState.setReadOnly(readOnly);
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -156,7 +225,7 @@ public class InternalTransaction implements Transaction {
 
     private int getIsolationLevelInternal() {
         try {
-            return connection.getTransactionIsolation();
+            return connectionState.getTransactionIsolation();
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -172,12 +241,15 @@ public class InternalTransaction implements Transaction {
             throw new IllegalStateException("Isolation level cannot be set for a transaction in status active");
         }
 
+        if (initialIsolationLevel == null) {
+            initialIsolationLevel = getIsolationLevelInternal();
+        }
         setIsolationLevelInternal(isolationLevel.nativeLevel());
     }
 
     private void setIsolationLevelInternal(int isolationLevel) {
         try {
-            connection.setTransactionIsolation(isolationLevel);
+            connectionState.setTransactionIsolation(isolationLevel);
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,378 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class creates fast functional accessors to constructors, getters, setters and fields without per-call reflection.
+ * Public members of classes visible to the library are compiled by {@link LambdaMetafactory} and
+ * work as fast as hand-written lambdas; other members are accessed through {@link MethodHandle}.
+ * <br>
+ * Accessors of primitive <code>int</code>, <code>long</code> and <code>double</code> types do not box values.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see BeanProperty
+ */
+public final class AccessorFactory {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Creates an instance factory from the constructor without parameters.
+     *
+     * @param <T> type of instances
+     * @param constructor the constructor without parameters
+     * @return factory of new instances
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> instantiator(Constructor<T> constructor) {
+        MethodHandle handle = unreflect(constructor);
+        if (isLambdaCompatible(constructor)) {
+            return (Supplier<T>) metafactory(Supplier.class, "get", MethodType.methodType(Object.class),
+                    handle, MethodType.methodType(constructor.getDeclaringClass()));
+        }
+
+        MethodHandle genericHandle = handle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return (T) (Object) genericHandle.invokeExact();
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a setter of <code>int</code> value of the property.
+     *
+     * @param property the writable property of <code>int</code> type
+     * @return the setter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjIntConsumer<Object> intSetter(BeanProperty property) {
+        Method setter = property.getSetter();
+        if (setter != null && isLambdaCompatible(setter)) {
+            return (ObjIntConsumer<Object>) metafactory(ObjIntConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, int.class),
+                    unreflect(setter), MethodType.methodType(void.class, setter.getDeclaringClass(), int.class));
+        }
+
+        MethodHandle handle = setterHandle(property).asType(MethodType.methodType(void.class, Object.class, int.class));
+        return (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a setter of <code>long</code> value of the property.
+     *
+     * @param property the writable property of <code>long</code> type
+     * @return the setter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjLongConsumer<Object> longSetter(BeanProperty property) {
+        Method setter = property.getSetter();
+        if (setter != null && isLambdaCompatible(setter)) {
+            return (ObjLongConsumer<Object>) metafactory(ObjLongConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, long.class),
+                    unreflect(setter), MethodType.methodType(void.class, setter.getDeclaringClass(), long.class));
+        }
+
+        MethodHandle handle = setterHandle(property).asType(MethodType.methodType(void.class, Object.class, long.class));
+        return (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a setter of <code>double</code> value of the property.
+     *
+     * @param property the writable property of <code>double</code> type
+     * @return the setter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjDoubleConsumer<Object> doubleSetter(BeanProperty property) {
+        Method setter = property.getSetter();
+        if (setter != null && isLambdaCompatible(setter)) {
+            return (ObjDoubleConsumer<Object>) metafactory(ObjDoubleConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, double.class),
+                    unreflect(setter), MethodType.methodType(void.class, setter.getDeclaringClass(), double.class));
+        }
+
+        MethodHandle handle = setterHandle(property).asType(MethodType.methodType(void.class, Object.class, double.class));
+        return (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a setter of the property value of any type. Values of primitive types are unboxed.
+     *
+     * @param property the writable property
+     * @return the setter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> setter(BeanProperty property) {
+        Method setter = property.getSetter();
+        if (setter != null && isLambdaCompatible(setter)) {
+            return (BiConsumer<Object, Object>) metafactory(BiConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    unreflect(setter), MethodType.methodType(void.class, setter.getDeclaringClass(), wrap(property.getType())));
+        }
+
+        MethodHandle handle = setterHandle(property).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a getter of <code>int</code> value of the property.
+     *
+     * @param property the readable property of <code>int</code> type
+     * @return the getter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static ToIntFunction<Object> intGetter(BeanProperty property) {
+        Method getter = property.getGetter();
+        if (getter != null && isLambdaCompatible(getter)) {
+            return (ToIntFunction<Object>) metafactory(ToIntFunction.class, "applyAsInt",
+                    MethodType.methodType(int.class, Object.class),
+                    unreflect(getter), MethodType.methodType(int.class, getter.getDeclaringClass()));
+        }
+
+        MethodHandle handle = getterHandle(property).asType(MethodType.methodType(int.class, Object.class));
+        return bean -> {
+            try {
+                return (int) handle.invokeExact(bean);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a getter of <code>long</code> value of the property.
+     *
+     * @param property the readable property of <code>long</code> type
+     * @return the getter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static ToLongFunction<Object> longGetter(BeanProperty property) {
+        Method getter = property.getGetter();
+        if (getter != null && isLambdaCompatible(getter)) {
+            return (ToLongFunction<Object>) metafactory(ToLongFunction.class, "applyAsLong",
+                    MethodType.methodType(long.class, Object.class),
+                    unreflect(getter), MethodType.methodType(long.class, getter.getDeclaringClass()));
+        }
+
+        MethodHandle handle = getterHandle(property).asType(MethodType.methodType(long.class, Object.class));
+        return bean -> {
+            try {
+                return (long) handle.invokeExact(bean);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a getter of <code>double</code> value of the property.
+     *
+     * @param property the readable property of <code>double</code> type
+     * @return the getter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static ToDoubleFunction<Object> doubleGetter(BeanProperty property) {
+        Method getter = property.getGetter();
+        if (getter != null && isLambdaCompatible(getter)) {
+            return (ToDoubleFunction<Object>) metafactory(ToDoubleFunction.class, "applyAsDouble",
+                    MethodType.methodType(double.class, Object.class),
+                    unreflect(getter), MethodType.methodType(double.class, getter.getDeclaringClass()));
+        }
+
+        MethodHandle handle = getterHandle(property).asType(MethodType.methodType(double.class, Object.class));
+        return bean -> {
+            try {
+                return (double) handle.invokeExact(bean);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * Creates a getter of the property value of any type. Values of primitive types are boxed.
+     *
+     * @param property the readable property
+     * @return the getter of property value
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> getter(BeanProperty property) {
+        Method getter = property.getGetter();
+        if (getter != null && isLambdaCompatible(getter)) {
+            return (Function<Object, Object>) metafactory(Function.class, "apply",
+                    MethodType.methodType(Object.class, Object.class),
+                    unreflect(getter), MethodType.methodType(wrap(property.getType()), getter.getDeclaringClass()));
+        }
+
+        MethodHandle handle = getterHandle(property).asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return (Object) handle.invokeExact(bean);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    private static MethodHandle setterHandle(BeanProperty property) {
+        if (property.getSetter() != null) {
+            return unreflect(property.getSetter());
+        }
+
+        Field field = property.getField();
+        if (field == null || Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalArgumentException("Property '" + property.getName() + "' is not writable");
+        }
+        try {
+            return LOOKUP.unreflectSetter(accessible(field));
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle getterHandle(BeanProperty property) {
+        if (property.getGetter() != null) {
+            return unreflect(property.getGetter());
+        }
+
+        Field field = property.getField();
+        if (field == null) {
+            throw new IllegalArgumentException("Property '" + property.getName() + "' is not readable");
+        }
+        try {
+            return LOOKUP.unreflectGetter(accessible(field));
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(isAccessible(method) ? method : accessible(method));
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        try {
+            return LOOKUP.unreflectConstructor(isAccessible(constructor) ? constructor : accessible(constructor));
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <A extends AccessibleObject> A accessible(A accessibleObject) {
+        accessibleObject.setAccessible(true);
+        return accessibleObject;
+    }
+
+    private static Object metafactory(Class<?> functionalInterface, String methodName, MethodType methodType,
+                                      MethodHandle implementation, MethodType instantiatedMethodType) {
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, methodName,
+                    MethodType.methodType(functionalInterface), methodType, implementation, instantiatedMethodType);
+            return callSite.getTarget().invoke();
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException("Failed to create accessor for " + implementation, e);
+        }
+    }
+
+    /**
+     * Only public members of public classes visible from the class loader of the library can be compiled into lambdas,
+     * because the generated lambda class refers to the member directly.
+     */
+    private static boolean isLambdaCompatible(Member member) {
+        Class<?> declaringClass = member.getDeclaringClass();
+        return isAccessible(member) && isVisible(declaringClass);
+    }
+
+    private static boolean isAccessible(Member member) {
+        return Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(member.getDeclaringClass().getModifiers());
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, AccessorFactory.class.getClassLoader()) == type;
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) return (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+
+        return new RuntimeException(e);
+    }
+
+    private AccessorFactory() {
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * This class grows the fetch size of a {@link ResultSet} while its rows are read.
+ * Each time the rows of the current fetch have been read, the fetch size is doubled until the maximum is reached,
+ * so short results are fetched with small buffers and long scans take few round trips
+ * without unbounded buffering in the driver.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.query.Query#setMaxAdaptiveFetchSize(int)
+ */
+public final class AdaptiveFetchSize {
+    /**
+     * The fetch size of the first fetch if the fetch size of the query is not set.
+     */
+    public static final int INITIAL_FETCH_SIZE = 10;
+
+    private static final AdaptiveFetchSize DISABLED = new AdaptiveFetchSize(null, 0, 0);
+
+    private final ResultSet resultSet;
+    private final int maxFetchSize;
+    private int fetchSize;
+    /**
+     * The number of rows left until the next growth or <code>0</code> if the fetch size does not grow anymore.
+     */
+    private int remainingRows;
+
+    private AdaptiveFetchSize(ResultSet resultSet, int initialFetchSize, int maxFetchSize) {
+        this.resultSet = resultSet;
+        this.maxFetchSize = maxFetchSize;
+        this.fetchSize = initialFetchSize;
+        this.remainingRows = initialFetchSize;
+    }
+
+    /**
+     * Returns the instance which never changes the fetch size.
+     *
+     * @return the disabled adaptive fetch size
+     */
+    public static AdaptiveFetchSize disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Creates the adaptive fetch size of the result set.
+     *
+     * @param resultSet the result set to adapt
+     * @param initialFetchSize the fetch size of the first fetch
+     * @param maxFetchSize the maximum fetch size or <code>0</code> to disable adaptation
+     * @return the adaptive fetch size
+     */
+    public static AdaptiveFetchSize of(ResultSet resultSet, int initialFetchSize, int maxFetchSize) {
+        if (maxFetchSize <= 0 || initialFetchSize <= 0 || initialFetchSize >= maxFetchSize) {
+            return DISABLED;
+        }
+        return new AdaptiveFetchSize(resultSet, initialFetchSize, maxFetchSize);
+    }
+
+    /**
+     * Must be called after each row has been read from the result set.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public void rowRead() throws SQLException {
+        if (remainingRows > 0 && --remainingRows == 0) {
+            grow();
+        }
+    }
+
+    private void grow() throws SQLException {
+        fetchSize = (int) Math.min(fetchSize * 2L, maxFetchSize);
+        resultSet.setFetchSize(fetchSize);
+        remainingRows = fetchSize < maxFetchSize ? fetchSize : 0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class describes a single property of a Java bean which can be accessed by a getter, setter or field.
+ * Properties of a class are discovered only once and cached.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see AccessorFactory
+ */
+public final class BeanProperty {
+    private static final Map<Class<?>, Map<String, BeanProperty>> PROPERTIES_CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Class<?> type;
+    private Method getter;
+    private Method setter;
+    private Field field;
+
+    private BeanProperty(String name, Class<?> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Returns the name of this property.
+     *
+     * @return the property name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the type of this property.
+     *
+     * @return the property type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the public getter of this property.
+     *
+     * @return the getter or <code>null</code>, if the property has no getter
+     */
+    public Method getGetter() {
+        return getter;
+    }
+
+    /**
+     * Returns the public setter of this property.
+     *
+     * @return the setter or <code>null</code>, if the property has no setter
+     */
+    public Method getSetter() {
+        return setter;
+    }
+
+    /**
+     * Returns the field of this property.
+     *
+     * @return the field or <code>null</code>, if the property has no field with the same name
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns <code>true</code> if the value of this property can be read.
+     *
+     * @return <code>true</code> if the property has a getter or a field
+     */
+    public boolean isReadable() {
+        return getter != null || field != null;
+    }
+
+    /**
+     * Returns <code>true</code> if the value of this property can be changed.
+     *
+     * @return <code>true</code> if the property has a setter or a non-final field
+     */
+    public boolean isWritable() {
+        return setter != null || (field != null && !Modifier.isFinal(field.getModifiers()));
+    }
+
+    /**
+     * Returns all properties of the class by their normalized names.
+     *
+     * @param type the bean class
+     * @return unmodifiable map of normalized property names to properties
+     * @see #normalizeName(String)
+     */
+    public static Map<String, BeanProperty> getProperties(Class<?> type) {
+        return PROPERTIES_CACHE.computeIfAbsent(type, BeanProperty::discoverProperties);
+    }
+
+    /**
+     * Normalizes the name of a property or column for matching: underscores are removed and letters are lower-cased,
+     * so the column <code>original_name</code> matches the property <code>originalName</code>.
+     *
+     * @param name the property or column name
+     * @return the normalized name
+     */
+    public static String normalizeName(String name) {
+        StringBuilder normalizedName = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_') {
+                normalizedName.append(c);
+            }
+        }
+        return normalizedName.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, BeanProperty> discoverProperties(Class<?> type) {
+        Map<String, BeanProperty> properties = new LinkedHashMap<>();
+
+        for (Method method: type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge()) continue;
+
+            String methodName = method.getName();
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length == 1 && methodName.length() > 3 && methodName.startsWith("set")) {
+                BeanProperty property = obtainProperty(properties, methodName.substring(3), parameterTypes[0]);
+                if (property != null) {
+                    property.setter = method;
+                }
+            }
+            else if (parameterTypes.length == 0 && method.getReturnType() != void.class) {
+                String propertyName = null;
+                if (methodName.length() > 3 && methodName.startsWith("get") && !methodName.equals("getClass")) {
+                    propertyName = methodName.substring(3);
+                }
+                else if (methodName.length() > 2 && methodName.startsWith("is") && method.getReturnType() == boolean.class) {
+                    propertyName = methodName.substring(2);
+                }
+
+                if (propertyName != null) {
+                    BeanProperty property = obtainProperty(properties, propertyName, method.getReturnType());
+                    if (property != null) {
+                        property.getter = method;
+                    }
+                }
+            }
+        }
+
+        for (Class<?> currentType = type; currentType != null && currentType != Object.class; currentType = currentType.getSuperclass()) {
+            for (Field field: currentType.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+
+                BeanProperty property = obtainProperty(properties, field.getName(), field.getType());
+                if (property != null && property.field == null) {
+                    property.field = field;
+                }
+            }
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static BeanProperty obtainProperty(Map<String, BeanProperty> properties, String name, Class<?> type) {
+        String normalizedName = normalizeName(name);
+        BeanProperty property = properties.get(normalizedName);
+        if (property == null) {
+            property = new BeanProperty(decapitalize(name), type);
+            properties.put(normalizedName, property);
+            return property;
+        }
+        // Accessors of a different type do not belong to the same property.
+        return property.type == type ? property : null;
+    }
+
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+/**
+ * This class finds the code which has called the library in the stack of the current thread.
+ * Frames of the library and of the Java platform (e.g. streams and lambdas) are skipped.
+ * <br>
+ * <b>Note:</b> Walking the stack is expensive, so it should be used only for diagnostics.
+ *
+ * @author Oleg Marchenko
+ */
+public final class CallerSite {
+    private static final String LIBRARY_PACKAGE = "com.github.marchenkoprojects.prettyjdbc.";
+
+    /**
+     * Returns the first frame outside the library in the stack of the current thread.
+     *
+     * @return the frame of the caller or <code>null</code> if the library is called only by the platform
+     *         (e.g. by an executor of asynchronous operations)
+     */
+    public static StackTraceElement find() {
+        for (StackTraceElement element: new Throwable().getStackTrace()) {
+            if (!isInternalClass(element.getClassName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInternalClass(String className) {
+        if (className.startsWith(LIBRARY_PACKAGE)) {
+            // Queries are executed only by sub-packages, the root package contains the entry points of the library.
+            return className.indexOf('.', LIBRARY_PACKAGE.length()) >= 0;
+        }
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private CallerSite() {
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class provides the executor of asynchronous database operations which is used if no other executor is configured.
+ * Database operations block threads, so the executor runs them in a separate pool of daemon threads
+ * instead of the common fork-join pool. Threads are created on demand and terminate when they are idle.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see com.github.marchenkoprojects.prettyjdbc.Configuration#setExecutor(Executor)
+ */
+public final class DefaultExecutor {
+
+    /**
+     * Returns the shared default executor. The executor is created on the first call.
+     *
+     * @return the default executor
+     */
+    public static Executor get() {
+        return Holder.EXECUTOR;
+    }
+
+    private static final class Holder {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "prettyjdbc-async-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private DefaultExecutor() {
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+/**
+ * This class emits Java Flight Recorder events of sessions, queries and transactions.
+ * Each operation is surrounded by the pair of methods <code>begin...</code> and <code>end...</code>:
+ * the first one returns the started event or <code>null</code> if the event is not recorded,
+ * the second one completes and commits it.
+ * <br>
+ * This implementation is used on Java 8 where Flight Recorder events are unavailable, so it does nothing
+ * and is eliminated by the JIT compiler. On Java 11 and later the multi-release jar contains the implementation
+ * which emits events of the <code>PrettyJDBC</code> category. Events are enabled by default in recordings
+ * and cost only a check of the enabled state if no recording is running.
+ *
+ * @author Oleg Marchenko
+ */
+public final class FlightRecorderEvents {
+
+    /**
+     * Starts the event of the session which lasts until the session is closed.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginSession() {
+        return null;
+    }
+
+    public static void endSession(Object event) {
+    }
+
+    /**
+     * Starts the event of acquisition of a connection from the data source.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginConnectionAcquisition() {
+        return null;
+    }
+
+    public static void endConnectionAcquisition(Object event) {
+    }
+
+    /**
+     * Starts the event of preparation of a statement.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginPrepare() {
+        return null;
+    }
+
+    public static void endPrepare(Object event, String sql) {
+    }
+
+    /**
+     * Starts the event of execution of a query, update or batch,
+     * which is completed by the corresponding method <code>end...</code>.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginExecution() {
+        return null;
+    }
+
+    public static void endQuery(Object event, String sql, long rowCount) {
+    }
+
+    public static void endUpdate(Object event, String sql, long updateCount) {
+    }
+
+    public static void endBatch(Object event, String sql, int batchSize) {
+    }
+
+    /**
+     * Starts the event of reading of the whole result into memory.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginMaterialization() {
+        return null;
+    }
+
+    public static void endMaterialization(Object event, int rowCount, int columnCount) {
+    }
+
+    /**
+     * Starts the event of mapping of result rows to objects.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginMapping() {
+        return null;
+    }
+
+    public static void endMapping(Object event, Class<?> resultType, long rowCount) {
+    }
+
+    /**
+     * Starts the event of commit or rollback of a transaction.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginTransactionCompletion() {
+        return null;
+    }
+
+    public static void endTransactionCompletion(Object event, boolean committed) {
+    }
+
+    private FlightRecorderEvents() {
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a thread safe size-bounded cache of processed SQL queries with named parameters.
+ * When the maximum size is reached then the least recently used query will be evicted.
+ * <br>
+ * The cache is shared between all sessions of the same {@link com.github.marchenkoprojects.prettyjdbc.SessionFactory}
+ * and allows to avoid repeated processing of the same SQL queries.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see ParsedQuery
+ */
+public class NamedParameterQueryCache {
+
+    private final int maxSize;
+    private final Map<String, ParsedQuery> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a new cache with the specified maximum size.
+     *
+     * @param maxSize the maximum number of cached queries, <code>0</code> disables caching
+     * @throws IllegalArgumentException if the maximum size is negative
+     */
+    public NamedParameterQueryCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximum size of query cache is negative");
+        }
+
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<String, ParsedQuery>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedQuery> eldest) {
+                if (size() > NamedParameterQueryCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the processed SQL query from the cache or processes it and puts in the cache.
+     *
+     * @param query an SQL expression with named parameters
+     * @return the result of query processing
+     * @throws IllegalStateException if the query contains invalid named parameters
+     */
+    public ParsedQuery get(String query) {
+        if (query == null) {
+            throw new NullPointerException("Query is null");
+        }
+
+        ParsedQuery parsedQuery;
+        synchronized (cache) {
+            parsedQuery = cache.get(query);
+        }
+        if (parsedQuery != null) {
+            hitCount.increment();
+            return parsedQuery;
+        }
+
+        missCount.increment();
+        // Processing is performed outside the lock so that concurrent misses do not block each other.
+        parsedQuery = ParsedQuery.parse(query);
+        if (maxSize > 0) {
+            synchronized (cache) {
+                ParsedQuery cachedQuery = cache.putIfAbsent(query, parsedQuery);
+                if (cachedQuery != null) {
+                    return cachedQuery;
+                }
+            }
+        }
+        return parsedQuery;
+    }
+
+    /**
+     * Removes all queries from the cache. Statistics counters are not reset.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached queries.
+     *
+     * @return the maximum size of the cache
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the current number of cached queries.
+     *
+     * @return the current size of the cache
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns the number of times the processed query was found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of times the query had to be processed because it was not found in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of queries evicted from the cache because of the size limit.
+     *
+     * @return the number of cache evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents an immutable result of processing a SQL query with named parameters.
+ * It contains the native SQL query form, all named parameters in order of their occurrence
+ * and the mapping of each named parameter to its index.
+ * <br>
+ * Instances of this class are thread safe and can be shared between sessions.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see NamedParameterQueryProcessor
+ * @see NamedParameterQueryCache
+ */
+public final class ParsedQuery {
+
+    private final String query;
+    private final String nativeQuery;
+    private final List<String> parameters;
+    private final Map<String, Integer> parameterToIndex;
+
+    public ParsedQuery(String query, String nativeQuery, List<String> parameters) {
+        if (query == null) {
+            throw new NullPointerException("Query is null");
+        }
+        if (nativeQuery == null) {
+            throw new NullPointerException("Native query is null");
+        }
+        if (parameters == null) {
+            throw new NullPointerException("Parameters is null");
+        }
+
+        this.query = query;
+        this.nativeQuery = nativeQuery;
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.parameterToIndex = Collections.unmodifiableMap(indexParameters(parameters));
+    }
+
+    /**
+     * Returns the original SQL query with named parameters.
+     *
+     * @return the original query
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the native SQL query form.
+     *
+     * @return the native query form
+     */
+    public String getNativeQuery() {
+        return nativeQuery;
+    }
+
+    /**
+     * Returns all named parameters in order of their occurrence in the query.
+     *
+     * @return unmodifiable list of named parameters
+     */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the mapping of named parameters to their indexes which begin with 1.
+     *
+     * @return unmodifiable map of named parameters to indexes
+     */
+    public Map<String, Integer> getParameterToIndex() {
+        return parameterToIndex;
+    }
+
+    /**
+     * Performs processing of the SQL query with named parameters.
+     *
+     * @param query an SQL expression with named parameters
+     * @return the result of query processing
+     * @see NamedParameterQueryProcessor#process()
+     */
+    public static ParsedQuery parse(String query) {
+        NamedParameterQueryProcessor queryProcessor = new NamedParameterQueryProcessor(query);
+        queryProcessor.process();
+        return new ParsedQuery(query, queryProcessor.getNativeQuery(), queryProcessor.getParameters());
+    }
+
+    /**
+     * Builds the mapping of named parameters to their indexes which begin with 1.
+     * If the parameter occurs several times then the last index will be used.
+     *
+     * @param parameters list of named parameters
+     * @return map of named parameters to indexes
+     */
+    public static Map<String, Integer> indexParameters(List<String> parameters) {
+        int size = parameters.size();
+        Map<String, Integer> parameterToIndex = new HashMap<>(size + 1, 1);
+        for (int i = 0; i < size; i++) {
+            String parameter = parameters.get(i);
+            parameterToIndex.put(parameter, i + 1);
+        }
+        return parameterToIndex;
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+/**
+ * This class normalizes SQL queries to group executions of the same statement:
+ * string and numeric literals are replaced by <code>?</code> and sequences of whitespaces are collapsed into a single space.
+ * Thus queries that differ only in inlined values or formatting have the same normalized form.
+ * <br>
+ * Quoted identifiers and the case of letters are kept as is.
+ *
+ * @author Oleg Marchenko
+ */
+public final class SqlNormalizer {
+    private static final char LITERAL_PLACEHOLDER = '?';
+
+    /**
+     * Returns the normalized form of the SQL query.
+     *
+     * @param sql the SQL query
+     * @return the normalized query
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            throw new NullPointerException("SQL is null");
+        }
+
+        int length = sql.length();
+        StringBuilder normalizedSql = new StringBuilder(length);
+        boolean pendingSpace = false;
+
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalizedSql.length() > 0;
+                i++;
+                continue;
+            }
+            if (pendingSpace) {
+                normalizedSql.append(' ');
+                pendingSpace = false;
+            }
+
+            if (c == '\'') {
+                i = skipStringLiteral(sql, i);
+                normalizedSql.append(LITERAL_PLACEHOLDER);
+            }
+            else if (c == '"') {
+                int end = skipQuotedIdentifier(sql, i);
+                normalizedSql.append(sql, i, end);
+                i = end;
+            }
+            else if (Character.isDigit(c)) {
+                i = skipNumericLiteral(sql, i);
+                normalizedSql.append(LITERAL_PLACEHOLDER);
+            }
+            else if (isIdentifierStart(c)) {
+                int end = skipIdentifier(sql, i);
+                normalizedSql.append(sql, i, end);
+                i = end;
+            }
+            else {
+                normalizedSql.append(c);
+                i++;
+            }
+        }
+        return normalizedSql.toString();
+    }
+
+    private static int skipStringLiteral(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                // Two quotes in a row are an escaped quote within the literal.
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipQuotedIdentifier(String sql, int start) {
+        int end = sql.indexOf('"', start + 1);
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    private static int skipNumericLiteral(String sql, int start) {
+        int i = start;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isDigit(c) || c == '.') {
+                i++;
+            }
+            else if ((c == 'e' || c == 'E') && i + 1 < sql.length() && isExponentPart(sql.charAt(i + 1))) {
+                i += 2;
+            }
+            else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isExponentPart(char c) {
+        return Character.isDigit(c) || c == '+' || c == '-';
+    }
+
+    private static int skipIdentifier(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length() && isIdentifierPart(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private SqlNormalizer() {
+    }
+}
@@ -0,0 +1,272 @@
+package com.github.marchenkoprojects.prettyjdbc.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+/**
+ * This class emits Java Flight Recorder events of sessions, queries and transactions.
+ * Each operation is surrounded by the pair of methods <code>begin...</code> and <code>end...</code>:
+ * the first one returns the started event or <code>null</code> if the event is not recorded,
+ * the second one completes and commits it.
+ * <br>
+ * This implementation for Java 11 and later emits events of the <code>PrettyJDBC</code> category.
+ * Events are enabled by default in recordings, their thresholds can be set in the recording settings
+ * (e.g. <code>com.github.marchenkoprojects.prettyjdbc.QueryExecution#threshold=10 ms</code>).
+ * If no recording is running, no event is allocated and started, it costs only a check of the enabled state.
+ *
+ * @author Oleg Marchenko
+ */
+public final class FlightRecorderEvents {
+    private static final String CATEGORY = "PrettyJDBC";
+    private static final String EVENT_PREFIX = "com.github.marchenkoprojects.prettyjdbc.";
+
+    /*
+     * Instances which are never committed, they are used only to check whether their event types are enabled,
+     * so no event is allocated if no recording is running.
+     */
+    private static final SessionEvent SESSION = new SessionEvent();
+    private static final ConnectionAcquisitionEvent CONNECTION_ACQUISITION = new ConnectionAcquisitionEvent();
+    private static final StatementPrepareEvent STATEMENT_PREPARE = new StatementPrepareEvent();
+    private static final QueryExecutionEvent QUERY_EXECUTION = new QueryExecutionEvent();
+    private static final ResultMaterializationEvent RESULT_MATERIALIZATION = new ResultMaterializationEvent();
+    private static final ResultMappingEvent RESULT_MAPPING = new ResultMappingEvent();
+    private static final TransactionCompletionEvent TRANSACTION_COMPLETION = new TransactionCompletionEvent();
+
+    /**
+     * Starts the event of the session which lasts until the session is closed.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginSession() {
+        return begin(SESSION, SessionEvent::new);
+    }
+
+    public static void endSession(Object event) {
+        if (event == null) return;
+
+        ((SessionEvent) event).commit();
+    }
+
+    /**
+     * Starts the event of acquisition of a connection from the data source.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginConnectionAcquisition() {
+        return begin(CONNECTION_ACQUISITION, ConnectionAcquisitionEvent::new);
+    }
+
+    public static void endConnectionAcquisition(Object event) {
+        if (event == null) return;
+
+        ((ConnectionAcquisitionEvent) event).commit();
+    }
+
+    /**
+     * Starts the event of preparation of a statement.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginPrepare() {
+        return begin(STATEMENT_PREPARE, StatementPrepareEvent::new);
+    }
+
+    public static void endPrepare(Object event, String sql) {
+        if (event == null) return;
+
+        StatementPrepareEvent prepareEvent = (StatementPrepareEvent) event;
+        prepareEvent.end();
+        if (prepareEvent.shouldCommit()) {
+            prepareEvent.sql = sql;
+            prepareEvent.commit();
+        }
+    }
+
+    /**
+     * Starts the event of execution of a query, update or batch,
+     * which is completed by the corresponding method <code>end...</code>.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginExecution() {
+        return begin(QUERY_EXECUTION, QueryExecutionEvent::new);
+    }
+
+    public static void endQuery(Object event, String sql, long rowCount) {
+        endExecution(event, "QUERY", sql, rowCount);
+    }
+
+    public static void endUpdate(Object event, String sql, long updateCount) {
+        endExecution(event, "UPDATE", sql, updateCount);
+    }
+
+    public static void endBatch(Object event, String sql, int batchSize) {
+        endExecution(event, "BATCH", sql, batchSize);
+    }
+
+    private static void endExecution(Object event, String operation, String sql, long rowCount) {
+        if (event == null) return;
+
+        QueryExecutionEvent executionEvent = (QueryExecutionEvent) event;
+        executionEvent.end();
+        if (executionEvent.shouldCommit()) {
+            executionEvent.operation = operation;
+            executionEvent.sql = sql;
+            executionEvent.rowCount = rowCount;
+            executionEvent.commit();
+        }
+    }
+
+    /**
+     * Starts the event of reading of the whole result into memory.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginMaterialization() {
+        return begin(RESULT_MATERIALIZATION, ResultMaterializationEvent::new);
+    }
+
+    public static void endMaterialization(Object event, int rowCount, int columnCount) {
+        if (event == null) return;
+
+        ResultMaterializationEvent materializationEvent = (ResultMaterializationEvent) event;
+        materializationEvent.end();
+        if (materializationEvent.shouldCommit()) {
+            materializationEvent.rowCount = rowCount;
+            materializationEvent.columnCount = columnCount;
+            materializationEvent.commit();
+        }
+    }
+
+    /**
+     * Starts the event of mapping of result rows to objects.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginMapping() {
+        return begin(RESULT_MAPPING, ResultMappingEvent::new);
+    }
+
+    public static void endMapping(Object event, Class<?> resultType, long rowCount) {
+        if (event == null) return;
+
+        ResultMappingEvent mappingEvent = (ResultMappingEvent) event;
+        mappingEvent.end();
+        if (mappingEvent.shouldCommit()) {
+            mappingEvent.resultType = resultType;
+            mappingEvent.rowCount = rowCount;
+            mappingEvent.commit();
+        }
+    }
+
+    /**
+     * Starts the event of commit or rollback of a transaction.
+     *
+     * @return the started event or <code>null</code>
+     */
+    public static Object beginTransactionCompletion() {
+        return begin(TRANSACTION_COMPLETION, TransactionCompletionEvent::new);
+    }
+
+    public static void endTransactionCompletion(Object event, boolean committed) {
+        if (event == null) return;
+
+        TransactionCompletionEvent completionEvent = (TransactionCompletionEvent) event;
+        completionEvent.end();
+        if (completionEvent.shouldCommit()) {
+            completionEvent.committed = committed;
+            completionEvent.commit();
+        }
+    }
+
+    private static Event begin(Event typeEvent, Supplier<Event> eventFactory) {
+        if (!typeEvent.isEnabled()) {
+            return null;
+        }
+        Event event = eventFactory.get();
+        event.begin();
+        return event;
+    }
+
+    @Name(EVENT_PREFIX + "Session")
+    @Label("Session")
+    @Description("Lifetime of a session from opening to closing")
+    @Category(CATEGORY)
+    static final class SessionEvent extends Event {
+    }
+
+    @Name(EVENT_PREFIX + "ConnectionAcquisition")
+    @Label("Connection Acquisition")
+    @Description("Acquisition of a connection from the data source by a session")
+    @Category(CATEGORY)
+    static final class ConnectionAcquisitionEvent extends Event {
+    }
+
+    @Name(EVENT_PREFIX + "StatementPrepare")
+    @Label("Statement Prepare")
+    @Description("Preparation of a statement by the connection")
+    @Category(CATEGORY)
+    static final class StatementPrepareEvent extends Event {
+        @Label("SQL")
+        String sql;
+    }
+
+    @Name(EVENT_PREFIX + "QueryExecution")
+    @Label("Query Execution")
+    @Description("Execution of a query including reading of its result, an update or a batch")
+    @Category(CATEGORY)
+    static final class QueryExecutionEvent extends Event {
+        @Label("Operation")
+        @Description("QUERY, UPDATE or BATCH")
+        String operation;
+
+        @Label("SQL")
+        String sql;
+
+        @Label("Row Count")
+        @Description("Number of rows read by a query, updated by an update or commands of a batch")
+        long rowCount;
+    }
+
+    @Name(EVENT_PREFIX + "ResultMaterialization")
+    @Label("Result Materialization")
+    @Description("Reading of the whole result of a query into memory")
+    @Category(CATEGORY)
+    static final class ResultMaterializationEvent extends Event {
+        @Label("Row Count")
+        int rowCount;
+
+        @Label("Column Count")
+        int columnCount;
+    }
+
+    @Name(EVENT_PREFIX + "ResultMapping")
+    @Label("Result Mapping")
+    @Description("Reading of the rows of a typed query and their mapping to objects")
+    @Category(CATEGORY)
+    static final class ResultMappingEvent extends Event {
+        @Label("Result Type")
+        Class<?> resultType;
+
+        @Label("Row Count")
+        long rowCount;
+    }
+
+    @Name(EVENT_PREFIX + "TransactionCompletion")
+    @Label("Transaction Completion")
+    @Description("Commit or rollback of a transaction")
+    @Category(CATEGORY)
+    static final class TransactionCompletionEvent extends Event {
+        @Label("Committed")
+        @Description("True if the transaction was committed, false if it was rolled back")
+        boolean committed;
+    }
+
+    private FlightRecorderEvents() {
+    }
+}
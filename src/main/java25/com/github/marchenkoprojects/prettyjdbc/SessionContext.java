@@ -0,0 +1,84 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.session.SessionWorkWithResult;
+
+/**
+ * This internal class holds the current session of the executing thread.
+ * A session is either bound to the thread explicitly until it is unbound
+ * or bound within the scope of a work ({@link SessionContext#callInScope(Session, SessionWorkWithResult)}).
+ * The scoped session takes precedence over the explicitly bound one.
+ * <br>
+ * This implementation for Java 25 and later binds the scoped session by {@link ScopedValue}:
+ * the binding is cheap for virtual threads and ends with the scope, so it cannot leak to tasks reusing the same thread.
+ * Explicitly bound sessions are still held by {@link ThreadLocal}.
+ *
+ * @author Oleg Marchenko
+ *
+ * @see SessionFactory
+ */
+final class SessionContext {
+    /**
+     * Session of the current scope.
+     */
+    private static final ScopedValue<Session> SCOPED_SESSION = ScopedValue.newInstance();
+    /**
+     * Active session within the current thread.
+     * <br>
+     * <b>Warning:</b> The lifecycle of this session is manually managed.
+     */
+    private static final ThreadLocal<Session> CURRENT_SESSION = new ThreadLocal<>();
+
+    /**
+     * Returns the session of the current scope or the session explicitly bound to the current thread.
+     *
+     * @return the current session or <code>null</code> if there is no session
+     */
+    static Session current() {
+        if (SCOPED_SESSION.isBound()) {
+            return SCOPED_SESSION.get();
+        }
+        return CURRENT_SESSION.get();
+    }
+
+    /**
+     * Returns the session explicitly bound to the current thread.
+     *
+     * @return the bound session or <code>null</code> if there is no bound session
+     */
+    static Session bound() {
+        return CURRENT_SESSION.get();
+    }
+
+    /**
+     * Binds the session to the current thread until it is unbound.
+     *
+     * @param session the session to bind
+     */
+    static void bind(Session session) {
+        CURRENT_SESSION.set(session);
+    }
+
+    /**
+     * Unbinds the session from the current thread.
+     */
+    static void unbind() {
+        CURRENT_SESSION.remove();
+    }
+
+    /**
+     * Executes the work with the session as the current session.
+     * The previous current session is restored after the work has been completed.
+     *
+     * @param session the session of the scope
+     * @param work the work to execute
+     * @param <R> type of result of work
+     * @return result of work
+     */
+    static <R> R callInScope(Session session, SessionWorkWithResult<R> work) {
+        return ScopedValue.where(SCOPED_SESSION, session).call(() -> work.execute(session));
+    }
+
+    private SessionContext() {
+    }
+}
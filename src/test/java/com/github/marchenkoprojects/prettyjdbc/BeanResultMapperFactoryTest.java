@@ -0,0 +1,64 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.mapper.ResultMapper;
+import com.github.marchenkoprojects.prettyjdbc.mapper.bean.BeanResultMapperFactory;
+import com.github.marchenkoprojects.prettyjdbc.model.Film;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class BeanResultMapperFactoryTest {
+
+    @Test
+    public void testResultMapperIsCachedForSameColumns() throws SQLException {
+        ResultSetMetaData metaData = mockMetaData("ID", "ORIGINAL_NAME");
+
+        ResultMapper<Film> resultMapper = BeanResultMapperFactory.getResultMapper(Film.class, metaData);
+        Assert.assertSame(BeanResultMapperFactory.getResultMapper(Film.class, mockMetaData("ID", "ORIGINAL_NAME")), resultMapper);
+        Assert.assertNotSame(BeanResultMapperFactory.getResultMapper(Film.class, mockMetaData("ID")), resultMapper);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedColumnLayoutIsEvicted() throws SQLException {
+        ResultMapper<Film> resultMapper = BeanResultMapperFactory.getResultMapper(Film.class, mockMetaData("id", "evicted"));
+        for (int i = 0; i < BeanResultMapperFactory.MAX_COLUMN_LAYOUTS; i++) {
+            BeanResultMapperFactory.getResultMapper(Film.class, mockMetaData("id", "column_" + i));
+        }
+        Assert.assertNotSame(BeanResultMapperFactory.getResultMapper(Film.class, mockMetaData("id", "evicted")), resultMapper);
+    }
+
+    @Test
+    public void testPrimitivePropertyKeepsDefaultValueForNull() throws SQLException {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getInt(1)).thenReturn(0);
+        Mockito.when(resultSet.getString(2)).thenReturn(null);
+        Mockito.when(resultSet.wasNull()).thenReturn(true);
+
+        Film film = BeanResultMapperFactory
+                .getResultMapper(Film.class, mockMetaData("id", "original_name"))
+                .map(resultSet);
+        Assert.assertEquals(film.getId(), 0);
+        Assert.assertNull(film.getOriginalName());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResultMapperWithoutMatchingColumns() throws SQLException {
+        BeanResultMapperFactory.getResultMapper(Film.class, mockMetaData("title", "rating"));
+    }
+
+    private static ResultSetMetaData mockMetaData(String... columnLabels) throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(columnLabels.length);
+        for (int i = 0; i < columnLabels.length; i++) {
+            Mockito.when(metaData.getColumnLabel(i + 1)).thenReturn(columnLabels[i]);
+        }
+        return metaData;
+    }
+}
@@ -5,9 +5,11 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.math.BigInteger;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * @author Oleg Marchenko
@@ -29,4 +31,87 @@ public class CachedScrollableResultTest {
         Assert.assertTrue(scrollableResult.isEmpty());
         Assert.assertFalse(scrollableResult.next());
     }
+
+    @Test
+    public void testPrimitiveColumnsScrollableResult() throws SQLException {
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(resultSetMetaData.getColumnCount()).thenReturn(4);
+        Mockito.when(resultSetMetaData.getColumnName(1)).thenReturn("int_column");
+        Mockito.when(resultSetMetaData.getColumnName(2)).thenReturn("long_column");
+        Mockito.when(resultSetMetaData.getColumnName(3)).thenReturn("double_column");
+        Mockito.when(resultSetMetaData.getColumnName(4)).thenReturn("string_column");
+        Mockito.when(resultSetMetaData.getColumnType(1)).thenReturn(Types.INTEGER);
+        Mockito.when(resultSetMetaData.getColumnType(2)).thenReturn(Types.BIGINT);
+        Mockito.when(resultSetMetaData.getColumnType(3)).thenReturn(Types.DOUBLE);
+        Mockito.when(resultSetMetaData.getColumnType(4)).thenReturn(Types.VARCHAR);
+        Mockito.when(resultSetMetaData.isSigned(Mockito.anyInt())).thenReturn(true);
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+        Mockito.when(resultSet.next()).thenReturn(true, true, false);
+        Mockito.when(resultSet.getInt(1)).thenReturn(10, 0);
+        Mockito.when(resultSet.getLong(2)).thenReturn(20L, 21L);
+        Mockito.when(resultSet.getDouble(3)).thenReturn(30.5, 31.5);
+        Mockito.when(resultSet.getObject(4)).thenReturn("first", "second");
+        Mockito.when(resultSet.wasNull()).thenReturn(false, false, false, true, false, false);
+
+        CachedScrollableResult scrollableResult = new CachedScrollableResult(resultSet);
+        Assert.assertEquals(scrollableResult.getRowCount(), 2);
+
+        Assert.assertTrue(scrollableResult.next());
+        Assert.assertEquals(scrollableResult.getInt(1), 10);
+        Assert.assertEquals(scrollableResult.getLong(2), 20L);
+        Assert.assertEquals(scrollableResult.getDouble(3), 30.5, 0);
+        Assert.assertEquals(scrollableResult.getString(4), "first");
+        Assert.assertEquals(scrollableResult.getInt("int_column"), Integer.valueOf(10));
+        Assert.assertEquals(scrollableResult.getLong("long_column"), Long.valueOf(20L));
+
+        Assert.assertTrue(scrollableResult.next());
+        Assert.assertNull(scrollableResult.getObject(1));
+        Assert.assertNull(scrollableResult.getInt("int_column"));
+        Assert.assertEquals(scrollableResult.getLong(2), 21L);
+        Assert.assertEquals(scrollableResult.getDouble("double_column"), Double.valueOf(31.5));
+        Assert.assertEquals(scrollableResult.getString("string_column"), "second");
+
+        Assert.assertFalse(scrollableResult.next());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPrimitiveColumnOutsideRows() throws SQLException {
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(resultSetMetaData.getColumnCount()).thenReturn(1);
+        Mockito.when(resultSetMetaData.getColumnName(1)).thenReturn("int_column");
+        Mockito.when(resultSetMetaData.getColumnType(1)).thenReturn(Types.INTEGER);
+        Mockito.when(resultSetMetaData.isSigned(1)).thenReturn(true);
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+
+        CachedScrollableResult scrollableResult = new CachedScrollableResult(resultSet);
+        scrollableResult.getInt(1);
+    }
+
+    @Test
+    public void testUnsignedColumnsKeepValuesOfDriver() throws SQLException {
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(resultSetMetaData.getColumnCount()).thenReturn(2);
+        Mockito.when(resultSetMetaData.getColumnName(1)).thenReturn("unsigned_int_column");
+        Mockito.when(resultSetMetaData.getColumnName(2)).thenReturn("unsigned_long_column");
+        Mockito.when(resultSetMetaData.getColumnType(1)).thenReturn(Types.INTEGER);
+        Mockito.when(resultSetMetaData.getColumnType(2)).thenReturn(Types.BIGINT);
+        Mockito.when(resultSetMetaData.isSigned(Mockito.anyInt())).thenReturn(false);
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+        Mockito.when(resultSet.next()).thenReturn(true, false);
+        Mockito.when(resultSet.getObject(1)).thenReturn(4294967295L);
+        Mockito.when(resultSet.getObject(2)).thenReturn(new BigInteger("18446744073709551615"));
+
+        CachedScrollableResult scrollableResult = new CachedScrollableResult(resultSet);
+        Assert.assertTrue(scrollableResult.next());
+        Assert.assertEquals(scrollableResult.getObject(1), 4294967295L);
+        Assert.assertEquals(scrollableResult.getObject(2), new BigInteger("18446744073709551615"));
+        Mockito.verify(resultSet, Mockito.never()).getInt(1);
+        Mockito.verify(resultSet, Mockito.never()).getLong(2);
+    }
 }
@@ -0,0 +1,96 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ForwardOnlyScrollableResult;
+import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
+import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class ForwardOnlyScrollableResultTest {
+
+    @BeforeClass
+    public static void beforeTests() {
+        DatabaseInitializer.createAndInitDatabase();
+    }
+
+    @Test
+    public void testEmptyScrollableResult() throws SQLException {
+        ResultSetMetaData resultSetMetaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(resultSetMetaData.getColumnCount()).thenReturn(1);
+        Mockito.when(resultSetMetaData.getColumnName(1)).thenReturn("first_column");
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+
+        ForwardOnlyScrollableResult scrollableResult = new ForwardOnlyScrollableResult(resultSet);
+        Assert.assertTrue(scrollableResult.isBeforeFirst());
+        Assert.assertFalse(scrollableResult.next());
+        Assert.assertTrue(scrollableResult.isAfterLast());
+        Assert.assertTrue(scrollableResult.isEmpty());
+        Assert.assertEquals(scrollableResult.getRowCount(), 0);
+        Mockito.verify(resultSet).close();
+    }
+
+    @Test
+    public void testStreamingQueryExecution() throws SQLException {
+        try(Connection connection = JDBCUtils.getConnection()) {
+            try(PreparedStatement preparedStatement = connection.prepareStatement(
+                    "SELECT id, original_name, year FROM films ORDER BY id")) {
+
+                Query query = new Query(preparedStatement);
+                try(ForwardOnlyScrollableResult scrollableResult = query.executeStreaming()) {
+                    Assert.assertTrue(scrollableResult.isBeforeFirst());
+
+                    Assert.assertTrue(scrollableResult.next());
+                    Assert.assertTrue(scrollableResult.isFirst());
+                    Assert.assertFalse(scrollableResult.isEmpty());
+                    Assert.assertEquals(scrollableResult.getInt(1), 1);
+                    Assert.assertEquals((long) scrollableResult.getInt("id"), 1);
+                    Assert.assertEquals(scrollableResult.getString("original_name"),
+                            "The Lord of the Rings: The Fellowship of the Ring");
+                    Assert.assertEquals(scrollableResult.getShort(3), 2001);
+                    Assert.assertNull(scrollableResult.getObject("unknown_column"));
+
+                    Assert.assertTrue(scrollableResult.next());
+                    Assert.assertTrue(scrollableResult.next());
+                    Assert.assertEquals(scrollableResult.getRowIndex(), 2);
+                    Assert.assertFalse(scrollableResult.next());
+
+                    Assert.assertTrue(scrollableResult.isAfterLast());
+                    Assert.assertEquals(scrollableResult.getRowCount(), 3);
+                }
+                Assert.assertTrue(query.isActive());
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBackwardNavigationIsRejected() throws SQLException {
+        try(Connection connection = JDBCUtils.getConnection()) {
+            try(PreparedStatement preparedStatement = connection.prepareStatement("SELECT id FROM films")) {
+                try(ForwardOnlyScrollableResult scrollableResult = new Query(preparedStatement).executeStreaming()) {
+                    scrollableResult.next();
+                    scrollableResult.previous();
+                }
+            }
+        }
+    }
+
+    @AfterClass
+    public static void afterTests() {
+        DatabaseInitializer.destroyDatabase();
+    }
+}
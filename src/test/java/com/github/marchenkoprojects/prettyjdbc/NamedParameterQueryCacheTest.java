@@ -0,0 +1,96 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.util.NamedParameterQueryCache;
+import com.github.marchenkoprojects.prettyjdbc.util.ParsedQuery;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class NamedParameterQueryCacheTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateCacheWithNegativeSize() {
+        new NamedParameterQueryCache(-1);
+    }
+
+    @Test
+    public void testParsedQueryIsCached() {
+        NamedParameterQueryCache queryCache = new NamedParameterQueryCache(2);
+
+        ParsedQuery firstParsedQuery = queryCache.get("SELECT * FROM films WHERE year >= :year LIMIT :limit");
+        Assert.assertEquals(firstParsedQuery.getNativeQuery(), "SELECT * FROM films WHERE year >= ? LIMIT ?");
+        Assert.assertEquals(firstParsedQuery.getParameters().size(), 2);
+        Assert.assertEquals((int) firstParsedQuery.getParameterToIndex().get("year"), 1);
+        Assert.assertEquals((int) firstParsedQuery.getParameterToIndex().get("limit"), 2);
+
+        ParsedQuery secondParsedQuery = queryCache.get("SELECT * FROM films WHERE year >= :year LIMIT :limit");
+        Assert.assertSame(firstParsedQuery, secondParsedQuery);
+
+        Assert.assertEquals(queryCache.size(), 1);
+        Assert.assertEquals(queryCache.getMissCount(), 1);
+        Assert.assertEquals(queryCache.getHitCount(), 1);
+        Assert.assertEquals(queryCache.getEvictionCount(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedQueryIsEvicted() {
+        NamedParameterQueryCache queryCache = new NamedParameterQueryCache(2);
+
+        ParsedQuery firstParsedQuery = queryCache.get("SELECT * FROM films WHERE id = :id");
+        queryCache.get("SELECT * FROM films WHERE year = :year");
+        queryCache.get("SELECT * FROM films WHERE id = :id");
+        queryCache.get("SELECT * FROM films WHERE original_name = :name");
+
+        Assert.assertEquals(queryCache.size(), 2);
+        Assert.assertEquals(queryCache.getEvictionCount(), 1);
+        Assert.assertSame(firstParsedQuery, queryCache.get("SELECT * FROM films WHERE id = :id"));
+        Assert.assertEquals(queryCache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testDisabledCache() {
+        NamedParameterQueryCache queryCache = new NamedParameterQueryCache(0);
+
+        ParsedQuery firstParsedQuery = queryCache.get("SELECT * FROM films WHERE id = :id");
+        ParsedQuery secondParsedQuery = queryCache.get("SELECT * FROM films WHERE id = :id");
+        Assert.assertNotSame(firstParsedQuery, secondParsedQuery);
+
+        Assert.assertEquals(queryCache.size(), 0);
+        Assert.assertEquals(queryCache.getMissCount(), 2);
+        Assert.assertEquals(queryCache.getHitCount(), 0);
+    }
+
+    @Test
+    public void testSessionsShareQueryCache() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(ArgumentMatchers.anyString()))
+                .then(invocation -> Mockito.mock(PreparedStatement.class));
+
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().setQueryCacheSize(8));
+        try (Session session = sessionFactory.openSession()) {
+            session.createQuery("SELECT * FROM films WHERE id = :id");
+        }
+        try (Session session = sessionFactory.openSession()) {
+            session.createQuery("SELECT * FROM films WHERE id = :id");
+        }
+
+        NamedParameterQueryCache queryCache = sessionFactory.getQueryCache();
+        Assert.assertEquals(queryCache.getMaxSize(), 8);
+        Assert.assertEquals(queryCache.getMissCount(), 1);
+        Assert.assertEquals(queryCache.getHitCount(), 1);
+        Mockito.verify(connection, Mockito.times(2)).prepareStatement("SELECT * FROM films WHERE id = ?");
+    }
+}
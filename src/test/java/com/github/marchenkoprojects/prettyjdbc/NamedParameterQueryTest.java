@@ -1,5 +1,6 @@
 package com.github.marchenkoprojects.prettyjdbc;
 
+import com.github.marchenkoprojects.prettyjdbc.model.Film;
 import com.github.marchenkoprojects.prettyjdbc.query.NamedParameterQuery;
 import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ReadOnlyScrollableResult;
 import com.github.marchenkoprojects.prettyjdbc.session.Session;
@@ -17,7 +18,10 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Oleg Marchenko
@@ -231,6 +235,60 @@ public class NamedParameterQueryTest {
         Mockito.verify(preparedStatement).setObject(ArgumentMatchers.eq(1), ArgumentMatchers.any(Object.class));
     }
 
+    @Test
+    public void testBindingBeanToNamedParameters() throws SQLException {
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+
+        Film film = new Film();
+        film.setId(7);
+        film.setOriginalName("The Matrix");
+        film.setYear((short) 1999);
+
+        NamedParameterQuery query = new NamedParameterQuery(preparedStatement, Arrays.asList("id", "original_name", "year", "id"));
+        query.bindBean(film);
+
+        Mockito.verify(preparedStatement).setInt(1, 7);
+        Mockito.verify(preparedStatement).setString(2, "The Matrix");
+        Mockito.verify(preparedStatement).setObject(3, (short) 1999);
+        Mockito.verify(preparedStatement).setInt(4, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBindingBeanWithoutPropertyForNamedParameter() {
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+
+        new NamedParameterQuery(preparedStatement, Collections.singletonList("rating"))
+                .bindBean(new Film());
+    }
+
+    @Test
+    public void testBatchOfBeansExecution() throws SQLException {
+        List<Film> films = new ArrayList<>();
+        for (int id = 20; id < 25; id++) {
+            Film film = new Film();
+            film.setId(id);
+            film.setOriginalName("Film #" + id);
+            film.setYear((short) (2000 + id));
+            films.add(film);
+        }
+
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            int[] updateCounts = session
+                    .createQuery("INSERT INTO films (id, original_name, year) VALUES (:id, :originalName, :year)")
+                    .setBatchSize(2)
+                    .addBatch(films)
+                    .executeBatch();
+            Assert.assertEquals(updateCounts.length, 5);
+
+            ReadOnlyScrollableResult scrollableResult = session
+                    .createQuery("SELECT COUNT(*) FROM films WHERE id BETWEEN 20 AND 24")
+                    .execute();
+            Assert.assertTrue(scrollableResult.next());
+            Assert.assertEquals(((Number) scrollableResult.getObject(1)).intValue(), 5);
+        }
+    }
+
     @AfterClass
     public static void afterTests() {
         DatabaseInitializer.destroyDatabase();
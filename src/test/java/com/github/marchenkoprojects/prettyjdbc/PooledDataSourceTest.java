@@ -0,0 +1,209 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.pool.PoolConfiguration;
+import com.github.marchenkoprojects.prettyjdbc.pool.PooledDataSource;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
+import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class PooledDataSourceTest {
+
+    @Test
+    public void testConnectionIsReusedAfterReturn() throws SQLException {
+        List<Connection> openedConnections = new ArrayList<>();
+        DataSource dataSource = mockDataSource(openedConnections);
+        try(PooledDataSource pool = new PooledDataSource(dataSource)) {
+            Connection connection = pool.getConnection();
+            connection.close();
+            Assert.assertTrue(connection.isClosed());
+            Mockito.verify(openedConnections.get(0), Mockito.never()).close();
+
+            try(Connection reusedConnection = pool.getConnection()) {
+                Assert.assertEquals(reusedConnection.getSchema(), "schema_0");
+            }
+            Mockito.verify(dataSource).getConnection();
+            Assert.assertEquals(pool.getTotalConnections(), 1);
+            Assert.assertEquals(pool.getIdleConnections(), 1);
+        }
+    }
+
+    @Test
+    public void testPoolIsFilledUpToMinimumSize() throws SQLException {
+        PoolConfiguration configuration = new PoolConfiguration()
+                .setMinSize(2)
+                .setMaxSize(4);
+        try(PooledDataSource pool = new PooledDataSource(mockDataSource(), configuration)) {
+            Assert.assertEquals(pool.getTotalConnections(), 2);
+            Assert.assertEquals(pool.getIdleConnections(), 2);
+            Assert.assertEquals(pool.getActiveConnections(), 0);
+        }
+    }
+
+    @Test(expected = SQLTimeoutException.class)
+    public void testBorrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        PoolConfiguration configuration = new PoolConfiguration()
+                .setMaxSize(1)
+                .setConnectionTimeout(50);
+        try(PooledDataSource pool = new PooledDataSource(mockDataSource(), configuration)) {
+            pool.getConnection();
+            pool.getConnection();
+        }
+    }
+
+    @Test
+    public void testReturnedConnectionIsHandedOffToWaitingThread() throws Exception {
+        PoolConfiguration configuration = new PoolConfiguration()
+                .setMaxSize(1)
+                .setConnectionTimeout(5_000);
+        try(PooledDataSource pool = new PooledDataSource(mockDataSource(), configuration)) {
+            Connection connection = pool.getConnection();
+
+            CompletableFuture<String> waitingBorrow = CompletableFuture.supplyAsync(() -> {
+                try(Connection handedOffConnection = pool.getConnection()) {
+                    return handedOffConnection.getSchema();
+                }
+                catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            while (pool.getWaitingThreads() == 0) {
+                Thread.yield();
+            }
+            connection.close();
+
+            Assert.assertEquals(waitingBorrow.get(5, TimeUnit.SECONDS), "schema_0");
+        }
+    }
+
+    @Test
+    public void testReturnDoesNotWaitForConnectionCreation() throws Exception {
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch creationAllowed = new CountDownLatch(1);
+        DataSource slowDataSource = Mockito.mock(DataSource.class);
+        DataSource dataSource = mockDataSource();
+        Mockito.when(slowDataSource.getConnection()).thenAnswer(invocation -> dataSource.getConnection())
+                .thenAnswer(invocation -> {
+                    creationStarted.countDown();
+                    creationAllowed.await();
+                    return dataSource.getConnection();
+                });
+
+        PoolConfiguration configuration = new PoolConfiguration()
+                .setMaxSize(2)
+                .setConnectionTimeout(5_000);
+        try(PooledDataSource pool = new PooledDataSource(slowDataSource, configuration)) {
+            Connection connection = pool.getConnection();
+
+            CompletableFuture<Connection> creatingBorrow = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pool.getConnection();
+                }
+                catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Assert.assertTrue(creationStarted.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<Void> returning = CompletableFuture.runAsync(() -> {
+                try {
+                    connection.close();
+                }
+                catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            try {
+                returning.get(1, TimeUnit.SECONDS);
+            }
+            finally {
+                creationAllowed.countDown();
+            }
+            creatingBorrow.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    @Test
+    public void testConnectionStateIsRestoredOnReturn() throws SQLException {
+        List<Connection> openedConnections = new ArrayList<>();
+        try(PooledDataSource pool = new PooledDataSource(mockDataSource(openedConnections))) {
+            Connection connection = pool.getConnection();
+            connection.setAutoCommit(false);
+            connection.close();
+
+            Mockito.verify(openedConnections.get(0)).rollback();
+            Mockito.verify(openedConnections.get(0)).setAutoCommit(true);
+        }
+    }
+
+    @Test
+    public void testInvalidIdleConnectionIsReplaced() throws SQLException {
+        List<Connection> openedConnections = new ArrayList<>();
+        PoolConfiguration configuration = new PoolConfiguration()
+                .setValidationInterval(0);
+        try(PooledDataSource pool = new PooledDataSource(mockDataSource(openedConnections), configuration)) {
+            pool.getConnection().close();
+            Connection invalidConnection = openedConnections.get(0);
+            Mockito.when(invalidConnection.isValid(Mockito.anyInt())).thenReturn(false);
+
+            try(Connection newConnection = pool.getConnection()) {
+                Assert.assertEquals(newConnection.getSchema(), "schema_1");
+            }
+            Mockito.verify(invalidConnection).close();
+            Assert.assertEquals(pool.getTotalConnections(), 1);
+        }
+    }
+
+    @Test
+    public void testSessionFactoryWithPooledDataSource() throws SQLException {
+        DatabaseInitializer.createAndInitDatabase();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> JDBCUtils.getConnection());
+
+        try(PooledDataSource pool = new PooledDataSource(dataSource)) {
+            SessionFactory sessionFactory = SessionFactory.create(() -> pool);
+            for (int i = 0; i < 3; i++) {
+                try(Session session = sessionFactory.openSession()) {
+                    Assert.assertEquals(session.createQuery("SELECT COUNT(*) FROM films", Long.class).unique().longValue(), 3);
+                }
+            }
+            Mockito.verify(dataSource).getConnection();
+            Assert.assertEquals(pool.getIdleConnections(), 1);
+        }
+        finally {
+            DatabaseInitializer.destroyDatabase();
+        }
+    }
+
+    private static DataSource mockDataSource() throws SQLException {
+        return mockDataSource(new ArrayList<>());
+    }
+
+    private static DataSource mockDataSource(List<Connection> openedConnections) throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> {
+            Connection connection = Mockito.mock(Connection.class);
+            Mockito.when(connection.getAutoCommit()).thenReturn(true);
+            Mockito.when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+            Mockito.when(connection.getSchema()).thenReturn("schema_" + openedConnections.size());
+            openedConnections.add(connection);
+            return connection;
+        });
+        return dataSource;
+    }
+}
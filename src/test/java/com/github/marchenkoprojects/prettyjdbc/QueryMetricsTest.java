@@ -0,0 +1,123 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.metrics.Histogram;
+import com.github.marchenkoprojects.prettyjdbc.metrics.HistogramSnapshot;
+import com.github.marchenkoprojects.prettyjdbc.metrics.QueryMetrics;
+import com.github.marchenkoprojects.prettyjdbc.metrics.StatementStatistics;
+import com.github.marchenkoprojects.prettyjdbc.model.Film;
+import com.github.marchenkoprojects.prettyjdbc.query.NamedParameterQuery;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.transaction.Transaction;
+import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
+import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
+import com.github.marchenkoprojects.prettyjdbc.util.SqlNormalizer;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class QueryMetricsTest {
+
+    @BeforeClass
+    public static void beforeTests() {
+        DatabaseInitializer.createAndInitDatabase();
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(snapshot.getCount(), 1000);
+        Assert.assertEquals(snapshot.getSum(), 500500);
+        Assert.assertEquals(snapshot.getMin(), 1);
+        Assert.assertEquals(snapshot.getMax(), 1000);
+        Assert.assertEquals(snapshot.getValueAtPercentile(0), 1);
+        Assert.assertEquals(snapshot.getValueAtPercentile(100), 1000);
+        Assert.assertEquals(snapshot.getValueAtPercentile(50), 500, 500 * 0.0625);
+        Assert.assertEquals(snapshot.getValueAtPercentile(99), 990, 990 * 0.0625);
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        HistogramSnapshot snapshot = new Histogram().snapshot();
+        Assert.assertEquals(snapshot.getCount(), 0);
+        Assert.assertEquals(snapshot.getValueAtPercentile(99), 0);
+        Assert.assertEquals(snapshot.getMean(), 0, 0);
+    }
+
+    @Test
+    public void testSqlNormalization() {
+        Assert.assertEquals(
+                SqlNormalizer.normalize("SELECT  id, name_2 FROM films\n WHERE year = 2001 AND original_name = 'Don''t' AND \"Col 1\" > 1.5e3"),
+                "SELECT id, name_2 FROM films WHERE year = ? AND original_name = ? AND \"Col 1\" > ?");
+    }
+
+    @Test
+    public void testMetricsAreCollectedPerNormalizedStatement() throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).then(invocation -> JDBCUtils.getConnection());
+
+        QueryMetrics queryMetrics = new QueryMetrics();
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().addQueryListener(queryMetrics));
+        try(Session session = sessionFactory.openSession()) {
+            for (int id = 1; id <= 3; id++) {
+                List<Film> films = session.createQuery("SELECT * FROM films WHERE id <= " + id, Film.class).list();
+                Assert.assertEquals(films.size(), id);
+            }
+
+            Transaction transaction = session.beginTransaction();
+            NamedParameterQuery query = session.createQuery("UPDATE films SET year = :year WHERE id = :id");
+            query.setParameter("year", 2001).setParameter("id", 1).addBatch();
+            query.setParameter("year", 2002).setParameter("id", 2).addBatch();
+            query.executeBatch();
+            transaction.rollback();
+        }
+
+        StatementStatistics selectStatistics = queryMetrics.snapshot("SELECT * FROM films WHERE id <= 100");
+        Assert.assertNotNull(selectStatistics);
+        Assert.assertEquals(selectStatistics.getSql(), "SELECT * FROM films WHERE id <= ?");
+        Assert.assertEquals(selectStatistics.getPrepareTime().getCount(), 3);
+        Assert.assertEquals(selectStatistics.getExecuteTime().getCount(), 3);
+        Assert.assertEquals(selectStatistics.getFetchTime().getCount(), 3);
+        Assert.assertEquals(selectStatistics.getRowCount().getSum(), 1 + 2 + 3);
+        Assert.assertEquals(selectStatistics.getRowCount().getMax(), 3);
+
+        StatementStatistics updateStatistics = queryMetrics.snapshot("UPDATE films SET year = ? WHERE id = ?");
+        Assert.assertNotNull(updateStatistics);
+        Assert.assertEquals(updateStatistics.getBatchSize().getCount(), 1);
+        Assert.assertEquals(updateStatistics.getBatchSize().getMax(), 2);
+
+        Assert.assertEquals(queryMetrics.snapshot().size(), 2);
+        queryMetrics.reset();
+        Assert.assertTrue(queryMetrics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testStatementsBeyondLimitAreCollectedTogether() {
+        QueryMetrics queryMetrics = new QueryMetrics(1);
+        queryMetrics.onUpdate("DELETE FROM films", 100, 3);
+        queryMetrics.onUpdate("DELETE FROM actors", 200, 5);
+        queryMetrics.onUpdate("DELETE FROM directors", 300, 7);
+
+        Assert.assertEquals(queryMetrics.snapshot().size(), 2);
+        Assert.assertEquals(queryMetrics.snapshot("DELETE FROM films").getRowCount().getSum(), 3);
+        Assert.assertEquals(queryMetrics.snapshot(QueryMetrics.OTHER_STATEMENTS).getRowCount().getSum(), 5 + 7);
+    }
+
+    @AfterClass
+    public static void afterTests() {
+        DatabaseInitializer.destroyDatabase();
+    }
+}
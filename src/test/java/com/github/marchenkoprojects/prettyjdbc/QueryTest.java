@@ -1,7 +1,10 @@
 package com.github.marchenkoprojects.prettyjdbc;
 
+import com.github.marchenkoprojects.prettyjdbc.query.FetchDirection;
 import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ForwardOnlyScrollableResult;
 import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ReadOnlyScrollableResult;
+import com.github.marchenkoprojects.prettyjdbc.util.AdaptiveFetchSize;
 import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
 import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
 import org.junit.AfterClass;
@@ -9,6 +12,7 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
@@ -16,6 +20,12 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 /**
  * @author Oleg Marchenko
@@ -133,6 +143,45 @@ public class QueryTest {
         }
     }
 
+    @Test
+    public void testBatchIsExecutedAutomaticallyWhenBatchSizeIsReached() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeBatch()).thenReturn(new int[] {1, 1}, new int[] {1});
+
+        Query query = new Query(statement).setBatchSize(2);
+        query.addBatch();
+        Mockito.verify(statement, Mockito.never()).executeBatch();
+        query.addBatch();
+        Mockito.verify(statement).executeBatch();
+        query.addBatch();
+
+        Assert.assertArrayEquals(query.executeBatch(), new int[] {1, 1, 1});
+        Mockito.verify(statement, Mockito.times(2)).executeBatch();
+    }
+
+    @Test
+    public void testRemainingBatchIsExecutedOnClose() throws SQLException {
+        try(Connection connection = JDBCUtils.getConnection()) {
+            try (Query query = new Query(connection.prepareStatement("INSERT INTO films VALUES (?, ?, ?)"))) {
+                query.setBatchSize(2);
+                for (int id = 10; id < 15; id++) {
+                    query
+                            .setParameter(1, id)
+                            .setParameter(2, "Film #" + id)
+                            .setParameter(3, 2000 + id)
+                            .addBatch();
+                }
+            }
+
+            try(PreparedStatement preparedStatement = connection.prepareStatement(
+                    "SELECT COUNT(*) FROM films WHERE id BETWEEN 10 AND 14")) {
+                ResultSet resultSet = preparedStatement.executeQuery();
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(resultSet.getInt(1), 5);
+            }
+        }
+    }
+
     @Test
     public void testSettingBooleanTypeParameterByIndex() throws SQLException {
         PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
@@ -303,6 +352,205 @@ public class QueryTest {
         Mockito.verify(preparedStatement).setObject(ArgumentMatchers.anyInt(), ArgumentMatchers.any(Object.class));
     }
 
+    @Test
+    public void testQueryExecutionWithRowHandler() throws SQLException {
+        try(Connection connection = JDBCUtils.getConnection()) {
+            try(PreparedStatement preparedStatement = connection.prepareStatement(
+                    "SELECT id, original_name, year FROM films WHERE id <= ?")) {
+
+                AtomicInteger rowCounter = new AtomicInteger();
+                AtomicInteger yearSum = new AtomicInteger();
+
+                Query query = new Query(preparedStatement);
+                query
+                        .setParameter(1, 3)
+                        .forEachRow(row -> {
+                            rowCounter.incrementAndGet();
+                            yearSum.addAndGet(row.getShort(3));
+                            Assert.assertNotNull(row.getString("original_name"));
+                        });
+                Assert.assertTrue(query.isActive());
+
+                Assert.assertEquals(rowCounter.get(), 3);
+                Assert.assertEquals(yearSum.get(), 2001 + 2002 + 2003);
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncQueryExecutionOnExecutorOfQuery() throws Exception {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeUpdate()).thenReturn(1);
+        Mockito.when(statement.executeBatch()).thenReturn(new int[] {1, 1});
+
+        AtomicInteger executedTasks = new AtomicInteger();
+        Query query = new Query(statement).setExecutor(task -> {
+            executedTasks.incrementAndGet();
+            task.run();
+        });
+
+        Assert.assertEquals(query.executeUpdateAsync().get().intValue(), 1);
+        Assert.assertArrayEquals(query.executeBatchAsync().get(), new int[] {1, 1});
+        Assert.assertEquals(executedTasks.get(), 2);
+    }
+
+    @Test
+    public void testDelegationToPreparedStatementWhenSettingFetchOptions() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+
+        Query query = new Query(statement)
+                .setFetchSize(100)
+                .setMaxRows(5000)
+                .setFetchDirection(FetchDirection.FORWARD);
+        Mockito.verify(statement).setFetchSize(100);
+        Mockito.verify(statement).setLargeMaxRows(5000);
+        Mockito.verify(statement).setFetchDirection(ResultSet.FETCH_FORWARD);
+        Assert.assertEquals(query.getFetchSize(), 100);
+        Assert.assertEquals(query.getMaxRows(), 5000);
+    }
+
+    @Test
+    public void testMaxRowsFallsBackToIntLimitWhenLargeLimitIsNotSupported() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.doThrow(UnsupportedOperationException.class).when(statement).setLargeMaxRows(ArgumentMatchers.anyLong());
+
+        new Query(statement).setMaxRows(Long.MAX_VALUE);
+        Mockito.verify(statement).setMaxRows(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testMaxRowsFallsBackToIntLimitWhenDriverRejectsLargeLimit() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.doThrow(SQLFeatureNotSupportedException.class).when(statement).setLargeMaxRows(ArgumentMatchers.anyLong());
+
+        new Query(statement).setMaxRows(500);
+        Mockito.verify(statement).setMaxRows(500);
+    }
+
+    @Test
+    public void testAdaptiveFetchSizeGrowsWhileRowsAreRead() throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        AtomicInteger remainingRows = new AtomicInteger(100);
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> remainingRows.getAndDecrement() > 0);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+
+        Query query = new Query(statement).setMaxAdaptiveFetchSize(40);
+        Mockito.verify(statement).setFetchSize(AdaptiveFetchSize.INITIAL_FETCH_SIZE);
+
+        AtomicInteger rowCounter = new AtomicInteger();
+        query.forEachRow(row -> rowCounter.incrementAndGet());
+        Assert.assertEquals(rowCounter.get(), 100);
+
+        InOrder inOrder = Mockito.inOrder(resultSet);
+        inOrder.verify(resultSet).setFetchSize(20);
+        inOrder.verify(resultSet).setFetchSize(40);
+        Mockito.verify(resultSet, Mockito.times(2)).setFetchSize(ArgumentMatchers.anyInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFetchSizeIsRejected() {
+        new Query(Mockito.mock(PreparedStatement.class)).setFetchSize(-1);
+    }
+
+    @Test
+    public void testSlowQueryIsLoggedWithParameters() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeUpdate()).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return 1;
+        });
+
+        List<String> messages = captureSlowQueryLog(() -> new Query(statement)
+                .setSql("UPDATE films SET original_name = ? WHERE id = ? AND release_date = ?")
+                .setSlowQueryThreshold(1)
+                .setParameter(1, "The Hobbit")
+                .setParameter(2, 4)
+                .setParameter(3, (Date) null)
+                .executeUpdate());
+
+        Assert.assertEquals(messages.size(), 1);
+        String message = messages.get(0);
+        Assert.assertTrue(message, message.contains("rows: 1"));
+        Assert.assertTrue(message, message.contains("SQL: UPDATE films SET original_name = ? WHERE id = ? AND release_date = ?"));
+        Assert.assertTrue(message, message.contains("parameters: ['The Hobbit', 4, null]"));
+        Assert.assertTrue(message, message.contains("called from " + QueryTest.class.getName()));
+    }
+
+    @Test
+    public void testSlowStreamingQueryIsLogged() throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+        AtomicInteger remainingRows = new AtomicInteger(2);
+        Mockito.when(resultSet.next()).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return remainingRows.getAndDecrement() > 0;
+        });
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+
+        List<String> messages = captureSlowQueryLog(() -> {
+            ForwardOnlyScrollableResult result = new Query(statement)
+                    .setSql("SELECT * FROM films WHERE year = ?")
+                    .setSlowQueryThreshold(1)
+                    .setParameter(1, 2001)
+                    .executeStreaming();
+            while (result.next()) {
+                // Read all rows.
+            }
+        });
+
+        Assert.assertEquals(messages.size(), 1);
+        String message = messages.get(0);
+        Assert.assertTrue(message, message.contains("rows: 2"));
+        Assert.assertTrue(message, message.contains("SQL: SELECT * FROM films WHERE year = ?"));
+        Assert.assertTrue(message, message.contains("parameters: [2001]"));
+    }
+
+    @Test
+    public void testFastQueryIsNotLogged() throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeBatch()).thenReturn(new int[] {1});
+
+        List<String> messages = captureSlowQueryLog(() -> new Query(statement)
+                .setSlowQueryThreshold(60_000)
+                .setParameter(1, 1)
+                .addBatch()
+                .executeBatch());
+        Assert.assertTrue(messages.isEmpty());
+    }
+
+    private static List<String> captureSlowQueryLog(Runnable action) {
+        List<String> messages = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        Logger logger = Logger.getLogger("com.github.marchenkoprojects.prettyjdbc.query.SlowQueryLog");
+        logger.addHandler(handler);
+        try {
+            action.run();
+        }
+        finally {
+            logger.removeHandler(handler);
+        }
+        return messages;
+    }
+
     @AfterClass
     public static void afterTests() {
         DatabaseInitializer.destroyDatabase();
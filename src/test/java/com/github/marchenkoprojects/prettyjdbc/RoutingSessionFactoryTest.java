@@ -0,0 +1,165 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ReadOnlyScrollableResult;
+import com.github.marchenkoprojects.prettyjdbc.routing.LoadBalancingStrategy;
+import com.github.marchenkoprojects.prettyjdbc.routing.RoutingSessionFactory;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.transaction.Transaction;
+import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
+import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class RoutingSessionFactoryTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testCreateRoutingSessionFactoryWithNullReplicaDataSource() {
+        RoutingSessionFactory.create(() -> Mockito.mock(DataSource.class), Collections.singletonList(() -> null));
+    }
+
+    @Test
+    public void testOpenSessionWithPrimary() throws SQLException {
+        DataSource primary = mockDataSource("primary");
+        DataSource replica = mockDataSource("replica");
+
+        RoutingSessionFactory sessionFactory = RoutingSessionFactory.create(() -> primary, Collections.singletonList(() -> replica));
+        try(Session session = sessionFactory.openSession()) {
+            Assert.assertEquals(session.unwrap().getSchema(), "primary");
+        }
+        try(Session session = sessionFactory.openReadOnlySession()) {
+            Assert.assertEquals(session.unwrap().getSchema(), "replica");
+        }
+        Assert.assertEquals(sessionFactory.unwrap(), primary);
+    }
+
+    @Test
+    public void testOpenReadOnlySessionWithoutReplicas() throws SQLException {
+        DataSource primary = mockDataSource("primary");
+
+        RoutingSessionFactory sessionFactory = RoutingSessionFactory.create(() -> primary, Collections.emptyList());
+        try(Session session = sessionFactory.openReadOnlySession()) {
+            Assert.assertEquals(session.unwrap().getSchema(), "primary");
+        }
+    }
+
+    @Test
+    public void testReadOnlySessionSwitchesConnectionToReadOnlyMode() throws SQLException {
+        Connection primaryConnection = Mockito.mock(Connection.class);
+        Connection replicaConnection = Mockito.mock(Connection.class);
+        DataSource primary = Mockito.mock(DataSource.class);
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+        DataSource replica = Mockito.mock(DataSource.class);
+        Mockito.when(replica.getConnection()).thenReturn(replicaConnection);
+
+        RoutingSessionFactory sessionFactory = RoutingSessionFactory.create(() -> primary, Collections.singletonList(() -> replica));
+        try(Session session = sessionFactory.openSession()) {
+            session.unwrap();
+        }
+        try(Session session = sessionFactory.openReadOnlySession()) {
+            session.unwrap();
+        }
+        Mockito.verify(primaryConnection, Mockito.never()).setReadOnly(Mockito.anyBoolean());
+        Mockito.verify(replicaConnection).setReadOnly(true);
+    }
+
+    @Test
+    public void testWriteInReadOnlySessionFails() {
+        DatabaseInitializer.createAndInitDatabase();
+        try {
+            DataSource dataSource = Mockito.mock(DataSource.class);
+            Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> JDBCUtils.getConnection());
+
+            RoutingSessionFactory sessionFactory = RoutingSessionFactory.create(() -> dataSource, Collections.emptyList());
+            try(Session session = sessionFactory.openReadOnlySession()) {
+                try(Query query = session.createQuery("SELECT COUNT(*) FROM films")) {
+                    Assert.assertTrue(query.execute().next());
+                }
+                try(Query query = session.createQuery("DELETE FROM films")) {
+                    query.executeUpdate();
+                    Assert.fail("Data was modified through a read-only session");
+                }
+                catch (RuntimeException e) {
+                    Assert.assertTrue(e.getCause() instanceof SQLException);
+                }
+                Transaction transaction = session.beginTransaction();
+                Assert.assertTrue(transaction.isReadOnly());
+                transaction.rollback();
+            }
+            try(Session session = sessionFactory.openSession();
+                Query query = session.createQuery("SELECT COUNT(*) FROM films")) {
+                ReadOnlyScrollableResult result = query.execute();
+                Assert.assertTrue(result.next());
+                Assert.assertTrue(result.getLong(1) > 0);
+            }
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        finally {
+            DatabaseInitializer.destroyDatabase();
+        }
+    }
+
+    @Test
+    public void testRoundRobinDistribution() throws SQLException {
+        DataSource firstReplica = mockDataSource("first");
+        DataSource secondReplica = mockDataSource("second");
+
+        RoutingSessionFactory sessionFactory = RoutingSessionFactory.create(() -> mockDataSource("primary"),
+                Arrays.asList(() -> firstReplica, () -> secondReplica));
+        for (String expectedSchema: Arrays.asList("first", "second", "first", "second")) {
+            try(Session session = sessionFactory.openReadOnlySession()) {
+                Assert.assertEquals(session.unwrap().getSchema(), expectedSchema);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastInFlightDistribution() throws SQLException {
+        DataSource firstReplica = mockDataSource("first");
+        DataSource secondReplica = mockDataSource("second");
+
+        RoutingSessionFactory sessionFactory = RoutingSessionFactory.create(() -> mockDataSource("primary"),
+                Arrays.asList(() -> firstReplica, () -> secondReplica), LoadBalancingStrategy.LEAST_IN_FLIGHT, new Configuration());
+        try(Session firstSession = sessionFactory.openReadOnlySession()) {
+            Assert.assertEquals(firstSession.unwrap().getSchema(), "first");
+
+            // The first replica is busy, so the second one is used regardless of the order.
+            for (int i = 0; i < 3; i++) {
+                try(Session session = sessionFactory.openReadOnlySession()) {
+                    Assert.assertEquals(session.unwrap().getSchema(), "second");
+                }
+            }
+        }
+
+        try(Session session = sessionFactory.openReadOnlySession()) {
+            Assert.assertEquals(session.unwrap().getSchema(), "first");
+        }
+    }
+
+    private static DataSource mockDataSource(String schema) {
+        try {
+            DataSource dataSource = Mockito.mock(DataSource.class);
+            Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> {
+                Connection connection = Mockito.mock(Connection.class);
+                Mockito.when(connection.getSchema()).thenReturn(schema);
+                return connection;
+            });
+            return dataSource;
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
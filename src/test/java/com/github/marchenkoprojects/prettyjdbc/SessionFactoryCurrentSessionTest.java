@@ -59,6 +59,47 @@ public class SessionFactoryCurrentSessionTest {
         Assert.assertEquals(connectionCounter.get(), 2);
     }
 
+    @Test
+    public void testSessionInScopeOfWork() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource);
+        Session scopedSession = sessionFactory.callInSession(session -> {
+            Assert.assertSame(sessionFactory.getSession(), session);
+            Assert.assertSame(sessionFactory.getSession(), session);
+            return session;
+        });
+        Assert.assertNotNull(scopedSession);
+        Mockito.verify(connection).close();
+        Mockito.verify(dataSource, Mockito.times(1)).getConnection();
+
+        // The session of the work is not bound to the thread after the work.
+        Session session = sessionFactory.getSession();
+        Assert.assertNotSame(session, scopedSession);
+        SessionFactory.unbindSession();
+    }
+
+    @Test
+    public void testNestedScopesRestoreSession() {
+        SessionFactory sessionFactory = SessionFactory.create(() -> Mockito.mock(DataSource.class));
+        Session boundSession = Mockito.mock(Session.class);
+        SessionFactory.bindSession(boundSession);
+        try {
+            sessionFactory.doInSession(outerSession -> {
+                sessionFactory.doInSession(innerSession -> {
+                    Assert.assertSame(sessionFactory.getSession(), innerSession);
+                });
+                Assert.assertSame(sessionFactory.getSession(), outerSession);
+            });
+            Assert.assertSame(sessionFactory.getSession(), boundSession);
+        }
+        finally {
+            SessionFactory.unbindSession();
+        }
+    }
+
     @AfterClass
     public static void afterTests() {
         EXECUTOR.shutdown();
@@ -1,13 +1,25 @@
 package com.github.marchenkoprojects.prettyjdbc;
 
+import com.github.marchenkoprojects.prettyjdbc.query.FetchDirection;
+import com.github.marchenkoprojects.prettyjdbc.query.Query;
+import com.github.marchenkoprojects.prettyjdbc.query.QueryListener;
+import com.github.marchenkoprojects.prettyjdbc.query.scrollable_result.ForwardOnlyScrollableResult;
+import com.github.marchenkoprojects.prettyjdbc.session.ConnectionReleaseMode;
+import com.github.marchenkoprojects.prettyjdbc.session.RepeatedQueryMode;
 import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.transaction.Transaction;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 /**
  * @author Oleg Marchenko
@@ -96,4 +108,316 @@ public class SessionFactoryTest {
 
         Mockito.verify(session).close();
     }
+
+    @Test
+    public void testOpenLazySessionWithoutQueries() throws SQLException {
+        DataSource dataSource = Mockito.mock(DataSource.class);
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().setLazyConnectionAcquisition(true));
+        Session session = sessionFactory.openSession();
+        Assert.assertTrue(session.isOpen());
+
+        session.close();
+        Assert.assertFalse(session.isOpen());
+        Mockito.verify(dataSource, Mockito.never()).getConnection();
+    }
+
+    @Test
+    public void testLazySessionAcquiresConnectionOnFirstQuery() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().setLazyConnectionAcquisition(true));
+        try(Session session = sessionFactory.openSession()) {
+            Mockito.verify(dataSource, Mockito.never()).getConnection();
+
+            session.createNativeQuery("SELECT * FROM films").close();
+            session.createNativeQuery("SELECT * FROM films").close();
+            Mockito.verify(dataSource, Mockito.times(1)).getConnection();
+        }
+        Mockito.verify(connection, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void testSessionReleasesConnectionAfterTransaction() throws SQLException {
+        Connection firstConnection = mockConnection();
+        Connection secondConnection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(firstConnection, secondConnection);
+
+        Configuration configuration = new Configuration().setConnectionReleaseMode(ConnectionReleaseMode.AFTER_TRANSACTION);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            Mockito.verify(dataSource, Mockito.times(1)).getConnection();
+
+            Transaction firstTransaction = session.beginTransaction();
+            session.createNativeQuery("UPDATE films SET year = 2001 WHERE id = 1").close();
+            firstTransaction.commit();
+            Mockito.verify(firstConnection).close();
+            Assert.assertTrue(session.isOpen());
+
+            Transaction secondTransaction = session.beginTransaction();
+            session.createNativeQuery("UPDATE films SET year = 2002 WHERE id = 2").close();
+            secondTransaction.commit();
+            Mockito.verify(dataSource, Mockito.times(2)).getConnection();
+            Mockito.verify(secondConnection).commit();
+            Mockito.verify(secondConnection).close();
+        }
+        Mockito.verify(secondConnection, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void testSessionReleasesConnectionWithUnclosedQueriesAfterTransaction() throws SQLException {
+        Connection firstConnection = mockConnection();
+        Connection secondConnection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(firstConnection, secondConnection);
+
+        Configuration configuration = new Configuration()
+                .setStatementCacheSize(10)
+                .setConnectionReleaseMode(ConnectionReleaseMode.AFTER_TRANSACTION);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery("SELECT * FROM films").close();
+            Query unclosedQuery = session.createNativeQuery("SELECT * FROM films");
+            Query batchQuery = session.createNativeQuery("UPDATE films SET year = ? WHERE id = ?");
+            batchQuery.setParameter(1, 2001).setParameter(2, 1).addBatch();
+            transaction.rollback();
+
+            Mockito.verify(firstConnection).close();
+            Assert.assertFalse(unclosedQuery.isActive());
+            Assert.assertFalse(batchQuery.isActive());
+            Mockito.verify(unclosedQuery.unwrap()).close();
+            Mockito.verify(batchQuery.unwrap()).clearBatch();
+            Mockito.verify(batchQuery.unwrap(), Mockito.never()).executeBatch();
+
+            session.createNativeQuery("SELECT * FROM films").close();
+            Mockito.verify(dataSource, Mockito.times(2)).getConnection();
+        }
+        Mockito.verify(firstConnection, Mockito.times(1)).close();
+        Mockito.verify(secondConnection).close();
+    }
+
+    @Test
+    public void testSessionKeepsConnectionForBusyQueriesAfterTransaction() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getMetaData()).thenReturn(Mockito.mock(ResultSetMetaData.class));
+        Mockito.doAnswer(invocation -> Mockito.when(resultSet.isClosed()).thenReturn(true)).when(resultSet).close();
+
+        Configuration configuration = new Configuration().setConnectionReleaseMode(ConnectionReleaseMode.AFTER_TRANSACTION);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            Transaction firstTransaction = session.beginTransaction();
+            Query batchQuery = session.createNativeQuery("UPDATE films SET year = ? WHERE id = ?");
+            batchQuery.setParameter(1, 2001).setParameter(2, 1).addBatch();
+            Query streamingQuery = session.createNativeQuery("SELECT * FROM films");
+            Mockito.when(streamingQuery.unwrap().executeQuery()).thenReturn(resultSet);
+            ForwardOnlyScrollableResult result = streamingQuery.executeStreaming();
+            firstTransaction.commit();
+
+            // The batch commands and the open result still need the connection.
+            Mockito.verify(connection, Mockito.never()).close();
+            Assert.assertTrue(batchQuery.isActive());
+            Assert.assertTrue(streamingQuery.isActive());
+            Mockito.verify(batchQuery.unwrap(), Mockito.never()).clearBatch();
+
+            batchQuery.executeBatch();
+            result.close();
+            Transaction secondTransaction = session.beginTransaction();
+            secondTransaction.commit();
+            Mockito.verify(connection).close();
+            Assert.assertFalse(batchQuery.isActive());
+            Assert.assertFalse(streamingQuery.isActive());
+        }
+        Mockito.verify(connection, Mockito.times(1)).close();
+        Mockito.verify(dataSource, Mockito.times(1)).getConnection();
+    }
+
+    @Test
+    public void testSessionHoldsConnectionAfterTransactionByDefault() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource);
+        try(Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery("UPDATE films SET year = 2001 WHERE id = 1").close();
+            transaction.commit();
+            Mockito.verify(connection, Mockito.never()).close();
+        }
+        Mockito.verify(connection).close();
+        Mockito.verify(dataSource, Mockito.times(1)).getConnection();
+    }
+
+    @Test
+    public void testSessionAppliesDefaultFetchOptionsToQueries() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        Configuration configuration = new Configuration().setFetchSize(50).setMaxRows(1000);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            Query query = session.createNativeQuery("SELECT * FROM films");
+            Assert.assertEquals(query.getFetchSize(), 50);
+            Assert.assertEquals(query.getMaxRows(), 1000);
+            Assert.assertEquals(query.getMaxAdaptiveFetchSize(), 0);
+
+            PreparedStatement preparedStatement = query.unwrap();
+            Mockito.verify(preparedStatement).setFetchSize(50);
+            Mockito.verify(preparedStatement).setLargeMaxRows(1000);
+        }
+    }
+
+    @Test
+    public void testQueryListenerIsNotifiedOfTransactions() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        QueryListener queryListener = Mockito.mock(QueryListener.class);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().addQueryListener(queryListener));
+        try(Session session = sessionFactory.openSession()) {
+            session.beginTransaction().commit();
+            session.beginTransaction().rollback();
+        }
+        InOrder inOrder = Mockito.inOrder(queryListener);
+        inOrder.verify(queryListener).onTransaction(Mockito.eq(true), Mockito.longThat(elapsedNanos -> elapsedNanos >= 0));
+        inOrder.verify(queryListener).onTransaction(Mockito.eq(false), Mockito.longThat(elapsedNanos -> elapsedNanos >= 0));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testCompositeQueryListenerNotifiesAllListenersBeforeRethrowing() {
+        QueryListener firstListener = Mockito.mock(QueryListener.class);
+        QueryListener secondListener = Mockito.mock(QueryListener.class);
+        IllegalStateException exception = new IllegalStateException("Rejected");
+        Mockito.doThrow(exception).when(firstListener).onUpdate(Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong());
+
+        QueryListener queryListener = QueryListener.composite(Arrays.asList(firstListener, secondListener));
+        try {
+            queryListener.onUpdate("UPDATE films SET year = 2001", 10L, 1L);
+            Assert.fail("Exception of the listener must be rethrown");
+        }
+        catch (IllegalStateException e) {
+            Assert.assertSame(e, exception);
+        }
+        Mockito.verify(secondListener).onUpdate("UPDATE films SET year = 2001", 10L, 1L);
+    }
+
+    @Test
+    public void testRejectedRepeatedQueryIsReportedToListeners() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        QueryListener queryListener = Mockito.mock(QueryListener.class);
+        Configuration configuration = new Configuration()
+                .addQueryListener(queryListener)
+                .setRepeatedQueryLimit(1)
+                .setRepeatedQueryMode(RepeatedQueryMode.FAIL);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            session.createNativeQuery("UPDATE films SET year = 2001 WHERE id = 1").executeUpdate();
+            try {
+                session.createNativeQuery("UPDATE films SET year = 2002 WHERE id = 2").executeUpdate();
+                Assert.fail("Repeated query must be rejected");
+            }
+            catch (IllegalStateException e) {
+                // Expected exception.
+            }
+        }
+        Mockito.verify(queryListener, Mockito.times(2)).onUpdate(Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong());
+    }
+
+    @Test
+    public void testRepeatedQueryIsRejectedAfterLimit() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        Configuration configuration = new Configuration()
+                .setRepeatedQueryLimit(2)
+                .setRepeatedQueryMode(RepeatedQueryMode.FAIL);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            session.createNativeQuery("UPDATE films SET year = 2001 WHERE id = 1").executeUpdate();
+            session.createNativeQuery("UPDATE films SET year = 2002 WHERE id = 2").executeUpdate();
+            session.createNativeQuery("UPDATE films SET original_name = NULL").executeUpdate();
+            try {
+                session.createNativeQuery("UPDATE films SET year = 2003 WHERE id = 3").executeUpdate();
+                Assert.fail("Repeated query must be rejected");
+            }
+            catch (IllegalStateException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("UPDATE films SET year = 2003 WHERE id = 3"));
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("called from " + SessionFactoryTest.class.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedQueriesAreCountedWithinTransaction() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        Configuration configuration = new Configuration()
+                .setRepeatedQueryLimit(2)
+                .setRepeatedQueryMode(RepeatedQueryMode.FAIL);
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, configuration);
+        try(Session session = sessionFactory.openSession()) {
+            for (int i = 0; i < 3; i++) {
+                Transaction transaction = session.beginTransaction();
+                Query query = session.createNativeQuery("UPDATE films SET year = ? WHERE id = ?");
+                for (int id = 1; id <= 2; id++) {
+                    query.setParameter(1, 2000 + i).setParameter(2, id).executeUpdate();
+                }
+                transaction.commit();
+            }
+        }
+    }
+
+    @Test
+    public void testSessionResetsSettingsOfCachedStatements() throws SQLException {
+        Connection connection = mockConnection();
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> dataSource, new Configuration().setStatementCacheSize(4));
+        try(Session session = sessionFactory.openSession()) {
+            Query firstQuery = session.createNativeQuery("SELECT * FROM films")
+                    .setFetchSize(100)
+                    .setFetchDirection(FetchDirection.REVERSE);
+            PreparedStatement preparedStatement = firstQuery.unwrap();
+            firstQuery.close();
+
+            Query secondQuery = session.createNativeQuery("SELECT * FROM films");
+            Assert.assertSame(secondQuery.unwrap(), preparedStatement);
+            Assert.assertEquals(secondQuery.getFetchSize(), 0);
+            Assert.assertEquals(secondQuery.getFetchDirection(), FetchDirection.FORWARD);
+
+            InOrder inOrder = Mockito.inOrder(preparedStatement);
+            inOrder.verify(preparedStatement).setFetchDirection(ResultSet.FETCH_REVERSE);
+            inOrder.verify(preparedStatement).setFetchSize(0);
+            inOrder.verify(preparedStatement).setFetchDirection(ResultSet.FETCH_FORWARD);
+        }
+    }
+
+    private static Connection mockConnection() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.prepareStatement(Mockito.anyString())).thenAnswer(invocation -> {
+            PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+            Mockito.doAnswer(closeInvocation -> Mockito.when(preparedStatement.isClosed()).thenReturn(true))
+                    .when(preparedStatement).close();
+            return preparedStatement;
+        });
+        return connection;
+    }
 }
@@ -15,9 +15,12 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.function.Function;
 
 /**
@@ -170,6 +173,109 @@ public class SessionTest {
         Assert.assertTrue(queryStatement.isClosed());
     }
 
+    @Test
+    public void testReuseCachedStatement() throws SQLException {
+        Connection connection = JDBCUtils.getConnection();
+
+        Configuration configuration = new Configuration().setStatementCacheSize(2);
+        try(Session session = new InternalSession(connection, configuration, null)) {
+            NamedParameterQuery firstQuery = session
+                    .createQuery("SELECT id, original_name, year FROM films WHERE id = :filmId")
+                    .setParameter("filmId", 1);
+            PreparedStatement firstStatement = firstQuery.unwrap();
+            firstQuery.close();
+            Assert.assertFalse(firstQuery.isActive());
+            Assert.assertFalse(firstStatement.isClosed());
+
+            TypedQuery<Film> secondQuery = session
+                    .createNativeQuery("SELECT id, original_name, year FROM films WHERE id = ?", Film.class);
+            Assert.assertSame(secondQuery.unwrap(), firstStatement);
+            Assert.assertTrue(secondQuery.isActive());
+        }
+    }
+
+    @Test
+    public void testCachedStatementIsNotSharedByActiveQueries() throws SQLException {
+        Connection connection = JDBCUtils.getConnection();
+
+        Configuration configuration = new Configuration().setStatementCacheSize(2);
+        try(Session session = new InternalSession(connection, configuration, null)) {
+            String sql = "INSERT INTO films(id, original_name, year) VALUES (?, ?, ?)";
+            Query firstQuery = session.createNativeQuery(sql).setFetchSize(10);
+            Query secondQuery = session.createNativeQuery(sql);
+            Assert.assertNotSame(firstQuery.unwrap(), secondQuery.unwrap());
+            Assert.assertEquals(firstQuery.unwrap().getFetchSize(), 10);
+
+            firstQuery.close();
+            secondQuery.close();
+            Query thirdQuery = session.createNativeQuery(sql);
+            Assert.assertTrue(thirdQuery.unwrap() == firstQuery.unwrap() || thirdQuery.unwrap() == secondQuery.unwrap());
+            Assert.assertEquals(thirdQuery.unwrap().getFetchSize(), 0);
+        }
+    }
+
+    @Test
+    public void testClosedQueriesAreNotRetainedBySession() throws Exception {
+        Connection connection = JDBCUtils.getConnection();
+
+        Configuration configuration = new Configuration().setStatementCacheSize(2);
+        try(Session cachingSession = new InternalSession(connection, configuration, null);
+            Session session = new InternalSession(JDBCUtils.getConnection())) {
+            for (int i = 0; i < 1000; i++) {
+                try(Query cachingQuery = cachingSession.createNativeQuery("SELECT * FROM films WHERE id = ?");
+                    Query query = session.createNativeQuery("SELECT * FROM films WHERE id = ?")) {
+                    cachingQuery.setParameter(1, i).execute();
+                    query.setParameter(1, i).execute();
+                }
+            }
+            Query activeQuery = session.createNativeQuery("SELECT * FROM films");
+            Assert.assertEquals(countQueries(cachingSession), 0);
+            Assert.assertEquals(countQueries(session), 1);
+
+            activeQuery.close();
+            Assert.assertEquals(countQueries(session), 0);
+        }
+    }
+
+    private static int countQueries(Session session) throws ReflectiveOperationException {
+        Field queriesField = InternalSession.class.getDeclaredField("queries");
+        queriesField.setAccessible(true);
+        return ((Collection<?>) queriesField.get(session)).size();
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsedCachedStatement() throws SQLException {
+        Connection connection = JDBCUtils.getConnection();
+
+        Configuration configuration = new Configuration().setStatementCacheSize(1);
+        try(Session session = new InternalSession(connection, configuration, null)) {
+            Query firstQuery = session.createNativeQuery("SELECT * FROM films");
+            PreparedStatement firstStatement = firstQuery.unwrap();
+            firstQuery.close();
+            Query secondQuery = session.createNativeQuery("SELECT * FROM films WHERE id = ?");
+            PreparedStatement secondStatement = secondQuery.unwrap();
+            secondQuery.close();
+
+            Assert.assertTrue(firstStatement.isClosed());
+            Assert.assertFalse(secondStatement.isClosed());
+            Assert.assertNotSame(session.createNativeQuery("SELECT * FROM films").unwrap(), firstStatement);
+        }
+    }
+
+    @Test
+    public void testCloseCachedStatementsWhenSessionCloses() throws SQLException {
+        Connection connection = JDBCUtils.getConnection();
+
+        Configuration configuration = new Configuration().setStatementCacheSize(2);
+        Session session = new InternalSession(connection, configuration, null);
+
+        PreparedStatement queryStatement = session.createQuery("SELECT * FROM films LIMIT :limit").unwrap();
+        Assert.assertFalse(queryStatement.isClosed());
+
+        session.close();
+        Assert.assertTrue(queryStatement.isClosed());
+    }
+
     @Test
     public void testNewTransaction() {
         Connection connection = JDBCUtils.getConnection();
@@ -359,6 +465,85 @@ public class SessionTest {
         Assert.assertEquals(transaction.getStatus(), TransactionStatus.COMPLETED);
     }
 
+    @Test
+    public void testExecutePendingBatchBeforeCommitAndOnClose() throws SQLException {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = new InternalSession(connection)) {
+            session.doInTransaction(currentSession -> {
+                Query query = currentSession
+                        .createNativeQuery("INSERT INTO films(id, original_name, year) VALUES (?, ?, ?)")
+                        .setBatchSize(2);
+                for (int id = 200; id < 205; id++) {
+                    query.setParameter(1, id)
+                            .setParameter(2, "The Hobbit")
+                            .setParameter(3, 2012)
+                            .addBatch();
+                }
+            });
+            Assert.assertEquals(countFilms(200, 205), 5);
+
+            Query query = session
+                    .createNativeQuery("INSERT INTO films(id, original_name, year) VALUES (?, ?, ?)")
+                    .setBatchSize(2);
+            for (int id = 205; id < 208; id++) {
+                query.setParameter(1, id)
+                        .setParameter(2, "The Hobbit")
+                        .setParameter(3, 2013)
+                        .addBatch();
+            }
+        }
+        Assert.assertEquals(countFilms(200, 208), 8);
+
+        try(Connection checkConnection = JDBCUtils.getConnection();
+            PreparedStatement statement = checkConnection.prepareStatement("DELETE FROM films WHERE id >= 200")) {
+            statement.executeUpdate();
+        }
+    }
+
+    private static int countFilms(int fromId, int toId) throws SQLException {
+        try(Connection checkConnection = JDBCUtils.getConnection();
+            PreparedStatement statement = checkConnection.prepareStatement("SELECT COUNT(*) FROM films WHERE id >= ? AND id < ?")) {
+            statement.setInt(1, fromId);
+            statement.setInt(2, toId);
+            try(ResultSet resultSet = statement.executeQuery()) {
+                Assert.assertTrue(resultSet.next());
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    @Test
+    public void testDiscardPendingBatchAfterFailedTransaction() throws SQLException {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = new InternalSession(connection)) {
+            try {
+                session.doInTransaction(currentSession -> {
+                    Query query = currentSession
+                            .createNativeQuery("INSERT INTO films(id, original_name, year) VALUES (?, ?, ?)")
+                            .setBatchSize(10);
+                    for (int id = 100; id < 103; id++) {
+                        query.setParameter(1, id)
+                                .setParameter(2, "The Hobbit")
+                                .setParameter(3, 2012)
+                                .addBatch();
+                    }
+                    JDBCUtils.throwException();
+                });
+                Assert.fail("Exception must be rethrown");
+            }
+            catch (RuntimeException e) {
+                // Expected exception.
+            }
+        }
+
+        try(Connection checkConnection = JDBCUtils.getConnection();
+            PreparedStatement statement = checkConnection.prepareStatement("SELECT COUNT(*) FROM films WHERE id >= 100 AND id < 200");
+            ResultSet resultSet = statement.executeQuery()) {
+            Assert.assertTrue(resultSet.next());
+            Assert.assertEquals(resultSet.getInt(1), 0);
+        }
+    }
+
     @AfterClass
     public static void afterTests() {
         DatabaseInitializer.destroyDatabase();
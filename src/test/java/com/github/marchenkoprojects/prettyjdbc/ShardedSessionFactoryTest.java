@@ -0,0 +1,153 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.model.Film;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.sharding.HashShardingStrategy;
+import com.github.marchenkoprojects.prettyjdbc.sharding.RangeShardingStrategy;
+import com.github.marchenkoprojects.prettyjdbc.sharding.ShardedSessionFactory;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * @author Oleg Marchenko
+ */
+public class ShardedSessionFactoryTest {
+    private static final String[] SHARD_NAMES = {"shard_db_0", "shard_db_1"};
+
+    private static ShardedSessionFactory<Integer> sessionFactory;
+
+    @BeforeClass
+    public static void init() throws SQLException {
+        sessionFactory = ShardedSessionFactory.create(
+                Arrays.asList(() -> shardDataSource(SHARD_NAMES[0]), () -> shardDataSource(SHARD_NAMES[1])),
+                new RangeShardingStrategy<>(Arrays.asList(1, 100)));
+
+        for (String shardName: SHARD_NAMES) {
+            try(Connection connection = getShardConnection(shardName);
+                Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE films(id INTEGER NOT NULL, original_name CHARACTER VARYING(120), year SMALLINT)");
+            }
+        }
+
+        int[][] films = {{1, 2001}, {150, 2002}, {3, 2003}, {120, 2004}};
+        for (int[] film: films) {
+            try(Session session = sessionFactory.openSession(film[0])) {
+                session.createQuery("INSERT INTO films(id, original_name, year) VALUES(:id, :name, :year)")
+                        .setParameter("id", film[0])
+                        .setParameter("name", "Film " + film[0])
+                        .setParameter("year", film[1])
+                        .executeUpdate();
+            }
+        }
+    }
+
+    @AfterClass
+    public static void destroy() throws SQLException {
+        for (String shardName: SHARD_NAMES) {
+            try(Connection connection = getShardConnection(shardName);
+                Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE films");
+            }
+        }
+    }
+
+    @Test
+    public void testOpenSessionByShardKey() {
+        Assert.assertEquals(sessionFactory.getShardIndex(1), 0);
+        Assert.assertEquals(sessionFactory.getShardIndex(99), 0);
+        Assert.assertEquals(sessionFactory.getShardIndex(100), 1);
+
+        try(Session session = sessionFactory.openSession(150)) {
+            List<Integer> ids = session.createQuery("SELECT id FROM films ORDER BY id", Integer.class).list();
+            Assert.assertEquals(ids, Arrays.asList(120, 150));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShardKeyOutOfRange() {
+        sessionFactory.getShardIndex(0);
+    }
+
+    @Test
+    public void testQueryAllShards() {
+        List<Film> films = sessionFactory.queryAllShards("SELECT * FROM films", Film.class);
+        List<Integer> ids = films.stream().map(Film::getId).sorted().collect(Collectors.toList());
+        Assert.assertEquals(ids, Arrays.asList(1, 3, 120, 150));
+    }
+
+    @Test
+    public void testQueryAllShardsWithOrder() {
+        List<Film> films = sessionFactory.queryAllShards("SELECT * FROM films WHERE year >= :year ORDER BY year", Film.class,
+                query -> query.setParameter("year", 2002), Comparator.comparingInt(Film::getYear));
+
+        List<Integer> ids = films.stream().map(Film::getId).collect(Collectors.toList());
+        Assert.assertEquals(ids, Arrays.asList(150, 3, 120));
+    }
+
+    @Test
+    public void testQueryAllShardsWaitsForOtherShardsAfterFailure() {
+        Thread callingThread = Thread.currentThread();
+        AtomicBoolean otherShardCompleted = new AtomicBoolean();
+        try {
+            sessionFactory.queryAllShards("SELECT * FROM films", Film.class, query -> {
+                if (Thread.currentThread() == callingThread) {
+                    throw new IllegalStateException("First shard");
+                }
+                try {
+                    Thread.sleep(100);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                otherShardCompleted.set(true);
+                throw new IllegalArgumentException("Second shard");
+            }, null);
+            Assert.fail("Query of all shards has not failed");
+        }
+        catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "First shard");
+            Assert.assertTrue(otherShardCompleted.get());
+            Assert.assertEquals(e.getSuppressed().length, 1);
+            Assert.assertEquals(e.getSuppressed()[0].getMessage(), "Second shard");
+        }
+    }
+
+    @Test
+    public void testHashShardingStrategy() {
+        HashShardingStrategy<String> strategy = new HashShardingStrategy<>();
+        for (String key: Arrays.asList("tenant-1", "tenant-2", "", "tenant-100")) {
+            int shardIndex = strategy.getShardIndex(key, 3);
+            Assert.assertTrue(shardIndex >= 0 && shardIndex < 3);
+            Assert.assertEquals(strategy.getShardIndex(key, 3), shardIndex);
+        }
+    }
+
+    private static DataSource shardDataSource(String shardName) {
+        try {
+            DataSource dataSource = Mockito.mock(DataSource.class);
+            Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> getShardConnection(shardName));
+            return dataSource;
+        }
+        catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Connection getShardConnection(String shardName) throws SQLException {
+        return DriverManager.getConnection("jdbc:hsqldb:mem:" + shardName, "SA", "");
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.marchenkoprojects.prettyjdbc;
 
+import com.github.marchenkoprojects.prettyjdbc.transaction.ConnectionState;
 import com.github.marchenkoprojects.prettyjdbc.transaction.InternalTransaction;
 import com.github.marchenkoprojects.prettyjdbc.transaction.Transaction;
 import com.github.marchenkoprojects.prettyjdbc.transaction.TransactionIsolationLevel;
@@ -129,4 +130,31 @@ public class TransactionTest {
 
         Assert.assertEquals(connection.getTransactionIsolation(), Connection.TRANSACTION_READ_COMMITTED);
     }
+
+    @Test
+    public void testTransactionsWithSharedConnectionStateSkipRedundantCalls() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.isReadOnly()).thenReturn(false);
+        Mockito.when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+
+        ConnectionState connectionState = new ConnectionState(connection);
+        for (int i = 0; i < 3; i++) {
+            Transaction transaction = new InternalTransaction(connectionState);
+            transaction.setReadOnly(false);
+            transaction.setIsolationLevel(TransactionIsolationLevel.READ_COMMITTED);
+            transaction.begin();
+            transaction.commit();
+
+            Assert.assertFalse(transaction.isReadOnly());
+            Assert.assertEquals(transaction.getIsolationLevel(), TransactionIsolationLevel.READ_COMMITTED);
+        }
+
+        Mockito.verify(connection, Mockito.times(1)).isReadOnly();
+        Mockito.verify(connection, Mockito.times(1)).getTransactionIsolation();
+        Mockito.verify(connection, Mockito.never()).setReadOnly(Mockito.anyBoolean());
+        Mockito.verify(connection, Mockito.never()).setTransactionIsolation(Mockito.anyInt());
+        Mockito.verify(connection, Mockito.times(3)).setAutoCommit(false);
+        Mockito.verify(connection, Mockito.times(3)).setAutoCommit(true);
+        Mockito.verify(connection, Mockito.times(3)).commit();
+    }
 }
@@ -1,6 +1,11 @@
 package com.github.marchenkoprojects.prettyjdbc;
 
 import com.github.marchenkoprojects.prettyjdbc.model.Film;
+import com.github.marchenkoprojects.prettyjdbc.query.ResultPublisher;
+import com.github.marchenkoprojects.prettyjdbc.query.ResultSubscriber;
+import com.github.marchenkoprojects.prettyjdbc.query.ResultSubscription;
+import com.github.marchenkoprojects.prettyjdbc.query.TypedQuery;
+import com.github.marchenkoprojects.prettyjdbc.session.InternalSession;
 import com.github.marchenkoprojects.prettyjdbc.session.Session;
 import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
 import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
@@ -8,9 +13,21 @@ import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Oleg Marchenko
@@ -22,25 +39,61 @@ public class TypedQueryTest {
         DatabaseInitializer.createAndInitDatabase();
     }
 
-    @Test(expected = IllegalStateException.class)
+    @Test
     public void testNativeTypedQueryExecutionWithoutResultMapper() {
         Connection connection = JDBCUtils.getConnection();
         try(Session session = SessionFactory.newSession(connection)) {
-            session
+            Film film = session
                     .createNativeQuery("SELECT id, original_name, year FROM films WHERE id = ?", Film.class)
                     .setParameter(1, 1)
                     .unique();
+            Assert.assertNotNull(film);
+            Assert.assertEquals(film.getId(), 1);
+            Assert.assertEquals(film.getOriginalName(), "The Lord of the Rings: The Fellowship of the Ring");
+            Assert.assertEquals(film.getYear(), 2001);
         }
     }
 
-    @Test(expected = IllegalStateException.class)
+    @Test
     public void testTypedQueryExecutionWithoutResultMapper() {
         Connection connection = JDBCUtils.getConnection();
         try(Session session = SessionFactory.newSession(connection)) {
-            session
-                    .createQuery("SELECT * FROM films LIMIT ?", Film.class)
+            List<Film> films = session
+                    .createQuery("SELECT * FROM films ORDER BY id LIMIT ?", Film.class)
                     .setParameter(1, 10)
                     .list();
+            Assert.assertEquals(films.size(), 3);
+            Assert.assertEquals(films.get(2).getId(), 3);
+            Assert.assertEquals(films.get(2).getOriginalName(), "The Lord of the Rings: The Return of the King");
+            Assert.assertEquals(films.get(2).getYear(), 2003);
+        }
+    }
+
+    @Test
+    public void testTypedQueryExecutionWithScalarResult() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            List<String> filmNames = session
+                    .createQuery("SELECT original_name FROM films WHERE year > :year ORDER BY id", String.class)
+                    .setParameter("year", 2001)
+                    .list();
+            Assert.assertEquals(filmNames.size(), 2);
+            Assert.assertEquals(filmNames.get(0), "The Lord of the Rings: The Two Towers");
+
+            Long count = session
+                    .createQuery("SELECT COUNT(*) FROM films", Long.class)
+                    .unique();
+            Assert.assertEquals(count.longValue(), 3);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTypedQueryExecutionWithUnmappableResultType() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            session
+                    .createQuery("SELECT * FROM films", Object.class)
+                    .list();
         }
     }
 
@@ -106,8 +159,207 @@ public class TypedQueryTest {
         }
     }
 
+    @Test
+    public void testTypedQueryExecutionWithStreamOfResults() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            TypedQuery<Film> query = session
+                    .createQuery("SELECT id, original_name, year FROM films WHERE year >= :year ORDER BY id", Film.class)
+                    .setParameter("year", 2002)
+                    .setResultMapper(resultSet -> {
+                        Film newFilm = new Film();
+                        newFilm.setId(resultSet.getInt("id"));
+                        newFilm.setOriginalName(resultSet.getString("original_name"));
+                        newFilm.setYear(resultSet.getShort("year"));
+                        return newFilm;
+                    });
+
+            try(Stream<Film> films = query.stream()) {
+                List<Integer> filmIds = films
+                        .map(Film::getId)
+                        .collect(Collectors.toList());
+                Assert.assertEquals(filmIds.size(), 2);
+                Assert.assertEquals((int) filmIds.get(0), 2);
+                Assert.assertEquals((int) filmIds.get(1), 3);
+            }
+            Assert.assertFalse(query.isActive());
+        }
+    }
+
+    @Test
+    public void testTypedQueryExecutionWithActionForEachResult() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            List<String> filmNames = new ArrayList<>();
+            session
+                    .createNativeQuery("SELECT id, original_name, year FROM films ORDER BY id", Film.class)
+                    .setResultMapper(resultSet -> {
+                        Film newFilm = new Film();
+                        newFilm.setId(resultSet.getInt("id"));
+                        newFilm.setOriginalName(resultSet.getString("original_name"));
+                        newFilm.setYear(resultSet.getShort("year"));
+                        return newFilm;
+                    })
+                    .forEach(film -> filmNames.add(film.getOriginalName()));
+            Assert.assertEquals(filmNames.size(), 3);
+            Assert.assertEquals(filmNames.get(2), "The Lord of the Rings: The Return of the King");
+        }
+    }
+
+    @Test
+    public void testAsyncTypedQueryExecution() throws Exception {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            CompletableFuture<List<Film>> films = session
+                    .createQuery("SELECT * FROM films ORDER BY id", Film.class)
+                    .listAsync();
+            Assert.assertEquals(films.get(5, TimeUnit.SECONDS).size(), 3);
+
+            CompletableFuture<Film> film = session
+                    .createQuery("SELECT * FROM films WHERE id = :id", Film.class)
+                    .setParameter("id", 2)
+                    .uniqueAsync();
+            Assert.assertEquals(film.get(5, TimeUnit.SECONDS).getYear(), 2002);
+        }
+    }
+
+    @Test
+    public void testAsyncTypedQueryExecutionWithConfiguredExecutor() throws Exception {
+        AtomicInteger executedTasks = new AtomicInteger();
+        Executor executor = task -> {
+            executedTasks.incrementAndGet();
+            task.run();
+        };
+
+        SessionFactory sessionFactory = SessionFactory.create(() -> Mockito.mock(DataSource.class), new Configuration().setExecutor(executor));
+        Assert.assertSame(sessionFactory.getExecutor(), executor);
+
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = new InternalSession(connection, sessionFactory.getConfiguration(), null)) {
+            Long count = session
+                    .createQuery("SELECT COUNT(*) FROM films", Long.class)
+                    .uniqueAsync()
+                    .get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(count.longValue(), 3L);
+            Assert.assertEquals(executedTasks.get(), 1);
+        }
+    }
+
+    @Test
+    public void testAsyncTypedQueryExecutionWithError() throws InterruptedException {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            session
+                    .createQuery("SELECT * FROM films", Film.class)
+                    .setResultMapper(resultSet -> {
+                        throw new SQLException("Mapping failed");
+                    })
+                    .listAsync()
+                    .get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        }
+        catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof RuntimeException);
+        }
+        catch (TimeoutException e) {
+            Assert.fail();
+        }
+    }
+
+    @Test
+    public void testPublishResultsOnDemand() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            TypedQuery<Film> query = session
+                    .createQuery("SELECT * FROM films ORDER BY id", Film.class)
+                    .setExecutor(Runnable::run);
+
+            RecordingSubscriber<Film> subscriber = new RecordingSubscriber<>();
+            query.publish().subscribe(subscriber);
+            Assert.assertTrue(subscriber.items.isEmpty());
+            Assert.assertTrue(query.isActive());
+
+            subscriber.subscription.request(2);
+            Assert.assertEquals(subscriber.items.size(), 2);
+            Assert.assertFalse(subscriber.completed);
+
+            subscriber.subscription.request(5);
+            Assert.assertEquals(subscriber.items.size(), 3);
+            Assert.assertEquals(subscriber.items.get(2).getOriginalName(), "The Lord of the Rings: The Return of the King");
+            Assert.assertTrue(subscriber.completed);
+            Assert.assertNull(subscriber.error);
+            Assert.assertFalse(query.isActive());
+        }
+    }
+
+    @Test
+    public void testCancelPublishedResults() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            TypedQuery<Film> query = session
+                    .createQuery("SELECT * FROM films ORDER BY id", Film.class)
+                    .setExecutor(Runnable::run);
+
+            RecordingSubscriber<Film> subscriber = new RecordingSubscriber<Film>() {
+                @Override
+                public void onNext(Film item) {
+                    super.onNext(item);
+                    subscription.cancel();
+                }
+            };
+            query.publish().subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            Assert.assertEquals(subscriber.items.size(), 1);
+            Assert.assertFalse(subscriber.completed);
+            Assert.assertFalse(query.isActive());
+        }
+    }
+
+    @Test
+    public void testPublishResultsWithSecondSubscriber() {
+        Connection connection = JDBCUtils.getConnection();
+        try(Session session = SessionFactory.newSession(connection)) {
+            ResultPublisher<Film> publisher = session
+                    .createQuery("SELECT * FROM films", Film.class)
+                    .publish();
+            publisher.subscribe(new RecordingSubscriber<>());
+
+            RecordingSubscriber<Film> secondSubscriber = new RecordingSubscriber<>();
+            publisher.subscribe(secondSubscriber);
+            Assert.assertTrue(secondSubscriber.error instanceof IllegalStateException);
+        }
+    }
+
     @AfterClass
     public static void afterTests() {
         DatabaseInitializer.destroyDatabase();
     }
+
+    private static class RecordingSubscriber<T> implements ResultSubscriber<T> {
+        final List<T> items = new ArrayList<>();
+        ResultSubscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(ResultSubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
 }
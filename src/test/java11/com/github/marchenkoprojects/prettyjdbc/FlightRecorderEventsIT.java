@@ -0,0 +1,96 @@
+package com.github.marchenkoprojects.prettyjdbc;
+
+import com.github.marchenkoprojects.prettyjdbc.session.InternalSession;
+import com.github.marchenkoprojects.prettyjdbc.session.Session;
+import com.github.marchenkoprojects.prettyjdbc.util.DatabaseInitializer;
+import com.github.marchenkoprojects.prettyjdbc.util.FlightRecorderEvents;
+import com.github.marchenkoprojects.prettyjdbc.util.JDBCUtils;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs against the multi-release jar, so the Flight Recorder events of the Java 11 version are emitted.
+ *
+ * @author Oleg Marchenko
+ */
+public class FlightRecorderEventsIT {
+    private static final String EVENT_PREFIX = "com.github.marchenkoprojects.prettyjdbc.";
+
+    @BeforeClass
+    public static void beforeTests() {
+        DatabaseInitializer.createAndInitDatabase();
+    }
+
+    @Test
+    public void testEventIsNotStartedWithoutRecording() {
+        Assert.assertNull(FlightRecorderEvents.beginExecution());
+        Assert.assertNull(FlightRecorderEvents.beginTransactionCompletion());
+    }
+
+    @Test
+    public void testEventsOfQueriesAndTransactions() throws IOException {
+        List<RecordedEvent> events;
+        try(Recording recording = new Recording()) {
+            recording.enable(EVENT_PREFIX + "QueryExecution").withThreshold(Duration.ZERO);
+            recording.enable(EVENT_PREFIX + "TransactionCompletion").withThreshold(Duration.ZERO);
+            recording.start();
+
+            try(Session session = new InternalSession(JDBCUtils.getConnection())) {
+                session.doInTransaction(currentSession -> {
+                    currentSession.createNativeQuery("UPDATE films SET year = year WHERE id <= 2").executeUpdate();
+                });
+                session.createNativeQuery("SELECT * FROM films").execute();
+            }
+            recording.stop();
+
+            Path recordingFile = Files.createTempFile("prettyjdbc", ".jfr");
+            try {
+                recording.dump(recordingFile);
+                events = RecordingFile.readAllEvents(recordingFile);
+            }
+            finally {
+                Files.delete(recordingFile);
+            }
+        }
+
+        List<RecordedEvent> executionEvents = events.stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_PREFIX + "QueryExecution"))
+                .collect(Collectors.toList());
+        Assert.assertEquals(executionEvents.size(), 2);
+
+        RecordedEvent updateEvent = executionEvents.get(0);
+        Assert.assertEquals(updateEvent.getString("operation"), "UPDATE");
+        Assert.assertEquals(updateEvent.getString("sql"), "UPDATE films SET year = year WHERE id <= 2");
+        Assert.assertEquals(updateEvent.getLong("rowCount"), 2);
+        Assert.assertFalse(updateEvent.getDuration().isNegative());
+
+        RecordedEvent queryEvent = executionEvents.get(1);
+        Assert.assertEquals(queryEvent.getString("operation"), "QUERY");
+        Assert.assertEquals(queryEvent.getString("sql"), "SELECT * FROM films");
+        Assert.assertEquals(queryEvent.getLong("rowCount"), 3);
+        Assert.assertFalse(queryEvent.getDuration().isNegative());
+
+        List<RecordedEvent> completionEvents = events.stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_PREFIX + "TransactionCompletion"))
+                .collect(Collectors.toList());
+        Assert.assertEquals(completionEvents.size(), 1);
+        Assert.assertTrue(completionEvents.get(0).getBoolean("committed"));
+    }
+
+    @AfterClass
+    public static void afterTests() {
+        DatabaseInitializer.destroyDatabase();
+    }
+}